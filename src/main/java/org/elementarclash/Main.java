@@ -2,18 +2,62 @@ package org.elementarclash;
 
 import org.elementarclash.game.Game;
 import org.elementarclash.game.RandomGameConfigurer;
+import org.elementarclash.simulation.AlphaBetaPolicy;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.MatchFarm;
+import org.elementarclash.simulation.SimulationReport;
+import org.elementarclash.simulation.SimulationRunner;
 import org.elementarclash.ui.GameController;
 
+import java.time.Duration;
+
 /**
  * Main entry point for ElementarClash game.
  * Creates a random game setup and starts the interactive game loop.
+ * <p>
+ * With "--simulate &lt;games&gt;" a batch of headless games is played instead
+ * and the simulation report (win rates, games per second) is printed.
+ * "--farm &lt;games&gt;" plays them in parallel on all cores (MatchFarm).
+ * "--search &lt;games&gt;" lets AlphaBetaPolicy play both sides and also prints its search stats.
  * 
  * @author mmukex
  */
 public class Main {
 
+    private static final String SIMULATE_FLAG = "--simulate";
+    private static final String FARM_FLAG = "--farm";
+    private static final String SEARCH_FLAG = "--search";
+    private static final Duration SEARCH_TURN_BUDGET = Duration.ofMillis(200);
+
     public static void main(String[] args) {
+        if (args.length == 2 && SIMULATE_FLAG.equals(args[0])) {
+            runSimulation(Integer.parseInt(args[1]));
+            return;
+        }
+        if (args.length == 2 && FARM_FLAG.equals(args[0])) {
+            System.out.println(new MatchFarm(System.nanoTime()).run(Integer.parseInt(args[1])));
+            return;
+        }
+        if (args.length == 2 && SEARCH_FLAG.equals(args[0])) {
+            runSearch(Integer.parseInt(args[1]));
+            return;
+        }
+
         Game game = new RandomGameConfigurer().createRandomGame();
         new GameController(game).start();
     }
+
+    private static void runSimulation(int games) {
+        SimulationReport report = new SimulationRunner(new GreedyPolicy())
+                .runBatch(games, () -> new RandomGameConfigurer().createRandomGame());
+        System.out.println(report);
+    }
+
+    private static void runSearch(int games) {
+        AlphaBetaPolicy policy = new AlphaBetaPolicy(SEARCH_TURN_BUDGET);
+        SimulationReport report = new SimulationRunner(policy)
+                .runBatch(games, () -> new RandomGameConfigurer().createRandomGame());
+        System.out.println(report);
+        System.out.println(policy.getStats());
+    }
 }
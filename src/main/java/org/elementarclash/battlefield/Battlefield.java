@@ -1,13 +1,30 @@
 package org.elementarclash.battlefield;
 
+import lombok.Getter;
 import org.elementarclash.game.Game;
 import org.elementarclash.util.Position;
+import org.elementarclash.util.ZobristKeys;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
- * Root composite representing the complete 10x10 battlefield with terrain.
- * Organized as hierarchy: Battlefield → 10 Rows → 100 Cells.
+ * Root composite representing the complete battlefield with terrain (default 10x10).
+ * Organized as hierarchy: Battlefield → Rows → Cells.
+ * <p>
+ * Dimensions are a per-battlefield property (up to large stress-test maps like 4096x4096).
+ * Bounds checks belong here, not in Position: use isInBounds() before touching terrain.
+ * <p>
+ * Positions: positionAt() returns canonical (interned) Position instances from a lazily
+ * filled per-row table, and indexOf() packs coordinates into the y * width + x array index
+ * shared by terrain and Game occupancy. Hot paths use indices and avoid allocating Positions.
+ * <p>
+ * Storage: terrain is kept as a flat byte[] of Terrain ordinals indexed by y * width + x,
+ * so getTerrainAt() is a single array load. Cell/Region objects are only a view:
+ * Cells are created lazily on first access and read/write through to the array.
+ * A forest bitmask (one bit per cell, same index) is maintained alongside, so line-of-sight
+ * checks are bit tests instead of terrain lookups.
  * <p>
  * Design Pattern: Composite (GoF #3) - Root Composite
  * Why: Allows operations on entire battlefield while maintaining hierarchical structure.
@@ -19,81 +36,210 @@ import java.util.*;
  */
 public class Battlefield implements BattlefieldComponent {
 
-    public static final int GRID_SIZE = 10;
-    private static final int TOTAL_CELLS = GRID_SIZE * GRID_SIZE;
+    public static final int DEFAULT_GRID_SIZE = 10;
     private static final int PERCENTAGE_DIVISOR = 100;
+    private static final Terrain[] TERRAINS = Terrain.values();
 
-    private final List<Region> rows;
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+    private final byte[] terrain;
+    private final long[] forestMask;
+    private final Position[][] positionRows;
+    private Cell[] cellViews;
+    /**
+     * Incremented on every terrain write; lets caches (e.g. reachability) detect board changes.
+     */
+    @Getter
+    private long terrainVersion;
+    /**
+     * XOR of the Zobrist keys of every cell's terrain, kept current by every terrain write.
+     */
+    @Getter
+    private long terrainHash;
 
     public Battlefield() {
-        this.rows = new ArrayList<>(GRID_SIZE);
-        initializeEmptyGrid();
+        this(DEFAULT_GRID_SIZE, DEFAULT_GRID_SIZE);
     }
 
-    private void initializeEmptyGrid() {
-        for (int y = 0; y < GRID_SIZE; y++) {
-            List<Cell> cells = new ArrayList<>(GRID_SIZE);
-            for (int x = 0; x < GRID_SIZE; x++) {
-                cells.add(new Cell(new Position(x, y), Terrain.DESERT));
-            }
-            rows.add(new Region(cells));
+    public Battlefield(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Battlefield dimensions must be positive, got: " + width + "x" + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Battlefield too large: " + width + "x" + height);
         }
+        this.width = width;
+        this.height = height;
+        this.terrain = new byte[width * height];
+        this.forestMask = new long[(terrain.length + Long.SIZE - 1) / Long.SIZE];
+        this.positionRows = new Position[height][];
+        Arrays.fill(terrain, (byte) Terrain.DESERT.ordinal());
+        rehashTerrain();
     }
 
-    public void initializeTerrain(Map<Terrain, Integer> distribution, Long randomSeed) {
-        List<Terrain> terrainList = createTerrainList(distribution);
-        fillRemainingCells(terrainList);
-        shuffleTerrainList(terrainList, randomSeed);
-        populateGrid(terrainList);
+    private Battlefield(Battlefield source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.terrain = source.terrain.clone();
+        this.forestMask = source.forestMask.clone();
+        this.positionRows = new Position[height][];
+        for (int y = 0; y < height; y++) {
+            // Positions are immutable: rows are copied, the Position objects shared
+            Position[] row = source.positionRows[y];
+            this.positionRows[y] = row == null ? null : row.clone();
+        }
+        this.terrainVersion = source.terrainVersion;
+        this.terrainHash = source.terrainHash;
     }
 
-    private List<Terrain> createTerrainList(Map<Terrain, Integer> distribution) {
-        List<Terrain> terrainList = new ArrayList<>();
+    /**
+     * Independent copy of the terrain (for Game.fork()); cell views are recreated lazily.
+     */
+    public Battlefield copy() {
+        return new Battlefield(this);
+    }
 
-        for (Map.Entry<Terrain, Integer> entry : distribution.entrySet()) {
-            int count = calculateTerrainCount(entry.getValue());
-            addTerrainToList(terrainList, entry.getKey(), count);
+    /**
+     * Overwrites the terrain with that of a battlefield of the same size, reusing the arrays
+     * (CompactGameState.copyFrom()). Cell views stay valid, they read the backing store.
+     */
+    public void copyTerrainFrom(Battlefield source) {
+        if (source.width != width || source.height != height) {
+            throw new IllegalArgumentException("Battlefield size differs: " + source.width + "x" + source.height
+                    + " vs " + width + "x" + height);
         }
-
-        return terrainList;
+        System.arraycopy(source.terrain, 0, terrain, 0, terrain.length);
+        System.arraycopy(source.forestMask, 0, forestMask, 0, forestMask.length);
+        terrainHash = source.terrainHash;
+        terrainVersion++;
     }
 
-    private int calculateTerrainCount(int percentage) {
-        return (TOTAL_CELLS * percentage) / PERCENTAGE_DIVISOR;
+    /**
+     * Fills the grid with the given distribution and shuffles it in place (Fisher-Yates,
+     * same draw sequence as Collections.shuffle), without building an intermediate list.
+     *
+     * @param random terrain stream of the game's random source (same stream → same map)
+     */
+    public void initializeTerrain(Map<Terrain, Integer> distribution, RandomGenerator random) {
+        int filled = fillTerrain(distribution);
+        Arrays.fill(terrain, filled, terrain.length, (byte) Terrain.DESERT.ordinal());
+        shuffleTerrain(random);
+        rebuildForestMask();
+        rehashTerrain();
+        terrainVersion++;
     }
 
-    private void addTerrainToList(List<Terrain> terrainList, Terrain terrain, int count) {
-        for (int i = 0; i < count; i++) {
-            terrainList.add(terrain);
+    private void rehashTerrain() {
+        terrainHash = 0;
+        for (int index = 0; index < terrain.length; index++) {
+            terrainHash ^= ZobristKeys.terrain(index, terrain[index]);
         }
     }
 
-    private void fillRemainingCells(List<Terrain> terrainList) {
-        while (terrainList.size() < TOTAL_CELLS) {
-            terrainList.add(Terrain.DESERT);
+    private void rebuildForestMask() {
+        Arrays.fill(forestMask, 0L);
+        for (int index = 0; index < terrain.length; index++) {
+            if (terrain[index] == Terrain.FOREST.ordinal()) {
+                forestMask[index >>> 6] |= 1L << index;
+            }
         }
     }
 
-    private void shuffleTerrainList(List<Terrain> terrainList, Long randomSeed) {
-        Random random = createRandom(randomSeed);
-        Collections.shuffle(terrainList, random);
+    private int fillTerrain(Map<Terrain, Integer> distribution) {
+        int index = 0;
+        for (Map.Entry<Terrain, Integer> entry : distribution.entrySet()) {
+            int count = Math.min(calculateTerrainCount(entry.getValue()), terrain.length - index);
+            Arrays.fill(terrain, index, index + count, (byte) entry.getKey().ordinal());
+            index += count;
+        }
+        return index;
     }
 
-    private Random createRandom(Long seed) {
-        return seed != null ? new Random(seed) : new Random();
+    private int calculateTerrainCount(int percentage) {
+        return (int) ((long) terrain.length * percentage / PERCENTAGE_DIVISOR);
     }
 
-    private void populateGrid(List<Terrain> terrainList) {
-        int index = 0;
-        for (int y = 0; y < GRID_SIZE; y++) {
-            for (int x = 0; x < GRID_SIZE; x++) {
-                getCell(x, y).setTerrain(terrainList.get(index++));
-            }
+    private void shuffleTerrain(RandomGenerator random) {
+        for (int i = terrain.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            byte swap = terrain[i - 1];
+            terrain[i - 1] = terrain[j];
+            terrain[j] = swap;
         }
     }
 
+    public int getCellCount() {
+        return terrain.length;
+    }
+
+    public boolean isInBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public boolean isInBounds(Position position) {
+        return isInBounds(position.x(), position.y());
+    }
+
     public Terrain getTerrainAt(Position position) {
-        return getCell(position.x(), position.y()).getTerrain();
+        return getTerrainAt(position.x(), position.y());
+    }
+
+    public Terrain getTerrainAt(int x, int y) {
+        return TERRAINS[terrain[indexOf(x, y)]];
+    }
+
+    public Terrain getTerrainAt(int index) {
+        return TERRAINS[terrain[index]];
+    }
+
+    /**
+     * Single bit test on the forest mask (index as in indexOf()).
+     */
+    public boolean isForest(int index) {
+        return (forestMask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Canonical Position instance for the given coordinates (Flyweight).
+     * Rows are materialized on first access, so large maps only pay for rows in use.
+     */
+    public Position positionAt(int x, int y) {
+        indexOf(x, y); // bounds check
+        Position[] row = positionRows[y];
+        if (row == null) {
+            row = new Position[width];
+            positionRows[y] = row;
+        }
+        Position position = row[x];
+        if (position == null) {
+            position = new Position(x, y);
+            row[x] = position;
+        }
+        return position;
+    }
+
+    public Position positionAt(int index) {
+        return positionAt(index % width, index / width);
+    }
+
+    /**
+     * Packed array index (y * width + x) of a position.
+     *
+     * @throws IndexOutOfBoundsException if the position lies outside the battlefield
+     */
+    public int indexOf(Position position) {
+        return indexOf(position.x(), position.y());
+    }
+
+    /**
+     * Index of the neighbour at offset (dx, dy), or -1 if it lies outside the battlefield.
+     */
+    public int neighborIndex(int index, int dx, int dy) {
+        int x = index % width + dx;
+        int y = index / width + dy;
+        return isInBounds(x, y) ? y * width + x : -1;
     }
 
     /**
@@ -102,50 +248,105 @@ public class Battlefield implements BattlefieldComponent {
      * @author crstmkt (Observer integration)
      */
     public void setTerrainAt(Position position, Terrain newTerrain, Game game) {
-        Cell cell = getCell(position.x(), position.y());
-        Terrain oldTerrain = cell.getTerrain();
+        int index = indexOf(position.x(), position.y());
+        Terrain oldTerrain = TERRAINS[terrain[index]];
+        if (oldTerrain == newTerrain) {
+            return;
+        }
 
-        cell.setTerrain(newTerrain);
+        writeTerrain(index, newTerrain);
 
-        if (game != null && oldTerrain != newTerrain) {
+        if (game != null) {
             game.notifyTerrainChanged(position, oldTerrain, newTerrain);
         }
     }
 
+    // Package-private: backing store access for Cell views
+    Terrain terrainAt(int index) {
+        return TERRAINS[terrain[index]];
+    }
+
+    void setTerrain(int index, Terrain newTerrain) {
+        writeTerrain(index, newTerrain);
+    }
+
+    /**
+     * Single write path for terrain changes: keeps the forest mask and version in sync.
+     */
+    private void writeTerrain(int index, Terrain newTerrain) {
+        terrainHash ^= ZobristKeys.terrain(index, terrain[index]) ^ ZobristKeys.terrain(index, newTerrain.ordinal());
+        terrain[index] = (byte) newTerrain.ordinal();
+        if (newTerrain == Terrain.FOREST) {
+            forestMask[index >>> 6] |= 1L << index;
+        } else {
+            forestMask[index >>> 6] &= ~(1L << index);
+        }
+        terrainVersion++;
+    }
+
+    public int indexOf(int x, int y) {
+        if (!isInBounds(x, y)) {
+            throw new IndexOutOfBoundsException("Position (" + x + "," + y + ") outside " + width + "x" + height + " battlefield");
+        }
+        return y * width + x;
+    }
+
     public Cell getCell(int x, int y) {
-        return rows.get(y).getCell(x);
+        return cellView(indexOf(x, y));
+    }
+
+    private Cell cellView(int index) {
+        if (cellViews == null) {
+            cellViews = new Cell[terrain.length];
+        }
+        Cell cell = cellViews[index];
+        if (cell == null) {
+            cell = new Cell(this, index, positionAt(index));
+            cellViews[index] = cell;
+        }
+        return cell;
     }
 
     public Region getRegion(int x1, int y1, int x2, int y2) {
         List<Cell> regionCells = new ArrayList<>();
-        for (int y = y1; y <= y2; y++) {
-            for (int x = x1; x <= x2; x++) {
-                if (x >= 0 && x < GRID_SIZE && y >= 0 && y < GRID_SIZE) {
-                    regionCells.add(getCell(x, y));
-                }
+        for (int y = Math.max(0, y1); y <= Math.min(height - 1, y2); y++) {
+            for (int x = Math.max(0, x1); x <= Math.min(width - 1, x2); x++) {
+                regionCells.add(getCell(x, y));
             }
         }
         return new Region(regionCells);
     }
 
     /**
-     * Get a random region for dynamic events.
+     * Get a random region (row) for dynamic events.
      * Used by EventPhase for forest fires, geysers, etc.
      *
+     * @param random random source of the game (keeps events reproducible)
      * @author crstmkt (integration helper for State Pattern)
      */
-    public Region getRandomRegion() {
-        if (rows.isEmpty()) {
-            throw new IllegalStateException("No regions in battlefield");
-        }
-        int randomIndex = new Random().nextInt(rows.size());
-        return rows.get(randomIndex);
+    public Region getRandomRegion(RandomGenerator random) {
+        int row = random.nextInt(height);
+        return getRegion(0, row, width - 1, row);
     }
 
     @Override
     public List<Cell> cells() {
-        return rows.stream()
-                .flatMap(row -> row.cells().stream())
-                .toList();
+        List<Cell> cells = new ArrayList<>(terrain.length);
+        for (int index = 0; index < terrain.length; index++) {
+            cells.add(cellView(index));
+        }
+        return cells;
+    }
+
+    @Override
+    public Cell getCell(int index) {
+        return cellView(index);
+    }
+
+    @Override
+    public void applyEffect(Consumer<Cell> effect) {
+        for (int index = 0; index < terrain.length; index++) {
+            effect.accept(cellView(index));
+        }
     }
 }
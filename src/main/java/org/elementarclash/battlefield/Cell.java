@@ -1,32 +1,55 @@
 package org.elementarclash.battlefield;
 
 import lombok.Getter;
-import lombok.Setter;
 import org.elementarclash.util.Position;
 
 import java.util.List;
-import java.util.function.Consumer;
 
 /**
  * Leaf in the Composite Pattern representing a single battlefield cell.
  * Each cell has a position and changeable terrain type.
  * <p>
+ * Cells obtained from a Battlefield are views onto its terrain array:
+ * getTerrain()/setTerrain() read and write the battlefield directly.
+ * Standalone cells (public constructor) keep their own terrain.
+ * <p>
  * Design Pattern: Composite (GoF #3) - Leaf
  * Why: Represents the smallest unit in battlefield hierarchy.
  * Cannot contain other components but implements same interface as composites.
  *
  * @author mmukex
  */
-@Getter
 public class Cell implements BattlefieldComponent {
 
+    @Getter
     private final Position position;
-    @Setter
+    private final Battlefield battlefield;
+    private final int index;
     private Terrain terrain;
 
     public Cell(Position position, Terrain terrain) {
         this.position = position;
         this.terrain = terrain;
+        this.battlefield = null;
+        this.index = -1;
+    }
+
+    Cell(Battlefield battlefield, int index, Position position) {
+        this.position = position;
+        this.battlefield = battlefield;
+        this.index = index;
+    }
+
+    public Terrain getTerrain() {
+        return battlefield != null ? battlefield.terrainAt(index) : terrain;
+    }
+
+    public void setTerrain(Terrain terrain) {
+        if (battlefield != null) {
+            battlefield.setTerrain(index, terrain);
+        } else {
+            this.terrain = terrain;
+        }
     }
 
     @Override
@@ -2,17 +2,18 @@ package org.elementarclash.battlefield;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Composite representing a collection of battlefield cells.
- * Can represent both fixed rows (10 cells per row in grid structure)
+ * Can represent both fixed rows (one cell per column in grid structure)
  * and arbitrary dynamic regions (for area effects like forest fires, earthquakes, or geysirs).
  * <p>
  * Design Pattern: Composite (GoF #3) - Composite
  * Why: Unified representation for both grid structure and dynamic areas.
  * Allows applying operations to cell collections without duplicating logic.
  * Examples:
- * - Grid structure: Battlefield organizes 10 regions (rows) of 10 cells each
+ * - Grid structure: Battlefield exposes each row as a region (10 cells on the default map)
  * - Dynamic effects: Apply ForestFireEffect to 3x3 region around fire source
  *
  * @author mmukex
@@ -27,4 +28,14 @@ public record Region(List<Cell> cells) implements BattlefieldComponent {
     public List<Cell> cells() {
         return new ArrayList<>(cells);
     }
+
+    @Override
+    public Cell getCell(int index) {
+        return cells.get(index);
+    }
+
+    @Override
+    public void applyEffect(Consumer<Cell> effect) {
+        cells.forEach(effect); // No defensive copy needed for internal iteration
+    }
 }
@@ -0,0 +1,90 @@
+package org.elementarclash.battlefield.terraineffect;
+
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitStats;
+
+/**
+ * Dense terrain × faction table of the numeric terrain effects, indexed by
+ * Terrain.ordinal() and Faction.ordinal().
+ * <p>
+ * Generated once from the visitors (TerrainVisitorFactory) by visiting one probe unit per
+ * faction, so the rules stay defined in the concrete visitors only. This relies on effects
+ * depending on terrain and faction alone; visitors use the unit for the description text.
+ * <p>
+ * Hot paths (damage calculation, per-turn effects, terrain transformation on move) read
+ * primitives here instead of going through double dispatch and building a TerrainEffectResult
+ * with a formatted description. The UI keeps using the visitors for the text.
+ *
+ * @author mmukex
+ */
+public final class TerrainEffectTable {
+
+    private static final Terrain[] TERRAINS = Terrain.values();
+    private static final Faction[] FACTIONS = Faction.values();
+
+    private static final int[] ATTACK_BONUS = new int[TERRAINS.length * FACTIONS.length];
+    private static final int[] DEFENSE_BONUS = new int[TERRAINS.length * FACTIONS.length];
+    private static final int[] HP_PER_TURN = new int[TERRAINS.length * FACTIONS.length];
+    private static final Terrain[] TERRAIN_CHANGE = new Terrain[TERRAINS.length * FACTIONS.length];
+
+    static {
+        for (Faction faction : FACTIONS) {
+            Unit probe = new ProbeUnit(faction);
+            for (Terrain terrain : TERRAINS) {
+                TerrainEffectResult effect = probe.accept(TerrainVisitorFactory.getVisitor(terrain));
+                int slot = slot(terrain, faction);
+                ATTACK_BONUS[slot] = effect.attackBonus();
+                DEFENSE_BONUS[slot] = effect.defenseBonus();
+                HP_PER_TURN[slot] = effect.hpPerTurn();
+                TERRAIN_CHANGE[slot] = effect.terrainChange();
+            }
+        }
+    }
+
+    private TerrainEffectTable() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static int attackBonus(Terrain terrain, Faction faction) {
+        return ATTACK_BONUS[slot(terrain, faction)];
+    }
+
+    public static int defenseBonus(Terrain terrain, Faction faction) {
+        return DEFENSE_BONUS[slot(terrain, faction)];
+    }
+
+    /**
+     * @return HP change per turn (positive = heal, negative = damage)
+     */
+    public static int hpPerTurn(Terrain terrain, Faction faction) {
+        return HP_PER_TURN[slot(terrain, faction)];
+    }
+
+    /**
+     * @return terrain the cell turns into when a unit of the faction enters it, null if none
+     */
+    public static Terrain terrainChange(Terrain terrain, Faction faction) {
+        return TERRAIN_CHANGE[slot(terrain, faction)];
+    }
+
+    private static int slot(Terrain terrain, Faction faction) {
+        return terrain.ordinal() * FACTIONS.length + faction.ordinal();
+    }
+
+    /**
+     * Stand-in unit used only for dispatching to the faction's visit method.
+     */
+    private static final class ProbeUnit extends Unit {
+
+        private ProbeUnit(Faction faction) {
+            super("probe", "Probe", faction, null, new UnitStats(1, 0, 0, 0, 0));
+        }
+
+        @Override
+        public String getDescription() {
+            return "Terrain effect probe";
+        }
+    }
+}
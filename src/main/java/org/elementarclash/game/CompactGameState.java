@@ -0,0 +1,989 @@
+package org.elementarclash.game;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.battlefield.terraineffect.TerrainEffectTable;
+import org.elementarclash.game.combat.DamageCalculator;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.pathfinding.IndexMinHeap;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitStats;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.bonus.SynergyBonus;
+import org.elementarclash.units.bonus.SynergyRule;
+import org.elementarclash.units.bonus.UnitDecorator;
+import org.elementarclash.units.bonus.temporary.*;
+import org.elementarclash.units.state.*;
+import org.elementarclash.units.strategy.attack.AttackStrategy;
+import org.elementarclash.units.strategy.movement.MovementStrategy;
+import org.elementarclash.util.Position;
+import org.elementarclash.util.ZobristKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Struct-of-arrays form of a running game for search: unit u is row u across parallel
+ * primitive arrays (health, cell, faction, type, actions used, state, stun rounds,
+ * decorator slots) instead of a Unit object; the board is a copied Battlefield plus a
+ * cell → unit occupancy array.
+ * <p>
+ * capture() exports a Game, applyTo() writes the state back into that game or a fork of it.
+ * In between the rules run directly on the arrays and give the same results as the Game
+ * with its commands: legal destinations (reachableCells(), as ReachabilityEngine), attack
+ * checks (canAttack(), as the AttackStrategy), damage (damage(), through the game's compiled
+ * DamageCalculator), move(), attack(), endTurn() and the victory check.
+ * Not modelled: the random buffs and events of the turn phases (chance the search cannot
+ * foresee), undo history and observers.
+ * <p>
+ * Unit data that never changes (ids, stats, strategies, movement costs) is shared between
+ * copies. Steps allocate nothing, and copyFrom() reuses the arrays of an existing state,
+ * so a search can keep one state per ply.
+ * <p>
+ * getStateHash() is maintained incrementally with the same Zobrist keys as Game.getStateHash(),
+ * so a captured state and its game hash equally, and so do states reached by different
+ * action orders (transposition table key).
+ *
+ * @author mmukex
+ */
+public final class CompactGameState {
+
+    public static final int NO_UNIT = -1;
+
+    // Unit states (getState(), same numbers as UnitState.getOrdinal())
+    public static final int IDLE = 0;
+    public static final int MOVING = 1;
+    public static final int ATTACKING = 2;
+    public static final int STUNNED = 3;
+    public static final int DEAD = 4;
+
+    /**
+     * Temporary decorators a unit can hold at once (one is applied per turn at most, each lasts two).
+     */
+    public static final int DECORATOR_SLOTS = 4;
+
+    private static final Faction[] FACTIONS = Faction.values();
+    private static final Terrain[] TERRAINS = Terrain.values();
+    private static final UnitType[] TYPES = UnitType.values();
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    /**
+     * Decorator kinds (ordinal in getDecoratorKind()); their bonuses are read from one instance each.
+     */
+    private static final List<Supplier<TimedDecorator>> DECORATOR_KINDS = List.of(
+            AttackBuffDecorator::new,
+            AttackDebuffDecorator::new,
+            DefenseBuffDecorator::new,
+            DefenseDebuffDecorator::new,
+            HastenedDecorator::new,
+            SlowedDecorator::new
+    );
+    private static final Class<?>[] KIND_CLASSES = new Class<?>[DECORATOR_KINDS.size()];
+    private static final int[] KIND_ATTACK = new int[DECORATOR_KINDS.size()];
+    private static final int[] KIND_DEFENSE = new int[DECORATOR_KINDS.size()];
+    private static final int[] KIND_MOVEMENT = new int[DECORATOR_KINDS.size()];
+
+    static {
+        for (int kind = 0; kind < DECORATOR_KINDS.size(); kind++) {
+            TimedDecorator probe = DECORATOR_KINDS.get(kind).get();
+            KIND_CLASSES[kind] = probe.getClass();
+            // Temporary decorators are flat modifiers, independent of the unit
+            KIND_ATTACK[kind] = probe.getAttackBonus(null);
+            KIND_DEFENSE[kind] = probe.getDefenseBonus(null);
+            KIND_MOVEMENT[kind] = probe.getMovementBonus(null);
+        }
+    }
+
+    // ---- Shared between copies (never written after capture) ----
+    private final int unitCount;
+    private final String[] ids;
+    private final byte[] factions;
+    private final byte[] types;
+    private final int[] maxHealth;
+    private final int[] baseAttack;
+    private final int[] baseDefense;
+    private final int[] baseMovement;
+    private final int[] attackRanges;
+    private final AttackStrategy[] attackStrategies;
+    private final double[] movementCosts;
+    private final boolean[] passesThroughUnits;
+    private final int[] synergyAttackPerAlly;
+    private final int[] synergyDefensePerAlly;
+    private final int[] synergyMaxAllies;
+    private final byte[] turnOrder;
+    private final int[] hashIdentities;
+    private final DamageCalculator damageCalculator;
+
+    // ---- Game state ----
+    private final Battlefield battlefield;
+    private final int[] occupancy;
+    private final int[] cells;
+    private final int[] health;
+    private final byte[] actionsUsed;
+    private final byte[] states;
+    private final byte[] stunRounds;
+    private final int[] resurrectionHealth;
+    private final byte[] decoratorCounts;
+    private final byte[] decoratorKinds;
+    private final byte[] decoratorRounds;
+    private final long[] unitKeys;
+    private long unitHash;
+    private final int[] aliveCounts = new int[FACTIONS.length];
+    private int aliveFactions;
+    private int activeFaction;
+    private int roundNumber;
+    private boolean gameOver;
+
+    // ---- Search scratch (per instance, not copied) ----
+    private final IndexMinHeap heap = new IndexMinHeap();
+    private final double[] distances;
+    private final int[] stamps;
+    private int currentStamp;
+
+    private CompactGameState(Game game) {
+        this.damageCalculator = game.getDamageCalculator();
+        if (!damageCalculator.isCompiled()) {
+            throw new IllegalArgumentException("Compact state requires a damage chain of built-in handlers");
+        }
+        if (game.getActiveFaction() == null) {
+            throw new IllegalArgumentException("Game has not started");
+        }
+
+        List<Unit> units = game.getUnits();
+        this.unitCount = units.size();
+        this.ids = new String[unitCount];
+        this.factions = new byte[unitCount];
+        this.types = new byte[unitCount];
+        this.maxHealth = new int[unitCount];
+        this.baseAttack = new int[unitCount];
+        this.baseDefense = new int[unitCount];
+        this.baseMovement = new int[unitCount];
+        this.attackRanges = new int[unitCount];
+        this.attackStrategies = new AttackStrategy[unitCount];
+        this.movementCosts = new double[unitCount * TERRAINS.length];
+        this.passesThroughUnits = new boolean[unitCount];
+        this.hashIdentities = new int[unitCount];
+        this.synergyAttackPerAlly = new int[FACTIONS.length];
+        this.synergyDefensePerAlly = new int[FACTIONS.length];
+        this.synergyMaxAllies = new int[FACTIONS.length];
+        for (Faction faction : FACTIONS) {
+            SynergyRule rule = game.getSynergy().getRule(faction);
+            synergyAttackPerAlly[faction.ordinal()] = rule.attackPerAlly();
+            synergyDefensePerAlly[faction.ordinal()] = rule.defensePerAlly();
+            synergyMaxAllies[faction.ordinal()] = rule.maxAllies();
+        }
+        List<Faction> order = game.getFactionRegistry().getTurnOrder();
+        this.turnOrder = new byte[order.size()];
+        for (int i = 0; i < turnOrder.length; i++) {
+            turnOrder[i] = (byte) order.get(i).ordinal();
+        }
+
+        this.battlefield = game.getBattlefield().copy();
+        this.occupancy = new int[battlefield.getCellCount()];
+        Arrays.fill(occupancy, NO_UNIT);
+        this.cells = new int[unitCount];
+        this.health = new int[unitCount];
+        this.actionsUsed = new byte[unitCount];
+        this.states = new byte[unitCount];
+        this.stunRounds = new byte[unitCount];
+        this.resurrectionHealth = new int[unitCount];
+        this.decoratorCounts = new byte[unitCount];
+        this.decoratorKinds = new byte[unitCount * DECORATOR_SLOTS];
+        this.decoratorRounds = new byte[unitCount * DECORATOR_SLOTS];
+        this.unitKeys = new long[unitCount];
+
+        for (int u = 0; u < unitCount; u++) {
+            exportUnit(game, units.get(u), u);
+            rehash(u);
+        }
+        for (Faction faction : FACTIONS) {
+            aliveCounts[faction.ordinal()] = game.getFactionRegistry().getAliveCount(faction);
+        }
+        this.aliveFactions = game.getFactionRegistry().getAliveFactionCount();
+        this.activeFaction = game.getActiveFaction().ordinal();
+        this.roundNumber = game.getRoundNumber();
+        this.gameOver = game.getCurrentPhase() instanceof GameOverPhase;
+
+        this.distances = new double[occupancy.length];
+        this.stamps = new int[occupancy.length];
+    }
+
+    private CompactGameState(CompactGameState source) {
+        this.unitCount = source.unitCount;
+        this.ids = source.ids;
+        this.factions = source.factions;
+        this.types = source.types;
+        this.maxHealth = source.maxHealth;
+        this.baseAttack = source.baseAttack;
+        this.baseDefense = source.baseDefense;
+        this.baseMovement = source.baseMovement;
+        this.attackRanges = source.attackRanges;
+        this.attackStrategies = source.attackStrategies;
+        this.movementCosts = source.movementCosts;
+        this.passesThroughUnits = source.passesThroughUnits;
+        this.synergyAttackPerAlly = source.synergyAttackPerAlly;
+        this.synergyDefensePerAlly = source.synergyDefensePerAlly;
+        this.synergyMaxAllies = source.synergyMaxAllies;
+        this.turnOrder = source.turnOrder;
+        this.hashIdentities = source.hashIdentities;
+        this.damageCalculator = source.damageCalculator;
+
+        this.battlefield = source.battlefield.copy();
+        this.occupancy = source.occupancy.clone();
+        this.cells = source.cells.clone();
+        this.health = source.health.clone();
+        this.actionsUsed = source.actionsUsed.clone();
+        this.states = source.states.clone();
+        this.stunRounds = source.stunRounds.clone();
+        this.resurrectionHealth = source.resurrectionHealth.clone();
+        this.decoratorCounts = source.decoratorCounts.clone();
+        this.decoratorKinds = source.decoratorKinds.clone();
+        this.decoratorRounds = source.decoratorRounds.clone();
+        this.unitKeys = source.unitKeys.clone();
+        this.unitHash = source.unitHash;
+        System.arraycopy(source.aliveCounts, 0, aliveCounts, 0, aliveCounts.length);
+        this.aliveFactions = source.aliveFactions;
+        this.activeFaction = source.activeFaction;
+        this.roundNumber = source.roundNumber;
+        this.gameOver = source.gameOver;
+
+        this.distances = new double[occupancy.length];
+        this.stamps = new int[occupancy.length];
+    }
+
+    /**
+     * Exports the game. Unit u of the state is game.getUnits().get(u) at the time of capture.
+     *
+     * @throws IllegalArgumentException if the game has not started, uses custom damage handlers
+     *                                  or a unit carries a decorator this model does not know
+     */
+    public static CompactGameState capture(Game game) {
+        return new CompactGameState(game);
+    }
+
+    public CompactGameState copy() {
+        return new CompactGameState(this);
+    }
+
+    /**
+     * Overwrites this state with another one captured from the same game, without allocating.
+     */
+    public void copyFrom(CompactGameState source) {
+        if (source.ids != ids) {
+            throw new IllegalArgumentException("States were captured from different games");
+        }
+        battlefield.copyTerrainFrom(source.battlefield);
+        System.arraycopy(source.occupancy, 0, occupancy, 0, occupancy.length);
+        System.arraycopy(source.cells, 0, cells, 0, unitCount);
+        System.arraycopy(source.health, 0, health, 0, unitCount);
+        System.arraycopy(source.actionsUsed, 0, actionsUsed, 0, unitCount);
+        System.arraycopy(source.states, 0, states, 0, unitCount);
+        System.arraycopy(source.stunRounds, 0, stunRounds, 0, unitCount);
+        System.arraycopy(source.resurrectionHealth, 0, resurrectionHealth, 0, unitCount);
+        System.arraycopy(source.decoratorCounts, 0, decoratorCounts, 0, unitCount);
+        System.arraycopy(source.decoratorKinds, 0, decoratorKinds, 0, decoratorKinds.length);
+        System.arraycopy(source.decoratorRounds, 0, decoratorRounds, 0, decoratorRounds.length);
+        System.arraycopy(source.unitKeys, 0, unitKeys, 0, unitCount);
+        this.unitHash = source.unitHash;
+        System.arraycopy(source.aliveCounts, 0, aliveCounts, 0, aliveCounts.length);
+        this.aliveFactions = source.aliveFactions;
+        this.activeFaction = source.activeFaction;
+        this.roundNumber = source.roundNumber;
+        this.gameOver = source.gameOver;
+    }
+
+    // ---- Export / import ----
+
+    private void exportUnit(Game game, Unit unit, int u) {
+        ids[u] = unit.getId();
+        hashIdentities[u] = unit.getHashIdentity();
+        factions[u] = (byte) unit.getFaction().ordinal();
+        types[u] = (byte) (unit.getType() == null ? -1 : unit.getType().ordinal());
+        UnitStats stats = unit.getBaseStats();
+        maxHealth[u] = stats.maxHealth();
+        baseAttack[u] = stats.attack();
+        baseDefense[u] = stats.defense();
+        baseMovement[u] = stats.movement();
+        attackStrategies[u] = unit.getAttackStrategy();
+        attackRanges[u] = attackStrategies[u].getAttackRange(unit);
+        MovementStrategy movement = unit.getMovementStrategy();
+        for (Terrain terrain : TERRAINS) {
+            movementCosts[u * TERRAINS.length + terrain.ordinal()] = movement.calculateMovementCost(terrain);
+        }
+        passesThroughUnits[u] = movement.passesThroughUnits();
+
+        int cell = battlefield.indexOf(unit.getPosition());
+        cells[u] = cell;
+        occupancy[cell] = u;
+        health[u] = unit.getCurrentHealth();
+        actionsUsed[u] = (byte) unit.getActionsThisTurn();
+        resurrectionHealth[u] = unit.getResurrectionHealth();
+
+        UnitState state = unit.getCurrentState();
+        states[u] = (byte) state.getOrdinal();
+        if (state instanceof StunnedState stunned) {
+            stunRounds[u] = (byte) stunned.getRemainingRounds();
+        }
+
+        for (UnitDecorator decorator : unit.getDecorators()) {
+            if (decorator instanceof SynergyBonus || decorator.isExpired()) {
+                continue; // Synergy is recomputed from the occupancy
+            }
+            int kind = decoratorKind(decorator);
+            int slot = decoratorCounts[u];
+            if (kind < 0 || slot == DECORATOR_SLOTS) {
+                throw new IllegalArgumentException("Cannot export decorator " + decorator.getDecoratorName()
+                        + " of unit " + unit.getId());
+            }
+            decoratorKinds[u * DECORATOR_SLOTS + slot] = (byte) kind;
+            decoratorRounds[u * DECORATOR_SLOTS + slot] = (byte) ((TimedDecorator) decorator).getRemainingRounds();
+            decoratorCounts[u]++;
+        }
+    }
+
+    private static UnitState stateOf(int ordinal, int stunRounds) {
+        return switch (ordinal) {
+            case IDLE -> IdleState.getInstance();
+            case MOVING -> MovingState.getInstance();
+            case ATTACKING -> AttackingState.getInstance();
+            case STUNNED -> new StunnedState(stunRounds);
+            default -> DeadState.getInstance();
+        };
+    }
+
+    private static int decoratorKind(UnitDecorator decorator) {
+        for (int kind = 0; kind < KIND_CLASSES.length; kind++) {
+            if (decorator.getClass() == KIND_CLASSES[kind]) {
+                return kind;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes this state into the game it was captured from, or a fork of it: terrain, health,
+     * positions, actions, unit states, temporary decorators, active faction and round.
+     * Units the state has removed (killed in combat) are removed from the game as well.
+     * Units are matched in order, skipping units the game no longer holds.
+     *
+     * @throws IllegalArgumentException if the game holds a unit this state does not know,
+     *                                  or lacks a unit that is still on the board here
+     */
+    public void applyTo(Game game) {
+        Battlefield target = game.getBattlefield();
+        if (target.getCellCount() != occupancy.length || target.getWidth() != battlefield.getWidth()) {
+            throw new IllegalArgumentException("Battlefield size differs");
+        }
+        for (int cell = 0; cell < occupancy.length; cell++) {
+            Terrain terrain = battlefield.getTerrainAt(cell);
+            if (target.getTerrainAt(cell) != terrain) {
+                target.setTerrainAt(target.positionAt(cell), terrain, game);
+            }
+        }
+
+        Unit[] matched = matchUnits(game.getUnits());
+        List<Unit> movedUnits = new ArrayList<>();
+        List<Position> moveTargets = new ArrayList<>();
+        for (int u = 0; u < unitCount; u++) {
+            Unit unit = matched[u];
+            if (unit == null) {
+                continue;
+            }
+            importUnit(unit, u);
+            if (cells[u] == NO_UNIT) {
+                game.removeUnit(unit);
+            } else if (target.indexOf(unit.getPosition()) != cells[u]) {
+                movedUnits.add(unit);
+                moveTargets.add(target.positionAt(cells[u]));
+            }
+        }
+        game.relocateUnits(movedUnits, moveTargets);
+        game.restoreTurn(FACTIONS[activeFaction], roundNumber);
+    }
+
+    private Unit[] matchUnits(List<Unit> units) {
+        Unit[] matched = new Unit[unitCount];
+        int next = 0;
+        for (int u = 0; u < unitCount; u++) {
+            Unit unit = next < units.size() ? units.get(next) : null;
+            if (unit != null && unit.getId().equals(ids[u]) && unit.getFaction().ordinal() == factions[u]) {
+                matched[u] = unit;
+                next++;
+            } else if (cells[u] != NO_UNIT) {
+                throw new IllegalArgumentException("Game has no unit " + ids[u] + " for this state");
+            }
+        }
+        if (next < units.size()) {
+            throw new IllegalArgumentException("Unit " + units.get(next).getId() + " is not part of this state");
+        }
+        return matched;
+    }
+
+    private void importUnit(Unit unit, int u) {
+        unit.setCurrentHealth(health[u]);
+        unit.setResurrectionAvailable(resurrectionHealth[u] > 0);
+        unit.setActionsThisTurn(actionsUsed[u]);
+        unit.setState(stateOf(states[u], stunRounds[u]));
+
+        unit.removeDecoratorsOfType(TimedDecorator.class);
+        for (int slot = 0; slot < decoratorCounts[u]; slot++) {
+            TimedDecorator decorator = DECORATOR_KINDS.get(decoratorKinds[u * DECORATOR_SLOTS + slot]).get();
+            decorator.setRemainingRounds(decoratorRounds[u * DECORATOR_SLOTS + slot]);
+            unit.addDecorator(decorator);
+        }
+    }
+
+    // ---- Queries ----
+
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    public String getId(int unit) {
+        return ids[unit];
+    }
+
+    public Faction getFaction(int unit) {
+        return FACTIONS[factions[unit]];
+    }
+
+    /**
+     * @return unit type, null for units without one
+     */
+    public UnitType getType(int unit) {
+        return types[unit] < 0 ? null : TYPES[types[unit]];
+    }
+
+    public int getHealth(int unit) {
+        return health[unit];
+    }
+
+    public int getMaxHealth(int unit) {
+        return maxHealth[unit];
+    }
+
+    public boolean isAlive(int unit) {
+        return health[unit] > 0;
+    }
+
+    /**
+     * @return cell index (Battlefield.indexOf()), NO_UNIT once the unit was killed in combat
+     */
+    public int getCell(int unit) {
+        return cells[unit];
+    }
+
+    /**
+     * @return health the unit comes back with when killed, 0 if none (Unit.getResurrectionHealth())
+     */
+    public int getResurrectionHealth(int unit) {
+        return resurrectionHealth[unit];
+    }
+
+    public int getActionsUsed(int unit) {
+        return actionsUsed[unit];
+    }
+
+    /**
+     * @return IDLE, MOVING, ATTACKING, STUNNED or DEAD
+     */
+    public int getState(int unit) {
+        return states[unit];
+    }
+
+    public int getStunRounds(int unit) {
+        return stunRounds[unit];
+    }
+
+    public int getDecoratorCount(int unit) {
+        return decoratorCounts[unit];
+    }
+
+    /**
+     * @return kind of the temporary decorator in the slot (index into the kinds listed above)
+     */
+    public int getDecoratorKind(int unit, int slot) {
+        return decoratorKinds[unit * DECORATOR_SLOTS + slot];
+    }
+
+    public int getDecoratorRounds(int unit, int slot) {
+        return decoratorRounds[unit * DECORATOR_SLOTS + slot];
+    }
+
+    /**
+     * @return unit on the cell (living, or dead from terrain effects), NO_UNIT if free
+     */
+    public int unitAt(int cell) {
+        return occupancy[cell];
+    }
+
+    public int getWidth() {
+        return battlefield.getWidth();
+    }
+
+    public int getCellCount() {
+        return occupancy.length;
+    }
+
+    public Terrain getTerrainAt(int cell) {
+        return battlefield.getTerrainAt(cell);
+    }
+
+    public Faction getActiveFaction() {
+        return FACTIONS[activeFaction];
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public int getAliveCount(Faction faction) {
+        return aliveCounts[faction.ordinal()];
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Zobrist hash of terrain, units on the board and active faction; equals Game.getStateHash()
+     * of the game in the same position. Decorators, round and game-over flag are not included
+     * (see getSearchKey()).
+     */
+    public long getStateHash() {
+        return battlefield.getTerrainHash() ^ unitHash ^ ZobristKeys.activeFaction(activeFaction);
+    }
+
+    /**
+     * getStateHash() plus the temporary decorators (kind and remaining rounds per slot) and the
+     * round: states that hash equally can still play differently after endTurn() (a buff runs
+     * out), so search tables key on this. Computed on demand, O(units).
+     */
+    public long getSearchKey() {
+        long key = getStateHash() ^ ZobristKeys.round(roundNumber);
+        for (int u = 0; u < unitCount; u++) {
+            if (cells[u] == NO_UNIT) {
+                continue;
+            }
+            for (int slot = 0; slot < decoratorCounts[u]; slot++) {
+                key ^= ZobristKeys.decorator(hashIdentities[u], slot,
+                        decoratorKinds[u * DECORATOR_SLOTS + slot], decoratorRounds[u * DECORATOR_SLOTS + slot]);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Same as Game.getWinner(): null while the game runs or if nobody survived.
+     */
+    public Faction getWinner() {
+        if (!gameOver) {
+            return null;
+        }
+        for (Faction faction : FACTIONS) {
+            if (aliveCounts[faction.ordinal()] > 0) {
+                return faction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the unit may move or attack now (the state-independent part of command validation).
+     */
+    public boolean canAct(int unit) {
+        return !gameOver
+                && cells[unit] != NO_UNIT
+                && health[unit] > 0
+                && states[unit] != STUNNED
+                && states[unit] != DEAD
+                && actionsUsed[unit] < Unit.MAX_ACTIONS_PER_TURN;
+    }
+
+    /**
+     * Living allies on the four orthogonal neighbours (what the SynergyEngine counts).
+     */
+    public int getAdjacentAllies(int unit) {
+        int cell = cells[unit];
+        if (cell == NO_UNIT || health[unit] <= 0) {
+            return 0;
+        }
+        int width = battlefield.getWidth();
+        int x = cell % width;
+        int y = cell / width;
+        int count = 0;
+        for (int direction = 0; direction < DX.length; direction++) {
+            int nx = x + DX[direction];
+            int ny = y + DY[direction];
+            if (battlefield.isInBounds(nx, ny)) {
+                int neighbour = occupancy[ny * width + nx];
+                if (neighbour != NO_UNIT && neighbour != unit && health[neighbour] > 0
+                        && factions[neighbour] == factions[unit]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Effective attack, as Unit.getAttack(): base + temporary decorators + synergy.
+     */
+    public int getAttack(int unit) {
+        int attack = baseAttack[unit] + synergyAttackPerAlly[factions[unit]]
+                * Math.min(getAdjacentAllies(unit), synergyMaxAllies[factions[unit]]);
+        for (int slot = 0; slot < decoratorCounts[unit]; slot++) {
+            attack += KIND_ATTACK[decoratorKinds[unit * DECORATOR_SLOTS + slot]];
+        }
+        return attack;
+    }
+
+    /**
+     * Effective defense, as Unit.getDefense(): base + temporary decorators + synergy.
+     */
+    public int getDefense(int unit) {
+        int defense = baseDefense[unit] + synergyDefensePerAlly[factions[unit]]
+                * Math.min(getAdjacentAllies(unit), synergyMaxAllies[factions[unit]]);
+        for (int slot = 0; slot < decoratorCounts[unit]; slot++) {
+            defense += KIND_DEFENSE[decoratorKinds[unit * DECORATOR_SLOTS + slot]];
+        }
+        return defense;
+    }
+
+    /**
+     * Movement budget, as Unit.getMovement() (at least 1).
+     */
+    public int getMovement(int unit) {
+        int movement = baseMovement[unit];
+        for (int slot = 0; slot < decoratorCounts[unit]; slot++) {
+            movement += KIND_MOVEMENT[decoratorKinds[unit * DECORATOR_SLOTS + slot]];
+        }
+        return Math.max(1, movement);
+    }
+
+    // ---- Move generation ----
+
+    /**
+     * Cells the unit can move to with its current movement: bounded Dijkstra over the unit's
+     * terrain costs, occupied cells block unless it flies; same cells as
+     * ReachabilityEngine.reachableArea(unit), in search order.
+     *
+     * @param out receives the cell indices (getCellCount() entries always suffice)
+     * @return number of cells written
+     */
+    public int reachableCells(int unit, int[] out) {
+        int origin = cells[unit];
+        if (origin == NO_UNIT) {
+            return 0;
+        }
+        int budget = getMovement(unit);
+        int costBase = unit * TERRAINS.length;
+        boolean passes = passesThroughUnits[unit];
+        int width = battlefield.getWidth();
+        nextStamp();
+
+        int count = 0;
+        visit(origin, 0.0);
+        heap.clear();
+        heap.push(origin, 0.0);
+        while (!heap.isEmpty()) {
+            double cost = heap.peekKey();
+            int cell = heap.poll();
+            if (cost > distances[cell]) {
+                continue; // Stale entry
+            }
+            if (cell != origin && occupancy[cell] == NO_UNIT) {
+                out[count++] = cell;
+            }
+
+            int x = cell % width;
+            int y = cell / width;
+            for (int direction = 0; direction < DX.length; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                if (!battlefield.isInBounds(nx, ny)) {
+                    continue;
+                }
+                int neighbour = ny * width + nx;
+                if (!passes && occupancy[neighbour] != NO_UNIT) {
+                    continue;
+                }
+                double next = cost + movementCosts[costBase + battlefield.getTerrainAt(neighbour).ordinal()];
+                if (next <= budget && next < distanceOf(neighbour)) {
+                    visit(neighbour, next);
+                    heap.push(neighbour, next);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void nextStamp() {
+        currentStamp++;
+        if (currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 1;
+        }
+    }
+
+    private void visit(int cell, double cost) {
+        distances[cell] = cost;
+        stamps[cell] = currentStamp;
+    }
+
+    private double distanceOf(int cell) {
+        return stamps[cell] == currentStamp ? distances[cell] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Same as Game.canAttack(): both alive and on the board, different factions, in reach.
+     */
+    public boolean canAttack(int attacker, int target) {
+        if (cells[attacker] == NO_UNIT || cells[target] == NO_UNIT
+                || health[attacker] <= 0 || health[target] <= 0
+                || factions[attacker] == factions[target]) {
+            return false;
+        }
+        int width = battlefield.getWidth();
+        return attackStrategies[attacker].isWithinReach(battlefield, attackRanges[attacker],
+                cells[attacker] % width, cells[attacker] / width, cells[target] % width, cells[target] / width);
+    }
+
+    /**
+     * Damage the attack would deal, equal to DamageCalculator.calculateTotalDamage() on the game.
+     * Does not check range, faction or whether the units are alive.
+     */
+    public int damage(int attacker, int target) {
+        Faction attackerFaction = FACTIONS[factions[attacker]];
+        Terrain attackerTerrain = battlefield.getTerrainAt(cells[attacker]);
+        return damageCalculator.calculateTotalDamage(baseAttack[attacker], attackerFaction, FACTIONS[factions[target]],
+                TerrainEffectTable.attackBonus(attackerTerrain, attackerFaction),
+                getAttack(attacker) - baseAttack[attacker], getDefense(target));
+    }
+
+    // ---- Steps ----
+
+    /**
+     * MoveCommand.execute(): moves to a cell from reachableCells() (not re-validated here),
+     * applies the terrain transformation and uses one action.
+     *
+     * @throws IllegalArgumentException if the unit cannot act or the cell is occupied
+     */
+    public void move(int unit, int cell) {
+        if (!canAct(unit) || occupancy[cell] != NO_UNIT) {
+            throw new IllegalArgumentException("Unit " + ids[unit] + " cannot move to cell " + cell);
+        }
+        occupancy[cells[unit]] = NO_UNIT;
+        occupancy[cell] = unit;
+        cells[unit] = cell;
+
+        Terrain change = TerrainEffectTable.terrainChange(battlefield.getTerrainAt(cell), FACTIONS[factions[unit]]);
+        if (change != null) {
+            battlefield.setTerrainAt(battlefield.positionAt(cell), change, null);
+        }
+
+        actionsUsed[unit]++;
+        if (states[unit] == IDLE && actionsUsed[unit] < Unit.MAX_ACTIONS_PER_TURN) {
+            states[unit] = MOVING;
+        }
+        rehash(unit);
+    }
+
+    /**
+     * AttackCommand.execute(): deals damage(), uses one action; a killed target leaves the
+     * board and may end the game.
+     *
+     * @return damage dealt
+     * @throws IllegalArgumentException if the unit cannot act or the target is out of reach
+     */
+    public int attack(int attacker, int target) {
+        if (!canAct(attacker) || !canAttack(attacker, target)) {
+            throw new IllegalArgumentException("Unit " + ids[attacker] + " cannot attack " + ids[target]);
+        }
+        int damage = damage(attacker, target);
+        takeDamage(target, damage);
+
+        actionsUsed[attacker]++;
+        if ((states[attacker] == IDLE || states[attacker] == MOVING)
+                && actionsUsed[attacker] < Unit.MAX_ACTIONS_PER_TURN) {
+            states[attacker] = ATTACKING;
+        }
+
+        if (health[target] <= 0) {
+            occupancy[cells[target]] = NO_UNIT;
+            cells[target] = NO_UNIT;
+            checkVictory();
+        }
+        rehash(attacker);
+        rehash(target);
+        return damage;
+    }
+
+    /**
+     * Game.nextTurn(): resets the active faction's units, applies per-turn terrain effects,
+     * checks victory, ticks decorators and hands over to the next living faction, whose units
+     * are reset as well.
+     *
+     * @throws IllegalStateException if the game is over
+     */
+    public void endTurn() {
+        if (gameOver) {
+            throw new IllegalStateException("Game is over");
+        }
+
+        resetFactionUnits();
+
+        for (int u = 0; u < unitCount; u++) {
+            if (cells[u] == NO_UNIT || health[u] <= 0) {
+                continue;
+            }
+            int hpChange = TerrainEffectTable.hpPerTurn(battlefield.getTerrainAt(cells[u]), FACTIONS[factions[u]]);
+            if (hpChange > 0) {
+                health[u] = Math.min(maxHealth[u], health[u] + hpChange);
+            } else if (hpChange < 0) {
+                takeDamage(u, -hpChange);
+            }
+        }
+
+        if (!checkVictory()) {
+            for (int u = 0; u < unitCount; u++) {
+                if (cells[u] != NO_UNIT && health[u] > 0) {
+                    tickDecorators(u);
+                }
+            }
+
+            // PlayerTurnPhase.onEnter() resets the next faction's units as well
+            activeFaction = nextAliveFaction();
+            resetFactionUnits();
+            if (activeFaction == firstAliveFaction()) {
+                roundNumber++;
+            }
+        }
+
+        for (int u = 0; u < unitCount; u++) {
+            rehash(u);
+        }
+    }
+
+    private void resetFactionUnits() {
+        for (int u = 0; u < unitCount; u++) {
+            if (factions[u] == activeFaction && cells[u] != NO_UNIT) {
+                resetTurn(u);
+            }
+        }
+    }
+
+    private void resetTurn(int unit) {
+        actionsUsed[unit] = 0;
+        if (states[unit] != STUNNED || stunRounds[unit] <= 0) {
+            states[unit] = IDLE;
+        }
+        if (states[unit] == STUNNED) {
+            stunRounds[unit]--;
+        }
+    }
+
+    private void tickDecorators(int unit) {
+        int base = unit * DECORATOR_SLOTS;
+        int kept = 0;
+        for (int slot = 0; slot < decoratorCounts[unit]; slot++) {
+            int rounds = decoratorRounds[base + slot] - 1;
+            if (rounds > 0) {
+                decoratorKinds[base + kept] = decoratorKinds[base + slot];
+                decoratorRounds[base + kept] = (byte) rounds;
+                kept++;
+            }
+        }
+        decoratorCounts[unit] = (byte) kept;
+    }
+
+    /**
+     * Replaces the unit's Zobrist key (as Unit does on every write); units off the board have none.
+     */
+    private void rehash(int unit) {
+        int cell = cells[unit];
+        long key = 0;
+        if (cell != NO_UNIT) {
+            int width = battlefield.getWidth();
+            key = ZobristKeys.unit(hashIdentities[unit], cell % width, cell / width, health[unit], states[unit],
+                    states[unit] == STUNNED ? stunRounds[unit] : 0, actionsUsed[unit]);
+        }
+        unitHash ^= unitKeys[unit] ^ key;
+        unitKeys[unit] = key;
+    }
+
+    /**
+     * Unit.takeDamage(), including the one-time resurrection (Phoenix).
+     */
+    private void takeDamage(int unit, int damage) {
+        int before = health[unit];
+        health[unit] = Math.max(0, before - Math.max(0, damage));
+        if (before > 0 && health[unit] == 0) {
+            states[unit] = DEAD;
+            changeAliveCount(factions[unit], -1);
+            if (resurrectionHealth[unit] > 0) {
+                health[unit] = Math.min(maxHealth[unit], resurrectionHealth[unit]);
+                resurrectionHealth[unit] = 0;
+                changeAliveCount(factions[unit], 1);
+            }
+        }
+    }
+
+    private void changeAliveCount(int faction, int delta) {
+        int before = aliveCounts[faction];
+        int after = before + delta;
+        aliveCounts[faction] = after;
+        if (before == 0 && after > 0) {
+            aliveFactions++;
+        } else if (before > 0 && after == 0) {
+            aliveFactions--;
+        }
+    }
+
+    private boolean checkVictory() {
+        if (aliveFactions <= 1) {
+            gameOver = true;
+        }
+        return gameOver;
+    }
+
+    /**
+     * FactionRegistry.nextAliveFaction(): next living faction in turn order.
+     */
+    private int nextAliveFaction() {
+        int start = -1;
+        for (int i = 0; i < turnOrder.length; i++) {
+            if (turnOrder[i] == activeFaction) {
+                start = i;
+            }
+        }
+        if (start < 0 || aliveCounts[activeFaction] <= 0) {
+            for (byte faction : turnOrder) {
+                if (aliveCounts[faction] > 0) {
+                    return faction;
+                }
+            }
+            throw new IllegalStateException("No living faction left");
+        }
+        for (int step = 1; step <= turnOrder.length; step++) {
+            int candidate = turnOrder[(start + step) % turnOrder.length];
+            if (aliveCounts[candidate] > 0) {
+                return candidate;
+            }
+        }
+        return activeFaction;
+    }
+
+    private int firstAliveFaction() {
+        for (int faction = 0; faction < FACTIONS.length; faction++) {
+            if (aliveCounts[faction] > 0) {
+                return faction;
+            }
+        }
+        return NO_UNIT;
+    }
+}
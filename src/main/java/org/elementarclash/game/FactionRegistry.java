@@ -0,0 +1,197 @@
+package org.elementarclash.game;
+
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Units of a Game grouped by faction, with alive counters, owned by a Game.
+ * <p>
+ * Keeps per-faction unit lists (registration order), an alive count per faction and
+ * the number of factions still in the game. Counters follow every alive/dead transition
+ * reported by the units themselves (UnitLifecycleListener, routed through Game), including
+ * deaths from terrain or events and Phoenix resurrection, so victory checks and turn rotation
+ * never scan units.
+ * <p>
+ * Reads are allocation-free: getUnits() returns a read-only live view.
+ *
+ * @author mmukex
+ */
+public class FactionRegistry {
+
+    private static final Faction[] FACTIONS = Faction.values();
+
+    private final Map<Faction, List<Unit>> unitsByFaction = new EnumMap<>(Faction.class);
+    private final Map<Faction, List<Unit>> unitViews = new EnumMap<>(Faction.class);
+    private final Set<Unit> members = new HashSet<>();
+    private final Map<String, Unit> unitsById = new HashMap<>();
+    private final int[] aliveCounts = new int[FACTIONS.length];
+    private final List<Faction> turnOrder = new ArrayList<>();
+    private int aliveFactions;
+
+    FactionRegistry() {
+        for (Faction faction : FACTIONS) {
+            List<Unit> units = new ArrayList<>();
+            unitsByFaction.put(faction, units);
+            unitViews.put(faction, Collections.unmodifiableList(units));
+        }
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Units of the faction in registration order (read-only live view).
+     */
+    public List<Unit> getUnits(Faction faction) {
+        return unitViews.get(faction);
+    }
+
+    /**
+     * Unit with the given id (as shown by the renderer, e.g. "F2"); the first registered
+     * one if several factories produced the same id.
+     */
+    public Unit findById(String id) {
+        return unitsById.get(id);
+    }
+
+    public boolean contains(Unit unit) {
+        return members.contains(unit);
+    }
+
+    public int getAliveCount(Faction faction) {
+        return aliveCounts[faction.ordinal()];
+    }
+
+    public boolean isAlive(Faction faction) {
+        return aliveCounts[faction.ordinal()] > 0;
+    }
+
+    /**
+     * @return number of factions with at least one living unit
+     */
+    public int getAliveFactionCount() {
+        return aliveFactions;
+    }
+
+    /**
+     * Last faction standing, or null while several (or none) remain.
+     */
+    public Faction getSoleSurvivor() {
+        if (aliveFactions != 1) {
+            return null;
+        }
+        for (Faction faction : turnOrder) {
+            if (isAlive(faction)) {
+                return faction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Turn rotation: the next living faction after the current one in order of first
+     * registration; the first living faction if the current one is out.
+     */
+    public Faction nextAliveFaction(Faction current) {
+        int start = turnOrder.indexOf(current);
+        if (start < 0 || !isAlive(current)) {
+            return firstAliveInTurnOrder();
+        }
+        for (int step = 1; step <= turnOrder.size(); step++) {
+            Faction candidate = turnOrder.get((start + step) % turnOrder.size());
+            if (isAlive(candidate)) {
+                return candidate;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Living faction with the lowest enum order (marks the start of a round), or null.
+     */
+    public Faction firstAliveFaction() {
+        for (Faction faction : FACTIONS) {
+            if (isAlive(faction)) {
+                return faction;
+            }
+        }
+        return null;
+    }
+
+    private Faction firstAliveInTurnOrder() {
+        for (Faction faction : turnOrder) {
+            if (isAlive(faction)) {
+                return faction;
+            }
+        }
+        throw new IllegalStateException("No living faction left");
+    }
+
+    /**
+     * Factions in order of first registration (read-only), the basis of the turn rotation.
+     */
+    List<Faction> getTurnOrder() {
+        return Collections.unmodifiableList(turnOrder);
+    }
+
+    // ---- Updates (Game only) ----
+
+    /**
+     * Forked games keep the turn rotation even if a faction's first unit is gone.
+     */
+    void copyTurnOrderFrom(FactionRegistry source) {
+        turnOrder.addAll(source.turnOrder);
+    }
+
+    void register(Unit unit) {
+        if (!members.add(unit)) {
+            return;
+        }
+        unitsById.putIfAbsent(unit.getId(), unit);
+        Faction faction = unit.getFaction();
+        if (!turnOrder.contains(faction)) {
+            turnOrder.add(faction);
+        }
+        unitsByFaction.get(faction).add(unit);
+        if (unit.isAlive()) {
+            changeAliveCount(faction, 1);
+        }
+    }
+
+    void unregister(Unit unit) {
+        if (!members.remove(unit)) {
+            return;
+        }
+        unitsById.remove(unit.getId(), unit);
+        unitsByFaction.get(unit.getFaction()).remove(unit);
+        if (unit.isAlive()) {
+            changeAliveCount(unit.getFaction(), -1);
+        }
+    }
+
+    /**
+     * Forwarded by Game from the units' UnitLifecycleListener.
+     */
+    void onAliveChanged(Unit unit, boolean alive) {
+        changeAliveCount(unit.getFaction(), alive ? 1 : -1);
+    }
+
+    private void changeAliveCount(Faction faction, int delta) {
+        int before = aliveCounts[faction.ordinal()];
+        int after = before + delta;
+        aliveCounts[faction.ordinal()] = after;
+        if (before == 0 && after > 0) {
+            aliveFactions++;
+        } else if (before > 0 && after == 0) {
+            aliveFactions--;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package org.elementarclash.game;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.battlefield.Terrain;
-import org.elementarclash.battlefield.terraineffect.TerrainEffectResult;
-import org.elementarclash.battlefield.terraineffect.TerrainVisitor;
-import org.elementarclash.battlefield.terraineffect.TerrainVisitorFactory;
+import org.elementarclash.battlefield.terraineffect.TerrainEffectTable;
 import org.elementarclash.units.Faction;
+import org.elementarclash.game.combat.DamageCalculator;
 import org.elementarclash.game.command.Command;
 import org.elementarclash.game.command.CommandExecutor;
 import org.elementarclash.game.command.ValidationResult;
@@ -17,13 +17,19 @@ import org.elementarclash.game.phase.PlayerTurnPhase;
 import org.elementarclash.ui.ConsoleGameRenderer;
 import org.elementarclash.ui.GameRenderer;
 import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitLifecycleListener;
 import org.elementarclash.units.bonus.SynergyBonus;
-import org.elementarclash.units.bonus.UnitDecorator;
+import org.elementarclash.util.GameRandom;
 import org.elementarclash.util.Position;
+import org.elementarclash.util.ZobristKeys;
 import org.elementarclash.game.event.*;
+import org.elementarclash.pathfinding.FlowFieldService;
+import org.elementarclash.pathfinding.MovementPath;
+import org.elementarclash.pathfinding.PathFinder;
+import org.elementarclash.pathfinding.ReachabilityEngine;
+import org.elementarclash.visibility.VisibilityEngine;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Central game manager for ElementarClash.
@@ -51,21 +57,99 @@ public class Game {
 
     private final Battlefield battlefield;
     private final List<Unit> units;
-    private final Map<Position, Unit> positionToUnit;
+    private final SpatialIndex spatialIndex;
+    private final FactionRegistry factionRegistry;
+    private final SynergyEngine synergy;
+    private final UnitLifecycleListener lifecycleListener = new UnitLifecycleListener() {
+        @Override
+        public void onAliveChanged(Unit unit, boolean alive) {
+            onUnitAliveChanged(unit, alive);
+        }
+
+        @Override
+        public void onZobristKeyChanged(Unit unit, long delta) {
+            unitHash ^= delta;
+        }
+    };
+    /**
+     * Incremented exactly once whenever a unit is placed, moved or removed (cache invalidation).
+     */
+    private long occupancyVersion;
+    /**
+     * XOR of the Zobrist keys of all units in the game (see getStateHash()).
+     */
+    @Getter(AccessLevel.NONE)
+    private long unitHash;
+    private final ReachabilityEngine reachability;
+    private final PathFinder pathFinder;
+    private final FlowFieldService flowFields;
+    private final VisibilityEngine visibility;
     private final CommandExecutor commandExecutor;
+    /**
+     * Reused for every attack in this game (thread-confined like the game itself).
+     */
+    private final DamageCalculator damageCalculator;
     private final RoundManager roundManager;
     private Faction activeFaction;
     private GamePhaseState currentPhase;
     private final List<GameObserver> observers = new ArrayList<>();
+    private final GameRandom random;
 
-    Game(Battlefield battlefield) {
+    Game(Battlefield battlefield, GameRandom random) {
+        this(battlefield, random, new DamageCalculator());
+    }
+
+    Game(Battlefield battlefield, GameRandom random, DamageCalculator damageCalculator) {
+        this(battlefield, random, damageCalculator, new RoundManager());
+    }
+
+    private Game(Battlefield battlefield, GameRandom random, DamageCalculator damageCalculator,
+                 RoundManager roundManager) {
         this.battlefield = battlefield;
+        this.random = random;
         this.units = new ArrayList<>();
-        this.positionToUnit = new HashMap<>();
+        this.spatialIndex = new SpatialIndex(battlefield);
+        this.factionRegistry = new FactionRegistry();
+        this.synergy = new SynergyEngine(spatialIndex);
+        this.reachability = new ReachabilityEngine(this);
+        this.pathFinder = new PathFinder(this);
+        this.flowFields = new FlowFieldService(this);
+        this.observers.add(flowFields);
+        this.visibility = new VisibilityEngine(this);
+        this.observers.add(visibility);
         this.activeFaction = null;
         this.currentPhase = SetupPhase.getInstance();
         this.commandExecutor = new CommandExecutor();
-        this.roundManager = new RoundManager();
+        this.damageCalculator = damageCalculator;
+        this.roundManager = roundManager;
+    }
+
+    /**
+     * Independent copy for AI search and what-if analysis: running commands on the fork
+     * never touches this game and vice versa.
+     * <p>
+     * Shared (immutable): unit stats, strategies, stateless unit states, visitors, the damage
+     * handler chain, Position objects. Copied: terrain arrays, units with their decorators and
+     * stun state, health and action counters, phase, active faction, round and turn order.
+     * Rebuilt from the copied units: spatial index, faction registry, synergy counts.
+     * Not carried over: observers (renderer etc.; the fork has only its own caches),
+     * command history (no undo into the original) and cache contents, which refill on demand.
+     * The fork draws randomness from a split() of this game's source.
+     */
+    public Game fork() {
+        Game copy = new Game(battlefield.copy(), random.split(), damageCalculator.copy(), roundManager.copy());
+        copy.factionRegistry.copyTurnOrderFrom(factionRegistry);
+        copy.synergy.copyRulesFrom(synergy);
+
+        for (Unit unit : units) {
+            Unit unitCopy = unit.copy();
+            unitCopy.removeDecoratorsOfType(SynergyBonus.class); // re-attached and recounted by addUnit
+            copy.addUnit(unitCopy, unit.getPosition());
+        }
+
+        copy.activeFaction = activeFaction;
+        copy.currentPhase = currentPhase;
+        return copy;
     }
 
     private void transitionToPhase(GamePhaseState newPhase) {
@@ -109,10 +193,7 @@ public class Game {
         // Tick Decorators
         for (Unit unit : units) {
             if (unit.isAlive()) {
-                for (UnitDecorator decorator : unit.getDecorators()) {
-                    decorator.tick();
-                }
-                unit.removeExpiredDecorators();
+                unit.tickDecorators();
             }
         }
 
@@ -132,14 +213,12 @@ public class Game {
 
     /**
      * Check victory condition and transition to GameOver if met.
+     * O(1): alive counts are kept by the FactionRegistry.
      */
     private boolean checkVictoryCondition() {
-        Map<Faction, Long> aliveCounts = units.stream()
-                .filter(Unit::isAlive)
-                .collect(Collectors.groupingBy(Unit::getFaction, Collectors.counting()));
-
-        if (aliveCounts.size() == 1) {
-            Faction winner = aliveCounts.keySet().iterator().next();
+        if (factionRegistry.getAliveFactionCount() <= 1) {
+            // null winner: the last units of all factions died in the same turn (draw)
+            Faction winner = factionRegistry.getSoleSurvivor();
             transitionToPhase(currentPhase.transitionToGameOver(this, winner));
             notifyObservers(new GameOverEvent(winner));
             return true;
@@ -148,51 +227,152 @@ public class Game {
     }
 
     public boolean isPositionOccupied(Position position) {
-        return positionToUnit.containsKey(position);
+        return getUnitAt(position) != null;
     }
 
     public void addUnit(Unit unit, Position position) {
+        if (!battlefield.isInBounds(position)) {
+            throw new IllegalArgumentException("Position " + position + " is outside the battlefield");
+        }
         if (isPositionOccupied(position)) {
             return;
         }
 
+        int index = battlefield.indexOf(position);
         units.add(unit);
-        positionToUnit.put(position, unit);
-        unit.setPosition(position);
+        factionRegistry.register(unit);
+        unitHash ^= unit.getZobristKey(); // later changes arrive as deltas via the listener
+        unit.setLifecycleListener(lifecycleListener);
+        spatialIndex.place(unit, index);
+        occupancyVersion++;
+        unit.setPosition(battlefield.positionAt(index));
+        synergy.attach(unit);
     }
 
     public void removeUnit(Unit unit) {
         units.remove(unit);
-        positionToUnit.remove(unit.getPosition());
+        if (factionRegistry.contains(unit)) {
+            factionRegistry.unregister(unit);
+            unit.setLifecycleListener(null);
+            unitHash ^= unit.getZobristKey();
+        }
+        clearOccupancy(unit);
+        occupancyVersion++;
+        Position position = unit.getPosition();
+        synergy.detach(unit, position != null && battlefield.isInBounds(position) ? position : null);
+    }
+
+    /**
+     * Zobrist hash of the position: terrain, every unit's position, health, state and actions,
+     * and the active faction. Maintained incrementally (one XOR per change), so it is O(1) and
+     * equal positions - also across forks and undo - hash equally. Meant as transposition table
+     * key for search; decorators, round number and phase are not included.
+     */
+    public long getStateHash() {
+        long hash = battlefield.getTerrainHash() ^ unitHash;
+        return activeFaction == null ? hash : hash ^ ZobristKeys.activeFaction(activeFaction.ordinal());
+    }
+
+    /**
+     * Alive/dead transitions: alive counts and the synergy of adjacent units change.
+     */
+    private void onUnitAliveChanged(Unit unit, boolean alive) {
+        factionRegistry.onAliveChanged(unit, alive);
+        if (!factionRegistry.contains(unit) || !battlefield.isInBounds(unit.getPosition())) {
+            return;
+        }
+        if (alive) {
+            synergy.arrived(unit);
+        } else {
+            synergy.left(unit, unit.getPosition());
+        }
+    }
+
+    private void clearOccupancy(Unit unit) {
+        Position position = unit.getPosition();
+        if (position != null && battlefield.isInBounds(position)) {
+            int index = battlefield.indexOf(position);
+            if (spatialIndex.unitAt(index) == unit) {
+                spatialIndex.clear(index);
+            }
+        }
     }
 
     public void moveUnitInternal(Unit unit, Position newPosition) {
-        if (!units.contains(unit) || isPositionOccupied(newPosition)) {
+        moveUnitInternal(unit, newPosition, null);
+    }
+
+    /**
+     * @param path route taken (reported in UnitMovedEvent), null for direct placement such as undo
+     */
+    public void moveUnitInternal(Unit unit, Position newPosition, MovementPath path) {
+        if (!factionRegistry.contains(unit) || !battlefield.isInBounds(newPosition) || isPositionOccupied(newPosition)) {
             return;
         }
         Position oldPosition = unit.getPosition();
-
-        positionToUnit.remove(unit.getPosition());
-        positionToUnit.put(newPosition, unit);
-        unit.setPosition(newPosition);
+        int index = battlefield.indexOf(newPosition);
+
+        clearOccupancy(unit);
+        spatialIndex.place(unit, index);
+        occupancyVersion++;
+        unit.setPosition(battlefield.positionAt(index));
+        if (unit.isAlive()) {
+            synergy.left(unit, oldPosition);
+            synergy.arrived(unit);
+        }
 
         applyTerrainTransformation(unit);
-        notifyObservers(new UnitMovedEvent(unit, oldPosition, newPosition));
+        notifyObservers(new UnitMovedEvent(unit, oldPosition, newPosition, path));
+    }
+
+    /**
+     * Places several units on new cells at once (state import, see CompactGameState.applyTo()).
+     * All of them leave their cells before any is placed, so units may swap or chain cells.
+     * Like a direct placement there is no terrain transformation and no UnitMovedEvent.
+     */
+    void relocateUnits(List<Unit> movedUnits, List<Position> targets) {
+        for (Unit unit : movedUnits) {
+            if (unit.isAlive()) {
+                synergy.left(unit, unit.getPosition());
+            }
+        }
+        for (Unit unit : movedUnits) {
+            clearOccupancy(unit);
+        }
+        for (int i = 0; i < movedUnits.size(); i++) {
+            Unit unit = movedUnits.get(i);
+            int index = battlefield.indexOf(targets.get(i));
+            if (spatialIndex.unitAt(index) != null) {
+                throw new IllegalArgumentException("Cell " + targets.get(i) + " is occupied");
+            }
+            spatialIndex.place(unit, index);
+            unit.setPosition(battlefield.positionAt(index));
+            if (unit.isAlive()) {
+                synergy.arrived(unit);
+            }
+        }
+        occupancyVersion++;
+    }
+
+    /**
+     * Active faction and round of an imported state; ends the game if only one faction is left.
+     */
+    void restoreTurn(Faction faction, int roundNumber) {
+        this.activeFaction = faction;
+        roundManager.setRoundNumber(roundNumber);
+        if (currentPhase instanceof PlayerTurnPhase) {
+            checkVictoryCondition();
+        }
     }
 
     private void applyTerrainTransformation(Unit unit) {
         Terrain terrain = getTerrainAt(unit.getPosition());
-        TerrainVisitor visitor = TerrainVisitorFactory.getVisitor(terrain);
-        TerrainEffectResult effect = unit.accept(visitor);
+        Terrain terrainChange = TerrainEffectTable.terrainChange(terrain, unit.getFaction());
 
         // Listeners: TerrainVisualRenderer, UnitStatRecalculator
-        if (effect.terrainChange() != null) {
-            battlefield.setTerrainAt(unit.getPosition(), effect.terrainChange(), this);
+        if (terrainChange != null) {
+            battlefield.setTerrainAt(unit.getPosition(), terrainChange, this);
         }
-
-        // Recalculate synergy bonus (in case unit moved next to allies)
-        unit.removeDecoratorsOfType(SynergyBonus.class);
-        unit.addDecorator(new SynergyBonus(this, unit.getFaction()));
     }
 
     public ValidationResult executeCommand(Command command) {
@@ -220,23 +400,38 @@ public class Game {
     }
 
     public Unit getUnitAt(Position position) {
-        return positionToUnit.get(position);
+        if (position == null || !battlefield.isInBounds(position)) {
+            return null;
+        }
+        return spatialIndex.unitAt(battlefield.indexOf(position));
+    }
+
+    public Unit getUnitAt(int x, int y) {
+        return spatialIndex.unitAt(x, y);
     }
 
+    /**
+     * Units of the faction in registration order (read-only live view, no copy).
+     */
     public List<Unit> getUnitsOfFaction(Faction faction) {
-        return units.stream()
-                .filter(u -> u.getFaction() == faction)
-                .toList();
+        return factionRegistry.getUnits(faction);
     }
 
+    /**
+     * Constant-time membership check (replaces getUnits().contains()).
+     */
+    public boolean containsUnit(Unit unit) {
+        return factionRegistry.contains(unit);
+    }
+
+    /**
+     * Living units on the four orthogonal neighbours (N, E, S, W).
+     * Hot paths should use getSpatialIndex().forEachAdjacent()/countAdjacent() instead (no list).
+     */
     public List<Unit> getUnitsAdjacentTo(Position position) {
-        return Arrays.stream(position.getAdjacentPositions())
-                .filter(Objects::nonNull)
-                .filter(this::isPositionOccupied)
-                .map(this::getUnitAt)
-                .filter(Objects::nonNull)
-                .filter(Unit::isAlive)
-                .toList();
+        List<Unit> adjacent = new ArrayList<>(4);
+        spatialIndex.forEachAdjacent(position, adjacent::add);
+        return adjacent;
     }
 
     public boolean canAttack(Unit attacker, Unit target) {
@@ -244,6 +439,9 @@ public class Game {
     }
 
     public boolean isValidMove(Unit unit, Position target) {
+        if (!battlefield.isInBounds(target)) {
+            return false;
+        }
         return unit.getMovementStrategy().canMoveTo(this, unit.getPosition(), target, unit.getMovement());
     }
 
@@ -269,19 +467,7 @@ public class Game {
 
     private Faction getNextFaction() {
         // Simple round-robin
-        Faction[] allFactions = units.stream()
-                .filter(Unit::isAlive)
-                .map(Unit::getFaction)
-                .distinct()
-                .toArray(Faction[]::new);
-
-        for (int i = 0; i < allFactions.length; i++) {
-            if (allFactions[i] == activeFaction) {
-                return allFactions[(i + 1) % allFactions.length];
-            }
-        }
-
-        return allFactions[0];
+        return factionRegistry.nextAliveFaction(activeFaction);
     }
 
     /**
@@ -292,8 +478,7 @@ public class Game {
      * @return true if this is the first faction in turn order
      */
     private boolean isFirstFaction(Faction faction) {
-        List<Faction> aliveFactions = getAliveFactions();
-        return !aliveFactions.isEmpty() && aliveFactions.get(0).equals(faction);
+        return faction == factionRegistry.firstAliveFaction();
     }
 
     public void nextTurn() {
@@ -311,12 +496,9 @@ public class Game {
             }
 
             Terrain terrain = battlefield.getTerrainAt(unit.getPosition());
-            TerrainVisitor visitor =
-                TerrainVisitorFactory.getVisitor(terrain);
-            TerrainEffectResult effect = unit.accept(visitor);
+            int hpChange = TerrainEffectTable.hpPerTurn(terrain, unit.getFaction());
 
-            if (effect.hasPerTurnEffect()) {
-                int hpChange = effect.hpPerTurn();
+            if (hpChange != 0) {
                 if (hpChange > 0) {
                     unit.heal(hpChange);
                 } else {
@@ -326,19 +508,6 @@ public class Game {
         }
     }
 
-    /**
-     * Get list of all factions that have alive units, in consistent order.
-     *
-     * @return List of alive factions (ordered consistently)
-     */
-    private List<Faction> getAliveFactions() {
-        return units.stream()
-                .filter(Unit::isAlive)
-                .map(Unit::getFaction)
-                .distinct()
-                .sorted()
-                .toList();
-    }
 
     private void resetCurrentFactionUnits() {
         getUnitsOfFaction(activeFaction).forEach(Unit::resetTurn);
@@ -358,9 +527,7 @@ public class Game {
     }
 
     private Faction findRemainingFaction() {
-        return getAliveFactions().stream()
-                .findFirst()
-                .orElse(null);
+        return factionRegistry.firstAliveFaction();
     }
 
     private static final GameRenderer RENDERER = new ConsoleGameRenderer();
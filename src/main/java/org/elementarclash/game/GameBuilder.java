@@ -2,8 +2,12 @@ package org.elementarclash.game;
 
 import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.combat.DamageCalculator;
+import org.elementarclash.game.combat.handler.DamageHandler;
 import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
+import org.elementarclash.units.bonus.SynergyRule;
+import org.elementarclash.util.GameRandom;
 import org.elementarclash.util.Position;
 
 import java.util.*;
@@ -14,9 +18,12 @@ import java.util.stream.Collectors;
  * Supports custom terrain, fair spawn positions, and validation.
  * <p>
  * Design Pattern: Builder (GoF #2)
- * Why: Game creation is complex with 100 cells terrain distribution,
+ * Why: Game creation is complex with terrain distribution over the whole grid,
  * spawn positions for 2-4 factions, and unit placement.
  * <p>
+ * Map size defaults to 10x10; withDimensions() enables large stress-test maps.
+ * Spawn zones sit in the map corners and grow with the number of units per faction.
+ * <p>
  * Usage:
  * <pre>
  * Game game = new GameBuilder()
@@ -34,22 +41,18 @@ public class GameBuilder {
 
     private static final int MIN_FACTIONS = 2;
     private static final int MAX_FACTIONS = 4;
-    private static final int SPAWN_REGION_SIZE = 3;
-    private static final int TOP_LEFT_X = 0;
-    private static final int TOP_LEFT_Y = 0;
-    private static final int TOP_RIGHT_X = 7;
-    private static final int TOP_RIGHT_Y = 0;
-    private static final int BOTTOM_LEFT_X = 0;
-    private static final int BOTTOM_LEFT_Y = 7;
-    private static final int BOTTOM_RIGHT_X = 7;
-    private static final int BOTTOM_RIGHT_Y = 7;
+    private static final int MIN_SPAWN_REGION_SIZE = 3;
     private static final int FIRST_FACTION_INDEX = 0;
-    private static final int MAX_COORDINATE = 9;
 
     private final Set<Faction> factions = new LinkedHashSet<>();
     private final List<UnitPlacement> unitPlacements = new ArrayList<>();
+    private final Map<Faction, SynergyRule> synergyRules = new EnumMap<>(Faction.class);
     private Map<Terrain, Integer> customTerrainDistribution = null;
+    private List<DamageHandler> damageHandlers = null;
     private Long randomSeed = null;
+    private GameRandom randomSource = null;
+    private int width = Battlefield.DEFAULT_GRID_SIZE;
+    private int height = Battlefield.DEFAULT_GRID_SIZE;
 
     public GameBuilder withCustomTerrain(Map<Terrain, Integer> distribution) {
         int total = distribution.values().stream().mapToInt(Integer::intValue).sum();
@@ -60,8 +63,50 @@ public class GameBuilder {
         return this;
     }
 
+    /**
+     * Seeds the whole match: terrain, dynamic events, buffs and policy stream.
+     * Replaces a source set by an earlier withRandomSource() call (the last call wins).
+     */
     public GameBuilder withRandomSeed(long seed) {
         this.randomSeed = seed;
+        this.randomSource = null;
+        return this;
+    }
+
+    /**
+     * Uses an existing random source (e.g. a split() handed out by a simulation runner).
+     * Of withRandomSeed() and withRandomSource(), the last call wins.
+     */
+    public GameBuilder withRandomSource(GameRandom randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+        return this;
+    }
+
+    public GameBuilder withDimensions(int width, int height) {
+        if (width < MIN_SPAWN_REGION_SIZE || height < MIN_SPAWN_REGION_SIZE) {
+            throw new IllegalArgumentException("Battlefield must be at least " + MIN_SPAWN_REGION_SIZE + "x"
+                    + MIN_SPAWN_REGION_SIZE + ", got: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    /**
+     * Replaces the faction's default synergy (SynergyRule.defaultFor()), e.g. defensive synergy for Earth.
+     */
+    public GameBuilder withSynergyRule(Faction faction, SynergyRule rule) {
+        this.synergyRules.put(faction, Objects.requireNonNull(rule, "rule"));
+        return this;
+    }
+
+    /**
+     * Replaces the damage handler chain (default: DamageCalculator.defaultHandlers()).
+     * Chains containing custom handlers run through the generic Chain of Responsibility
+     * instead of the compiled fast path. The DamageCalculator rejects an empty chain in build().
+     */
+    public GameBuilder withDamageHandlers(List<DamageHandler> handlers) {
+        this.damageHandlers = List.copyOf(handlers);
         return this;
     }
 
@@ -87,8 +132,12 @@ public class GameBuilder {
     public Game build() {
         validate();
 
-        Battlefield battlefield = createAndInitializeBattlefield();
-        Game game = new Game(battlefield);
+        GameRandom random = createGameRandom();
+        Battlefield battlefield = createAndInitializeBattlefield(random);
+        Game game = damageHandlers == null
+                ? new Game(battlefield, random)
+                : new Game(battlefield, random, new DamageCalculator(damageHandlers, false));
+        synergyRules.forEach(game.getSynergy()::setRule);
 
         placeUnitsOnBattlefield(game);
         setInitialFaction(game);
@@ -96,15 +145,26 @@ public class GameBuilder {
         return game;
     }
 
-    private Battlefield createAndInitializeBattlefield() {
-        Battlefield battlefield = new Battlefield();
+    private Battlefield createAndInitializeBattlefield(GameRandom random) {
+        Battlefield battlefield = new Battlefield(width, height);
         Map<Terrain, Integer> distribution = getTerrainDistribution();
-        battlefield.initializeTerrain(distribution, randomSeed);
+        battlefield.initializeTerrain(distribution, random.terrain());
         return battlefield;
     }
 
+    /**
+     * Per-game random source for terrain, events, buffs and AI.
+     * Never shared between games, so parallel simulations stay isolated and seeded games reproducible.
+     */
+    private GameRandom createGameRandom() {
+        if (randomSource != null) {
+            return randomSource;
+        }
+        return randomSeed != null ? new GameRandom(randomSeed) : new GameRandom();
+    }
+
     private void placeUnitsOnBattlefield(Game game) {
-        Map<Faction, List<Position>> spawnZones = calculateSpawnZones(factions);
+        Map<Faction, List<Position>> spawnZones = calculateSpawnZones(game.getBattlefield(), factions);
 
         for (UnitPlacement placement : unitPlacements) {
             Position spawnPos = findFreeSpawnPosition(game, spawnZones, placement.faction);
@@ -161,21 +221,32 @@ public class GameBuilder {
         return unitsPerFaction.containsKey(faction) && unitsPerFaction.get(faction) > 0;
     }
 
-    private Map<Faction, List<Position>> calculateSpawnZones(Set<Faction> factions) {
+    private Map<Faction, List<Position>> calculateSpawnZones(Battlefield battlefield, Set<Faction> factions) {
         Map<Faction, List<Position>> spawnZones = new EnumMap<>(Faction.class);
         List<Faction> factionList = new ArrayList<>(factions);
-        List<List<Position>> spawnRegions = createSpawnRegions();
+        List<List<Position>> spawnRegions = createSpawnRegions(battlefield, calculateSpawnRegionSize());
 
         assignRegionsToFactions(spawnZones, factionList, spawnRegions);
 
         return spawnZones;
     }
 
-    private List<List<Position>> createSpawnRegions() {
-        return List.of(getSpawnRegion(TOP_LEFT_X, TOP_LEFT_Y),
-                getSpawnRegion(TOP_RIGHT_X, TOP_RIGHT_Y),
-                getSpawnRegion(BOTTOM_LEFT_X, BOTTOM_LEFT_Y),
-                getSpawnRegion(BOTTOM_RIGHT_X, BOTTOM_RIGHT_Y));
+    /**
+     * Square spawn zone big enough for the largest faction (at least 3x3).
+     */
+    private int calculateSpawnRegionSize() {
+        long maxUnits = countUnitsPerFaction().values().stream().mapToLong(Long::longValue).max().orElse(0);
+        int size = Math.max(MIN_SPAWN_REGION_SIZE, (int) Math.ceil(Math.sqrt(maxUnits)));
+        return Math.min(size, Math.min(width, height));
+    }
+
+    private List<List<Position>> createSpawnRegions(Battlefield battlefield, int size) {
+        int right = width - size;
+        int bottom = height - size;
+        return List.of(getSpawnRegion(battlefield, 0, 0, size),
+                getSpawnRegion(battlefield, right, 0, size),
+                getSpawnRegion(battlefield, 0, bottom, size),
+                getSpawnRegion(battlefield, right, bottom, size));
     }
 
     private void assignRegionsToFactions(Map<Faction, List<Position>> spawnZones, List<Faction> factionList, List<List<Position>> spawnRegions) {
@@ -184,14 +255,12 @@ public class GameBuilder {
         }
     }
 
-    private List<Position> getSpawnRegion(int startX, int startY) {
-        List<Position> region = new ArrayList<>();
+    private List<Position> getSpawnRegion(Battlefield battlefield, int startX, int startY, int size) {
+        List<Position> region = new ArrayList<>(size * size);
 
-        for (int dx = 0; dx < SPAWN_REGION_SIZE; dx++) {
-            for (int dy = 0; dy < SPAWN_REGION_SIZE; dy++) {
-                int x = Math.min(MAX_COORDINATE, startX + dx);
-                int y = Math.min(MAX_COORDINATE, startY + dy);
-                region.add(new Position(x, y));
+        for (int dx = 0; dx < size; dx++) {
+            for (int dy = 0; dy < size; dy++) {
+                region.add(battlefield.positionAt(startX + dx, startY + dy));
             }
         }
 
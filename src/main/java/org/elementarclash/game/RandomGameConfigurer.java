@@ -77,7 +77,8 @@ public class RandomGameConfigurer {
 
         GameBuilder builder = new GameBuilder()
                 .withFactions(factions)
-                .withCustomTerrain(terrain);
+                .withCustomTerrain(terrain)
+                .withRandomSeed(random.nextLong());
 
         for (Faction faction : factions) {
             addUnitsForFaction(builder, faction);
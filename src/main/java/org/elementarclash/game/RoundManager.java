@@ -18,6 +18,19 @@ public class RoundManager {
         this.roundNumber = INITIAL_ROUND;
     }
 
+    RoundManager copy() {
+        RoundManager copy = new RoundManager();
+        copy.roundNumber = roundNumber;
+        return copy;
+    }
+
+    /**
+     * Round of an imported state (CompactGameState.applyTo()).
+     */
+    void setRoundNumber(int roundNumber) {
+        this.roundNumber = roundNumber;
+    }
+
     public void startGame() {
         this.roundNumber = STARTING_ROUND;
     }
@@ -0,0 +1,167 @@
+package org.elementarclash.game;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.util.Position;
+
+import java.util.function.Consumer;
+
+/**
+ * Unit occupancy of the battlefield, owned by a Game.
+ * <p>
+ * Two layers, both indexed like the terrain (y * width + x):
+ * - a dense Unit[] occupancy array: "who stands here" is one array load
+ * - a uniform grid of BUCKET_SIZE² buckets with a unit count each: area queries
+ *   skip empty buckets, so they scale with the units nearby, not with the map size
+ * <p>
+ * Only Game writes (addUnit, removeUnit, moveUnitInternal). Queries visit units through a
+ * callback and allocate nothing themselves; units are visited in row-major order of their cells.
+ *
+ * @author mmukex
+ */
+public class SpatialIndex {
+
+    static final int BUCKET_SHIFT = 3;
+    static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
+
+    private final Battlefield battlefield;
+    private final int width;
+    private final Unit[] occupancy;
+    private final int bucketColumns;
+    private final int[] bucketCounts;
+
+    SpatialIndex(Battlefield battlefield) {
+        this.battlefield = battlefield;
+        this.width = battlefield.getWidth();
+        this.occupancy = new Unit[battlefield.getCellCount()];
+        this.bucketColumns = (width + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        int bucketRows = (battlefield.getHeight() + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        this.bucketCounts = new int[bucketColumns * bucketRows];
+    }
+
+    // ---- Point queries ----
+
+    public Unit unitAt(int index) {
+        return occupancy[index];
+    }
+
+    public Unit unitAt(int x, int y) {
+        return battlefield.isInBounds(x, y) ? occupancy[y * width + x] : null;
+    }
+
+    // ---- Neighbour queries ----
+
+    /**
+     * Visits the living units on the four orthogonal neighbours (N, E, S, W).
+     */
+    public void forEachAdjacent(Position position, Consumer<Unit> action) {
+        int index = battlefield.indexOf(position);
+        visitIfAlive(battlefield.neighborIndex(index, 0, -1), action); // North
+        visitIfAlive(battlefield.neighborIndex(index, 1, 0), action);  // East
+        visitIfAlive(battlefield.neighborIndex(index, 0, 1), action);  // South
+        visitIfAlive(battlefield.neighborIndex(index, -1, 0), action); // West
+    }
+
+    /**
+     * @return number of living units of the faction on the four orthogonal neighbours
+     */
+    public int countAdjacent(Position position, Faction faction) {
+        int index = battlefield.indexOf(position);
+        return countIfAlly(battlefield.neighborIndex(index, 0, -1), faction)
+                + countIfAlly(battlefield.neighborIndex(index, 1, 0), faction)
+                + countIfAlly(battlefield.neighborIndex(index, 0, 1), faction)
+                + countIfAlly(battlefield.neighborIndex(index, -1, 0), faction);
+    }
+
+    private void visitIfAlive(int index, Consumer<Unit> action) {
+        if (index >= 0 && occupancy[index] != null && occupancy[index].isAlive()) {
+            action.accept(occupancy[index]);
+        }
+    }
+
+    private int countIfAlly(int index, Faction faction) {
+        if (index < 0) {
+            return 0;
+        }
+        Unit unit = occupancy[index];
+        return unit != null && unit.getFaction() == faction && unit.isAlive() ? 1 : 0;
+    }
+
+    // ---- Area queries ----
+
+    /**
+     * Visits every unit (alive or not) in the square center ± radius, clipped to the map.
+     */
+    public void forEachAround(Position center, int radius, Consumer<Unit> action) {
+        int minX = Math.max(0, center.x() - radius);
+        int minY = Math.max(0, center.y() - radius);
+        int maxX = Math.min(width - 1, center.x() + radius);
+        int maxY = Math.min(battlefield.getHeight() - 1, center.y() + radius);
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        for (int bucketY = minY >> BUCKET_SHIFT; bucketY <= maxY >> BUCKET_SHIFT; bucketY++) {
+            int rowStart = Math.max(minY, bucketY << BUCKET_SHIFT);
+            int rowEnd = Math.min(maxY, (bucketY << BUCKET_SHIFT) + BUCKET_SIZE - 1);
+            for (int y = rowStart; y <= rowEnd; y++) {
+                visitRow(y, minX, maxX, action);
+            }
+        }
+    }
+
+    /**
+     * Visits the living units within Euclidean range of the center (same metric as
+     * Position.isInRange), excluding a unit on the center itself.
+     */
+    public void forEachInRange(Position center, int range, Consumer<Unit> action) {
+        long rangeSquared = (long) range * range;
+        forEachAround(center, range, unit -> {
+            int dx = unit.getPosition().x() - center.x();
+            int dy = unit.getPosition().y() - center.y();
+            if (unit.isAlive() && (dx != 0 || dy != 0) && (long) dx * dx + (long) dy * dy <= rangeSquared) {
+                action.accept(unit);
+            }
+        });
+    }
+
+    /**
+     * Scans one row of the query window bucket by bucket, skipping empty buckets.
+     */
+    private void visitRow(int y, int minX, int maxX, Consumer<Unit> action) {
+        int bucketRow = (y >> BUCKET_SHIFT) * bucketColumns;
+        int x = minX;
+        while (x <= maxX) {
+            int bucketEnd = Math.min(maxX, ((x >> BUCKET_SHIFT) << BUCKET_SHIFT) + BUCKET_SIZE - 1);
+            if (bucketCounts[bucketRow + (x >> BUCKET_SHIFT)] > 0) {
+                for (int index = y * width + x; x <= bucketEnd; x++, index++) {
+                    if (occupancy[index] != null) {
+                        action.accept(occupancy[index]);
+                    }
+                }
+            }
+            x = bucketEnd + 1;
+        }
+    }
+
+    // ---- Updates (Game only) ----
+
+    void place(Unit unit, int index) {
+        if (occupancy[index] == null) {
+            bucketCounts[bucketOf(index)]++;
+        }
+        occupancy[index] = unit;
+    }
+
+    void clear(int index) {
+        if (occupancy[index] != null) {
+            bucketCounts[bucketOf(index)]--;
+            occupancy[index] = null;
+        }
+    }
+
+    private int bucketOf(int index) {
+        return ((index / width) >> BUCKET_SHIFT) * bucketColumns + ((index % width) >> BUCKET_SHIFT);
+    }
+}
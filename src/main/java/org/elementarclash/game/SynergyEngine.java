@@ -0,0 +1,136 @@
+package org.elementarclash.game;
+
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.bonus.SynergyBonus;
+import org.elementarclash.units.bonus.SynergyRule;
+import org.elementarclash.util.Position;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adjacent-ally counts and synergy bonuses of all units, owned by a Game.
+ * <p>
+ * Every unit gets one SynergyBonus decorator when it is added. Counts are maintained
+ * incrementally: when a living unit arrives at a cell (placed, moved, resurrected) it counts
+ * its allies once and each of them gains one; when it leaves a cell (moved, died, removed)
+ * each ally around the old cell loses one. Only the old and new neighbourhoods are touched,
+ * and only units whose bonus actually changed get their cached stats invalidated.
+ * <p>
+ * Only Game writes (addUnit, removeUnit, moveUnitInternal, alive/dead transitions), so
+ * deaths from terrain or events are covered as well as combat.
+ *
+ * @author mmukex
+ */
+public class SynergyEngine {
+
+    private final SpatialIndex spatialIndex;
+    private final Map<Faction, SynergyRule> rules = new EnumMap<>(Faction.class);
+    private final Map<Unit, SynergyBonus> bonuses = new HashMap<>();
+
+    SynergyEngine(SpatialIndex spatialIndex) {
+        this.spatialIndex = spatialIndex;
+        for (Faction faction : Faction.values()) {
+            rules.put(faction, SynergyRule.defaultFor(faction));
+        }
+    }
+
+    public SynergyRule getRule(Faction faction) {
+        return rules.get(faction);
+    }
+
+    /**
+     * @return synergy decorator of the unit, null if it is not in the game
+     */
+    public SynergyBonus bonusOf(Unit unit) {
+        return bonuses.get(unit);
+    }
+
+    /**
+     * @return number of living allies on the four orthogonal neighbours (0 for dead units)
+     */
+    public int getAdjacentAllies(Unit unit) {
+        SynergyBonus bonus = bonuses.get(unit);
+        return bonus == null || !unit.isAlive() ? 0 : bonus.getAdjacentAllies();
+    }
+
+    // ---- Updates (GameBuilder / Game only) ----
+
+    /**
+     * Must be set before units of the faction are added.
+     */
+    void setRule(Faction faction, SynergyRule rule) {
+        rules.put(faction, rule);
+    }
+
+    void copyRulesFrom(SynergyEngine source) {
+        rules.putAll(source.rules);
+    }
+
+    /**
+     * Unit was added to the game and placed on the spatial index.
+     */
+    void attach(Unit unit) {
+        SynergyBonus bonus = new SynergyBonus(rules.get(unit.getFaction()));
+        bonuses.put(unit, bonus);
+        unit.addDecorator(bonus);
+        if (unit.isAlive()) {
+            arrived(unit);
+        }
+    }
+
+    /**
+     * Unit was removed from the game (already cleared from the spatial index).
+     */
+    void detach(Unit unit, Position position) {
+        SynergyBonus bonus = bonuses.remove(unit);
+        if (bonus == null) {
+            return;
+        }
+        unit.removeDecoratorsOfType(SynergyBonus.class);
+        if (unit.isAlive() && position != null) {
+            left(unit, position);
+        }
+    }
+
+    /**
+     * A living unit now stands on its current position (placed, moved there or resurrected).
+     */
+    void arrived(Unit unit) {
+        Faction faction = unit.getFaction();
+        update(unit, spatialIndex.countAdjacent(unit.getPosition(), faction));
+        spatialIndex.forEachAdjacent(unit.getPosition(), neighbour -> {
+            if (neighbour.getFaction() == faction) {
+                adjust(neighbour, 1);
+            }
+        });
+    }
+
+    /**
+     * A living unit no longer counts at the position (moved away, died or removed).
+     */
+    void left(Unit unit, Position position) {
+        Faction faction = unit.getFaction();
+        spatialIndex.forEachAdjacent(position, neighbour -> {
+            if (neighbour != unit && neighbour.getFaction() == faction) {
+                adjust(neighbour, -1);
+            }
+        });
+    }
+
+    private void adjust(Unit unit, int delta) {
+        SynergyBonus bonus = bonuses.get(unit);
+        if (bonus != null) {
+            update(unit, bonus.getAdjacentAllies() + delta);
+        }
+    }
+
+    private void update(Unit unit, int adjacentAllies) {
+        SynergyBonus bonus = bonuses.get(unit);
+        if (bonus != null && bonus.setAdjacentAllies(adjacentAllies)) {
+            unit.invalidateStats();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.elementarclash.game.combat;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.combat.handler.*;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+
+import java.util.List;
+
+/**
+ * Straight-line equivalent of a handler chain made only of the built-in handlers.
+ * <p>
+ * compile() accepts chains of the form Base → {Faction, Terrain, Synergy} → Defense, where each
+ * middle handler appears at most once and in any order (the multiplier only touches the base
+ * damage, terrain and synergy are plain additions, so their order does not change the result).
+ * Anything else (custom or subclassed handlers, other orders, duplicates) yields null and
+ * DamageCalculator keeps using the generic chain.
+ * <p>
+ * Results equal DamageContext.getFinalDamage() of the chain it was compiled from.
+ *
+ * @author mmukex
+ */
+final class CompiledDamageFunction {
+
+    private final boolean factionAdvantage;
+    private final boolean terrain;
+    private final boolean synergy;
+
+    private CompiledDamageFunction(boolean factionAdvantage, boolean terrain, boolean synergy) {
+        this.factionAdvantage = factionAdvantage;
+        this.terrain = terrain;
+        this.synergy = synergy;
+    }
+
+    /**
+     * @return compiled function, or null if the chain needs the generic path
+     */
+    static CompiledDamageFunction compile(List<DamageHandler> handlers) {
+        int last = handlers.size() - 1;
+        if (last < 1
+                || handlers.get(0).getClass() != BaseDamageHandler.class
+                || handlers.get(last).getClass() != DefenseCalculationHandler.class) {
+            return null;
+        }
+
+        boolean factionAdvantage = false;
+        boolean terrain = false;
+        boolean synergy = false;
+        for (DamageHandler handler : handlers.subList(1, last)) {
+            Class<?> type = handler.getClass();
+            if (type == FactionAdvantageHandler.class && !factionAdvantage) {
+                factionAdvantage = true;
+            } else if (type == TerrainEffectHandler.class && !terrain) {
+                terrain = true;
+            } else if (type == SynergyBonusHandler.class && !synergy) {
+                synergy = true;
+            } else {
+                return null;
+            }
+        }
+        return new CompiledDamageFunction(factionAdvantage, terrain, synergy);
+    }
+
+    int finalDamage(Unit attacker, Unit target, Game game) {
+        return finalDamage(attacker, target, attackBonus(attacker, game), target.getDefense());
+    }
+
+    /**
+     * Attack side without base damage (terrain + decorator bonuses); depends on the attacker only.
+     */
+    int attackBonus(Unit attacker, Game game) {
+        int bonus = 0;
+        if (terrain) {
+            bonus += TerrainEffectHandler.attackBonusOf(game, attacker);
+        }
+        if (synergy) {
+            bonus += attacker.getAttack() - attacker.getBaseStats().attack();
+        }
+        return bonus;
+    }
+
+    /**
+     * @param attackBonus attackBonus(attacker, game)
+     * @param defense     target.getDefense()
+     */
+    int finalDamage(Unit attacker, Unit target, int attackBonus, int defense) {
+        int baseDamage = attacker.getAttackStrategy().calculateBaseDamage(attacker, target);
+        return finalDamage(baseDamage, attacker.getFaction(), target.getFaction(), attackBonus, defense);
+    }
+
+    /**
+     * Same as finalDamage(attacker, target, game) from primitive inputs (no Unit objects).
+     *
+     * @param terrainAttackBonus   terrain attack bonus of the attacker's cell
+     * @param decoratorAttackBonus attacker's effective attack minus its base attack
+     */
+    int finalDamage(int baseDamage, Faction attackerFaction, Faction targetFaction,
+                    int terrainAttackBonus, int decoratorAttackBonus, int defense) {
+        int attackBonus = (terrain ? terrainAttackBonus : 0) + (synergy ? decoratorAttackBonus : 0);
+        return finalDamage(baseDamage, attackerFaction, targetFaction, attackBonus, defense);
+    }
+
+    private int finalDamage(int baseDamage, Faction attackerFaction, Faction targetFaction,
+                            int attackBonus, int defense) {
+        if (factionAdvantage) {
+            double multiplier = FactionAdvantageTable.multiplier(attackerFaction, targetFaction);
+            if (multiplier != 1.0) {
+                baseDamage = (int) Math.round(baseDamage * multiplier);
+            }
+        }
+        return Math.max(1, baseDamage + attackBonus - defense);
+    }
+}
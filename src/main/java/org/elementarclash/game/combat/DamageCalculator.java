@@ -2,32 +2,153 @@ package org.elementarclash.game.combat;
 
 import org.elementarclash.game.Game;
 import org.elementarclash.game.combat.handler.*;
+import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
 
+import java.util.List;
+
 /**
  * Calculates combat damage using Chain of Responsibility Pattern.
  * <p>
- * Chain: Base → Faction → Terrain → Synergy → Defense
+ * Chain: Base → Faction → Terrain → Synergy → Defense (default; a custom handler list
+ * can be configured via GameBuilder.withDamageHandlers())
  * <p>
  * Integration Points:
  * - @mmukex Strategy Pattern: BaseDamageHandler uses AttackStrategy
  * - @mmukex Visitor Pattern: TerrainEffectHandler uses TerrainVisitorFactory
  * - @crstmkt Decorator Pattern: SynergyBonusHandler uses Unit decorators (Week 4)
+ * <p>
+ * Each Game owns one calculator (Game.getDamageCalculator()), so it is confined to the thread
+ * running that game. The handlers are stateless; the default chain is built once and shared.
+ * The DamageContext is reset and reused for every attack. With tracing off (default) no step
+ * descriptions are built while calculating; DamageResult.calculationSteps() derives them from
+ * the stage values when asked.
+ * <p>
+ * Fast path: if the chain consists only of built-in handlers it is also compiled into a
+ * straight-line CompiledDamageFunction. calculateTotalDamage() and calculateMatrix() use it
+ * and fall back to the chain otherwise; calculateDamage() always runs the chain for the breakdown.
+ * <p>
+ * Optional memo (enableMemo): calculateDamage() answers repeated matchups from a bounded LRU
+ * DamageMemo keyed on the combat-relevant state. Only available for built-in chains, since a
+ * custom handler may read state the fingerprint does not cover.
+ * <p>
+ * Batch mode (calculateMatrix) answers "how much would each of these units deal to each of
+ * those" for AI scoring: terrain effects and the attack side are resolved once per unit, faction
+ * multipliers come from FactionAdvantageTable, and no DamageResult is created.
  *
  * @author crstmkt (refactored for Chain of Responsibility)
  */
 public class DamageCalculator {
 
+    // Build the default chain once (order matters!)
+    private static final List<DamageHandler> DEFAULT_HANDLERS = defaultHandlers();
+    private static final DamageHandler DEFAULT_CHAIN = link(DEFAULT_HANDLERS);
+    private static final CompiledDamageFunction DEFAULT_COMPILED = CompiledDamageFunction.compile(DEFAULT_HANDLERS);
+
     private final DamageHandler handlerChain;
+    private final CompiledDamageFunction compiled;
+    private final DamageContext context;
+    private DamageMemo memo;
+    // Batch scratch space, grown on demand
+    private int[] attackBonuses = new int[0];
+    private int[] defenses = new int[0];
 
     public DamageCalculator() {
-        // Build the chain (order matters!)
-        this.handlerChain = new BaseDamageHandler();
-        handlerChain
-                .setNext(new FactionAdvantageHandler())
-                .setNext(new TerrainEffectHandler())      // Integration with @mmukex Visitor!
-                .setNext(new SynergyBonusHandler())       // Integration with @crstmkt Decorator
-                .setNext(new DefenseCalculationHandler());
+        this(false);
+    }
+
+    /**
+     * @param trace record every step description eagerly (debugging custom handlers)
+     */
+    public DamageCalculator(boolean trace) {
+        this.handlerChain = DEFAULT_CHAIN;
+        this.compiled = DEFAULT_COMPILED;
+        this.context = new DamageContext(trace);
+    }
+
+    /**
+     * Calculator running the given handlers in order. The handlers get linked to each other,
+     * so they must not be part of another chain.
+     *
+     * @param handlers chain in order, e.g. defaultHandlers() with a custom handler inserted
+     * @param trace    record every step description eagerly
+     */
+    public DamageCalculator(List<DamageHandler> handlers, boolean trace) {
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("Damage handler chain must not be empty");
+        }
+        this.handlerChain = link(handlers);
+        this.compiled = CompiledDamageFunction.compile(handlers);
+        this.context = new DamageContext(trace);
+    }
+
+    /**
+     * Same chain (handlers are stateless and shared), fresh context and, if enabled, an empty memo
+     * of the same capacity. Used for forked games, which may run on another thread.
+     */
+    public DamageCalculator copy() {
+        DamageCalculator copy = new DamageCalculator(handlerChain, compiled, context.isTrace());
+        if (memo != null) {
+            copy.memo = new DamageMemo(memo.getCapacity());
+        }
+        return copy;
+    }
+
+    private DamageCalculator(DamageHandler handlerChain, CompiledDamageFunction compiled, boolean trace) {
+        this.handlerChain = handlerChain;
+        this.compiled = compiled;
+        this.context = new DamageContext(trace);
+    }
+
+    /**
+     * New instances of the built-in handlers in default order.
+     */
+    public static List<DamageHandler> defaultHandlers() {
+        return List.of(
+                new BaseDamageHandler(),
+                new FactionAdvantageHandler(),
+                new TerrainEffectHandler(),      // Integration with @mmukex Visitor!
+                new SynergyBonusHandler(),       // Integration with @crstmkt Decorator
+                new DefenseCalculationHandler()
+        );
+    }
+
+    private static DamageHandler link(List<DamageHandler> handlers) {
+        DamageHandler current = handlers.get(0);
+        for (DamageHandler next : handlers.subList(1, handlers.size())) {
+            current = current.setNext(next);
+        }
+        return handlers.get(0);
+    }
+
+    /**
+     * @return whether calculateTotalDamage() and calculateMatrix() run the compiled fast path
+     */
+    public boolean isCompiled() {
+        return compiled != null;
+    }
+
+    /**
+     * Put a memo of the given size in front of calculateDamage() (replacing an existing one).
+     *
+     * @throws IllegalStateException if the chain contains custom handlers
+     */
+    public void enableMemo(int capacity) {
+        if (compiled == null) {
+            throw new IllegalStateException("Damage memo requires a chain of built-in handlers");
+        }
+        this.memo = new DamageMemo(capacity);
+    }
+
+    public void disableMemo() {
+        this.memo = null;
+    }
+
+    /**
+     * @return active memo (hit/miss counters), or null if disabled
+     */
+    public DamageMemo getMemo() {
+        return memo;
     }
 
     /**
@@ -39,10 +160,104 @@ public class DamageCalculator {
      * @return detailed damage result
      */
     public DamageResult calculateDamage(Unit attacker, Unit target, Game game) {
-        DamageContext context = new DamageContext(attacker, target, game);
+        long key = memo != null ? DamageMemo.fingerprint(attacker, target, game) : DamageMemo.UNCACHEABLE;
+        if (key != DamageMemo.UNCACHEABLE) {
+            DamageResult cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        runChain(attacker, target, game);
+        DamageResult result = context.toResult();
+
+        if (key != DamageMemo.UNCACHEABLE) {
+            memo.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Final damage only, same value as calculateDamage(...).totalDamage() without creating a result.
+     */
+    public int calculateTotalDamage(Unit attacker, Unit target, Game game) {
+        if (compiled != null) {
+            return compiled.finalDamage(attacker, target, game);
+        }
+        runChain(attacker, target, game);
+        return context.getFinalDamage();
+    }
+
+    /**
+     * Final damage from primitive inputs, for state models without Unit objects
+     * (CompactGameState). Equals calculateTotalDamage(attacker, target, game) for units with
+     * these values (base damage = base attack, as with every built-in attack strategy).
+     *
+     * @param terrainAttackBonus   terrain attack bonus of the attacker's cell
+     * @param decoratorAttackBonus attacker's effective attack minus its base attack
+     * @param targetDefense        target's effective defense
+     * @throws IllegalStateException if the chain contains custom handlers
+     */
+    public int calculateTotalDamage(int baseAttack, Faction attackerFaction, Faction targetFaction,
+                                    int terrainAttackBonus, int decoratorAttackBonus, int targetDefense) {
+        if (compiled == null) {
+            throw new IllegalStateException("Primitive damage evaluation requires a chain of built-in handlers");
+        }
+        return compiled.finalDamage(baseAttack, attackerFaction, targetFaction,
+                terrainAttackBonus, decoratorAttackBonus, targetDefense);
+    }
+
+    private void runChain(Unit attacker, Unit target, Game game) {
+        context.reset(attacker, target, game);
 
         handlerChain.handle(context);
+    }
+
+    /**
+     * Fill the matrix with the damage every attacker would deal to every target,
+     * identical to calculateDamage(attacker, target, game).totalDamage() per pair.
+     * Does not check range, faction or whether the units are alive.
+     *
+     * @param out matrix to fill (resized to attackers.size() × targets.size())
+     */
+    public void calculateMatrix(List<Unit> attackers, List<Unit> targets, Game game, DamageMatrix out) {
+        int attackerCount = attackers.size();
+        int targetCount = targets.size();
+        out.resize(attackerCount, targetCount);
+
+        if (compiled == null) {
+            for (int a = 0; a < attackerCount; a++) {
+                for (int t = 0; t < targetCount; t++) {
+                    out.set(a, t, calculateTotalDamage(attackers.get(a), targets.get(t), game));
+                }
+            }
+            return;
+        }
+
+        ensureScratch(attackerCount, targetCount);
+        // Attack side without base damage: terrain (Visitor) + decorator bonuses (Decorator)
+        for (int a = 0; a < attackerCount; a++) {
+            attackBonuses[a] = compiled.attackBonus(attackers.get(a), game);
+        }
+        // Defense side: decorators already include terrain and synergies
+        for (int t = 0; t < targetCount; t++) {
+            defenses[t] = targets.get(t).getDefense();
+        }
+
+        for (int a = 0; a < attackerCount; a++) {
+            Unit attacker = attackers.get(a);
+            for (int t = 0; t < targetCount; t++) {
+                out.set(a, t, compiled.finalDamage(attacker, targets.get(t), attackBonuses[a], defenses[t]));
+            }
+        }
+    }
 
-        return context.toResult();
+    private void ensureScratch(int attackerCount, int targetCount) {
+        if (attackBonuses.length < attackerCount) {
+            attackBonuses = new int[attackerCount];
+        }
+        if (defenses.length < targetCount) {
+            defenses = new int[targetCount];
+        }
     }
-}
\ No newline at end of file
+}
@@ -10,18 +10,23 @@ import java.util.List;
 /**
  * Shared context for Chain of Responsibility damage calculation.
  * Handlers read from and write to this context.
+ * <p>
+ * Reusable: DamageCalculator resets one context per attack instead of allocating a new one.
+ * Step descriptions are only recorded in trace mode; otherwise DamageResult derives them on demand.
  *
  * @author crstmkt
  */
 @Getter
-public class DamageContext {
+public final class DamageContext {
 
-    private final Unit attacker;
-    private final Unit target;
-    private final Game game;
+    private Unit attacker;
+    private Unit target;
+    private Game game;
     // Logging/debugging
+    private final boolean trace;
     private final List<String> calculationSteps = new ArrayList<>();
     // Damage calculation stages
+    private int rawBaseDamage = 0;
     private int baseDamage = 0;
     private double factionMultiplier = 1.0;
     private int terrainAttackBonus = 0;
@@ -31,48 +36,89 @@ public class DamageContext {
     private int finalDamage = 0;
 
     public DamageContext(Unit attacker, Unit target, Game game) {
+        this(true);
+        reset(attacker, target, game);
+    }
+
+    /**
+     * Empty context for reuse via reset().
+     *
+     * @param trace record step descriptions while calculating
+     */
+    public DamageContext(boolean trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Prepare for the next calculation (all stages back to their initial values).
+     */
+    public void reset(Unit attacker, Unit target, Game game) {
         this.attacker = attacker;
         this.target = target;
         this.game = game;
+        this.rawBaseDamage = 0;
+        this.baseDamage = 0;
+        this.factionMultiplier = 1.0;
+        this.terrainAttackBonus = 0;
+        this.terrainDefenseBonus = 0;
+        this.synergyBonus = 0;
+        this.totalDefense = 0;
+        this.finalDamage = 0;
+        calculationSteps.clear();
     }
 
     // ===== SETTERS (für Handlers) =====
 
     public void setBaseDamage(int baseDamage) {
+        this.rawBaseDamage = baseDamage;
         this.baseDamage = baseDamage;
-        logStep("Base Damage: " + baseDamage);
+        if (trace) {
+            logStep("Base Damage: " + baseDamage);
+        }
     }
 
     public void applyFactionMultiplier(double multiplier) {
         this.factionMultiplier = multiplier;
         int oldDamage = baseDamage;
         this.baseDamage = (int) Math.round(baseDamage * multiplier);
-        logStep("Faction Advantage: ×" + multiplier + " (" + oldDamage + " → " + baseDamage + ")");
+        if (trace) {
+            logStep("Faction Advantage: ×" + multiplier + " (" + oldDamage + " → " + baseDamage + ")");
+        }
     }
 
     public void addTerrainAttackBonus(int bonus) {
         this.terrainAttackBonus += bonus;
-        logStep("Terrain Attack Bonus: +" + bonus);
+        if (trace) {
+            logStep("Terrain Attack Bonus: +" + bonus);
+        }
     }
 
     public void addTerrainDefenseBonus(int bonus) {
         this.terrainDefenseBonus += bonus;
-        logStep("Terrain Defense Bonus: +" + bonus);
+        if (trace) {
+            logStep("Terrain Defense Bonus: +" + bonus);
+        }
     }
 
     public void addSynergyBonus(int bonus) {
         this.synergyBonus += bonus;
-        logStep("Synergy Bonus: +" + bonus);
+        if (trace) {
+            logStep("Synergy Bonus: +" + bonus);
+        }
     }
 
     public void setTotalDefense(int defense) {
         this.totalDefense = defense;
-        logStep("Total Defense: " + defense);
+        if (trace) {
+            logStep("Total Defense: " + defense);
+        }
     }
 
     public void setFinalDamage(int damage) {
         this.finalDamage = damage;
-        logStep("Final Damage: " + damage);
+        if (trace) {
+            logStep("Final Damage: " + damage);
+        }
     }
 
     // ===== CALCULATION HELPERS =====
@@ -86,17 +132,19 @@ public class DamageContext {
 
     /**
      * Convert to DamageResult for consumption.
+     * Without trace the result carries no step list and describes itself on demand.
      */
     public DamageResult toResult() {
         return new DamageResult(
                 finalDamage,
+                rawBaseDamage,
                 baseDamage,
                 factionMultiplier,
                 terrainAttackBonus,
                 terrainDefenseBonus,
                 synergyBonus,
                 totalDefense,
-                new ArrayList<>(calculationSteps)
+                trace ? List.copyOf(calculationSteps) : null
         );
     }
 
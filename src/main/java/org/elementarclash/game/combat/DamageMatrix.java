@@ -0,0 +1,64 @@
+package org.elementarclash.game.combat;
+
+/**
+ * Primitive attackers × targets damage table, filled by DamageCalculator.calculateMatrix().
+ * <p>
+ * Row i belongs to the i-th attacker, column j to the j-th target of the lists passed in.
+ * The backing array only grows, so one matrix can be reused for every evaluation.
+ *
+ * @author mmukex
+ */
+public final class DamageMatrix {
+
+    private int attackerCount;
+    private int targetCount;
+    private int[] damage = new int[0];
+
+    public int getAttackerCount() {
+        return attackerCount;
+    }
+
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * @return damage the attacker in row {@code attacker} would deal to the target in column {@code target}
+     */
+    public int get(int attacker, int target) {
+        if (attacker < 0 || attacker >= attackerCount || target < 0 || target >= targetCount) {
+            throw new IndexOutOfBoundsException("(" + attacker + ", " + target + ") outside "
+                    + attackerCount + "x" + targetCount);
+        }
+        return damage[attacker * targetCount + target];
+    }
+
+    /**
+     * @return column of the highest damage in the row (first one on ties), -1 if there are no targets
+     */
+    public int bestTarget(int attacker) {
+        int best = -1;
+        int bestDamage = Integer.MIN_VALUE;
+        for (int target = 0; target < targetCount; target++) {
+            int value = get(attacker, target);
+            if (value > bestDamage) {
+                bestDamage = value;
+                best = target;
+            }
+        }
+        return best;
+    }
+
+    void resize(int attackerCount, int targetCount) {
+        int cells = attackerCount * targetCount;
+        if (damage.length < cells) {
+            damage = new int[cells];
+        }
+        this.attackerCount = attackerCount;
+        this.targetCount = targetCount;
+    }
+
+    void set(int attacker, int target, int value) {
+        damage[attacker * targetCount + target] = value;
+    }
+}
@@ -0,0 +1,234 @@
+package org.elementarclash.game.combat;
+
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.units.Unit;
+
+import java.util.Arrays;
+
+/**
+ * Bounded LRU cache of damage results, keyed on a packed fingerprint of everything the
+ * built-in handler chain reads (see fingerprint()). Enabled per calculator via
+ * DamageCalculator.enableMemo(); intended for AI search, where the same matchups repeat.
+ * <p>
+ * Keys are values, not units, so entries never go stale: a unit that gets buffed or
+ * moves simply produces a different key. Units of the same type share stats and
+ * strategies (UnitFactory), which is what makes the unit type a valid stand-in for them.
+ * <p>
+ * Storage is primitive: an open-addressing table of entry indices (linear probing with
+ * backward-shift deletion) plus an intrusive doubly linked list over the entries for the
+ * LRU order. Lookups and insertions allocate nothing.
+ *
+ * @author mmukex
+ */
+public final class DamageMemo {
+
+    /**
+     * Returned by fingerprint() for matchups that cannot be packed (not cached).
+     */
+    public static final long UNCACHEABLE = -1L;
+
+    private static final int FREE = -1;
+
+    private final int capacity;
+    private final int mask;
+    private final int[] table;
+    private final long[] keys;
+    private final DamageResult[] values;
+    private final int[] newer;
+    private final int[] older;
+    private int newest = FREE;
+    private int oldest = FREE;
+    private int size;
+    private long hits;
+    private long misses;
+
+    public DamageMemo(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Memo capacity must be positive, got: " + capacity);
+        }
+        this.capacity = capacity;
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+        this.mask = tableSize - 1;
+        this.table = new int[tableSize];
+        Arrays.fill(table, FREE);
+        this.keys = new long[capacity];
+        this.values = new DamageResult[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+    }
+
+    /**
+     * Packs the combat-relevant state of a matchup into a non-negative long:
+     * unit types, factions, terrains under both units, base and effective attack of
+     * the attacker and effective defense of the target.
+     *
+     * @return fingerprint, or UNCACHEABLE if a value does not fit
+     */
+    public static long fingerprint(Unit attacker, Unit target, Game game) {
+        if (attacker.getType() == null || target.getType() == null) {
+            return UNCACHEABLE;
+        }
+        int baseAttack = attacker.getBaseStats().attack();
+        int attack = attacker.getAttack() + 512;
+        int defense = target.getDefense() + 512;
+        if (baseAttack < 0 || baseAttack >= 512 || attack < 0 || attack >= 1024 || defense < 0 || defense >= 1024) {
+            return UNCACHEABLE;
+        }
+        Terrain attackerTerrain = game.getTerrainAt(attacker.getPosition());
+        Terrain targetTerrain = game.getTerrainAt(target.getPosition());
+
+        long key = attacker.getType().ordinal();              // 4 bits
+        key = key << 4 | target.getType().ordinal();          // 4 bits
+        key = key << 2 | attacker.getFaction().ordinal();     // 2 bits
+        key = key << 2 | target.getFaction().ordinal();       // 2 bits
+        key = key << 3 | attackerTerrain.ordinal();           // 3 bits
+        key = key << 3 | targetTerrain.ordinal();             // 3 bits
+        key = key << 9 | baseAttack;                          // 9 bits
+        key = key << 10 | attack;                             // 10 bits
+        key = key << 10 | defense;                            // 10 bits
+        return key;
+    }
+
+    /**
+     * @return cached result (marked as most recently used), or null; counts a hit or miss
+     */
+    public DamageResult get(long key) {
+        int entry = find(key);
+        if (entry == FREE) {
+            misses++;
+            return null;
+        }
+        hits++;
+        moveToNewest(entry);
+        return values[entry];
+    }
+
+    /**
+     * Stores the result, evicting the least recently used entry when full.
+     */
+    public void put(long key, DamageResult result) {
+        int entry = find(key);
+        if (entry != FREE) {
+            values[entry] = result;
+            moveToNewest(entry);
+            return;
+        }
+
+        if (size == capacity) {
+            entry = oldest;
+            removeFromTable(keys[entry]);
+            unlink(entry);
+        } else {
+            entry = size++;
+        }
+        keys[entry] = key;
+        values[entry] = result;
+        insertIntoTable(key, entry);
+        linkAsNewest(entry);
+    }
+
+    public void clear() {
+        Arrays.fill(table, FREE);
+        Arrays.fill(values, null);
+        newest = FREE;
+        oldest = FREE;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // ---- Hash table ----
+
+    private int find(long key) {
+        for (int slot = home(key); table[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[table[slot]] == key) {
+                return table[slot];
+            }
+        }
+        return FREE;
+    }
+
+    private void insertIntoTable(long key, int entry) {
+        int slot = home(key);
+        while (table[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    /**
+     * Removes the key and shifts later entries of the probe run back into the gap.
+     */
+    private void removeFromTable(long key) {
+        int gap = home(key);
+        while (keys[table[gap]] != key) {
+            gap = (gap + 1) & mask;
+        }
+        table[gap] = FREE;
+
+        for (int slot = (gap + 1) & mask; table[slot] != FREE; slot = (slot + 1) & mask) {
+            int home = home(keys[table[slot]]);
+            // Move the entry unless its home lies cyclically within (gap, slot]
+            boolean reachable = gap <= slot ? (home > gap && home <= slot) : (home > gap || home <= slot);
+            if (!reachable) {
+                table[gap] = table[slot];
+                table[slot] = FREE;
+                gap = slot;
+            }
+        }
+    }
+
+    private int home(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // ---- LRU list ----
+
+    private void moveToNewest(int entry) {
+        if (entry != newest) {
+            unlink(entry);
+            linkAsNewest(entry);
+        }
+    }
+
+    private void linkAsNewest(int entry) {
+        older[entry] = newest;
+        newer[entry] = FREE;
+        if (newest != FREE) {
+            newer[newest] = entry;
+        }
+        newest = entry;
+        if (oldest == FREE) {
+            oldest = entry;
+        }
+    }
+
+    private void unlink(int entry) {
+        if (older[entry] != FREE) {
+            newer[older[entry]] = newer[entry];
+        } else {
+            oldest = newer[entry];
+        }
+        if (newer[entry] != FREE) {
+            older[newer[entry]] = older[entry];
+        } else {
+            newest = older[entry];
+        }
+    }
+}
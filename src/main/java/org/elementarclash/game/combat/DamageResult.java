@@ -1,14 +1,21 @@
 package org.elementarclash.game.combat;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Result of damage calculation with detailed breakdown.
+ * <p>
+ * calculationSteps is only filled by a tracing DamageCalculator; otherwise the step
+ * descriptions are built from the stage values when calculationSteps() is called.
  *
+ * @param rawBaseDamage base damage before the faction multiplier
+ * @param baseDamage    base damage after the faction multiplier
  * @author crstmkt (extended for Chain of Responsibility)
  */
 public record DamageResult(
         int totalDamage,
+        int rawBaseDamage,
         int baseDamage,
         double factionMultiplier,
         int terrainAttackBonus,
@@ -17,4 +24,32 @@ public record DamageResult(
         int totalDefense,
         List<String> calculationSteps
 ) {
-}
\ No newline at end of file
+
+    /**
+     * Step descriptions in chain order (recorded or derived).
+     */
+    @Override
+    public List<String> calculationSteps() {
+        return calculationSteps != null ? calculationSteps : describeSteps();
+    }
+
+    private List<String> describeSteps() {
+        List<String> steps = new ArrayList<>();
+        steps.add("Base Damage: " + rawBaseDamage);
+        if (factionMultiplier != 1.0) {
+            steps.add("Faction Advantage: ×" + factionMultiplier + " (" + rawBaseDamage + " → " + baseDamage + ")");
+        }
+        if (terrainAttackBonus != 0) {
+            steps.add("Terrain Attack Bonus: +" + terrainAttackBonus);
+        }
+        if (terrainDefenseBonus != 0) {
+            steps.add("Terrain Defense Bonus: +" + terrainDefenseBonus);
+        }
+        if (synergyBonus != 0) {
+            steps.add("Synergy Bonus: +" + synergyBonus);
+        }
+        steps.add("Total Defense: " + totalDefense);
+        steps.add("Final Damage: " + totalDamage);
+        return steps;
+    }
+}
@@ -0,0 +1,71 @@
+package org.elementarclash.game.combat;
+
+import org.elementarclash.units.Faction;
+
+import java.util.Map;
+
+/**
+ * Faction advantage multipliers as a dense primitive table indexed by
+ * attacker and defender Faction.ordinal().
+ * <p>
+ * Faction Advantages (from README):
+ * - Fire vs Earth: +25% damage
+ * - Fire vs Water: -25% damage
+ * - Water vs Fire: +25% damage
+ * - Water vs Earth: -25% damage
+ * - Earth vs Water: +25% damage
+ * - Earth vs Air: -25% damage
+ * - Air vs Earth: +25% damage
+ * - Air vs Fire: -25% damage
+ * <p>
+ * The rules are written down once as a readable map and compiled into the table at class
+ * load; FactionAdvantageHandler and the batch damage path both read the table.
+ *
+ * @author mmukex
+ */
+public final class FactionAdvantageTable {
+
+    // Faction advantage matrix: (attacker, defender) -> multiplier
+    private static final Map<Faction, Map<Faction, Double>> ADVANTAGE_MATRIX = Map.of(
+            Faction.FIRE, Map.of(
+                    Faction.EARTH, 1.25,  // Fire strong vs Earth
+                    Faction.WATER, 0.75   // Fire weak vs Water
+            ),
+            Faction.WATER, Map.of(
+                    Faction.FIRE, 1.25,   // Water strong vs Fire
+                    Faction.EARTH, 0.75   // Water weak vs Earth
+            ),
+            Faction.EARTH, Map.of(
+                    Faction.WATER, 1.25,  // Earth strong vs Water
+                    Faction.AIR, 0.75     // Earth weak vs Air
+            ),
+            Faction.AIR, Map.of(
+                    Faction.EARTH, 1.25,  // Air strong vs Earth
+                    Faction.FIRE, 0.75    // Air weak vs Fire
+            )
+    );
+
+    private static final Faction[] FACTIONS = Faction.values();
+    private static final double[] MULTIPLIERS = new double[FACTIONS.length * FACTIONS.length];
+
+    static {
+        for (Faction attacker : FACTIONS) {
+            for (Faction defender : FACTIONS) {
+                MULTIPLIERS[attacker.ordinal() * FACTIONS.length + defender.ordinal()] = ADVANTAGE_MATRIX
+                        .getOrDefault(attacker, Map.of())
+                        .getOrDefault(defender, 1.0);
+            }
+        }
+    }
+
+    private FactionAdvantageTable() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @return damage multiplier of the attacker's faction against the defender's (1.0 if neutral)
+     */
+    public static double multiplier(Faction attacker, Faction defender) {
+        return MULTIPLIERS[attacker.ordinal() * FACTIONS.length + defender.ordinal()];
+    }
+}
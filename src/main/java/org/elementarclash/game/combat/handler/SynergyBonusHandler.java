@@ -14,10 +14,8 @@ public class SynergyBonusHandler extends DamageHandler {
     public void handle(DamageContext context) {
         // Note: Terrain bonus is already added by TerrainEffectHandler
         // Only add non-terrain bonuses here (synergies, abilities)
-        int synergyBonus = context.getAttacker().getDecorators().stream()
-                .filter(d -> !d.isExpired())
-                .mapToInt(d -> d.getAttackBonus(context.getAttacker()))
-                .sum();
+        // Sum of all active decorator attack bonuses (cached on the unit)
+        int synergyBonus = context.getAttacker().getAttack() - context.getAttacker().getBaseStats().attack();
 
         if (synergyBonus != 0) {
             context.addSynergyBonus(synergyBonus);
@@ -1,15 +1,15 @@
 package org.elementarclash.game.combat.handler;
 
-import org.elementarclash.battlefield.Terrain;
-import org.elementarclash.battlefield.terraineffect.TerrainEffectResult;
-import org.elementarclash.battlefield.terraineffect.TerrainVisitor;
-import org.elementarclash.battlefield.terraineffect.TerrainVisitorFactory;
+import org.elementarclash.battlefield.terraineffect.TerrainEffectTable;
+import org.elementarclash.game.Game;
 import org.elementarclash.game.combat.DamageContext;
+import org.elementarclash.units.Unit;
 
 /**
  * Apply terrain effects using @mmukex Visitor Pattern.
  * <p>
- * Integration Point: TerrainVisitorFactory from @mmukex Pattern #10
+ * Integration Point: TerrainVisitorFactory from @mmukex Pattern #10,
+ * read through the TerrainEffectTable generated from the visitors.
  *
  * @author @crstmk
  */
@@ -20,24 +20,31 @@ public class TerrainEffectHandler extends DamageHandler {
         // INTEGRATION WITH @mmukex VISITOR PATTERN!
 
         // Attacker terrain effects
-        Terrain attackerTerrain = context.getGame().getTerrainAt(context.getAttacker().getPosition());
-        TerrainVisitor attackerVisitor = TerrainVisitorFactory.getVisitor(attackerTerrain);
-        TerrainEffectResult attackerEffect = context.getAttacker().accept(attackerVisitor);
+        int attackBonus = attackBonusOf(context.getGame(), context.getAttacker());
 
-        if (attackerEffect.attackBonus() != 0) {
-            context.addTerrainAttackBonus(attackerEffect.attackBonus());
+        if (attackBonus != 0) {
+            context.addTerrainAttackBonus(attackBonus);
         }
 
         // Defender terrain effects
-        Terrain defenderTerrain = context.getGame().getTerrainAt(context.getTarget().getPosition());
-        TerrainVisitor defenderVisitor = TerrainVisitorFactory.getVisitor(defenderTerrain);
-        TerrainEffectResult defenderEffect = context.getTarget().accept(defenderVisitor);
+        int defenseBonus = defenseBonusOf(context.getGame(), context.getTarget());
 
-        if (defenderEffect.defenseBonus() != 0) {
-            context.addTerrainDefenseBonus(defenderEffect.defenseBonus());
+        if (defenseBonus != 0) {
+            context.addTerrainDefenseBonus(defenseBonus);
         }
 
         // Pass to next handler
         super.handle(context);
     }
-}
\ No newline at end of file
+
+    /**
+     * Terrain attack bonus of the unit at its current position (also used by DamageCalculator's batch mode).
+     */
+    public static int attackBonusOf(Game game, Unit unit) {
+        return TerrainEffectTable.attackBonus(game.getTerrainAt(unit.getPosition()), unit.getFaction());
+    }
+
+    public static int defenseBonusOf(Game game, Unit unit) {
+        return TerrainEffectTable.defenseBonus(game.getTerrainAt(unit.getPosition()), unit.getFaction());
+    }
+}
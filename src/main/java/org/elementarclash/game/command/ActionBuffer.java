@@ -0,0 +1,102 @@
+package org.elementarclash.game.command;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of actions packed into primitive longs, filled by LegalActionGenerator.
+ * <p>
+ * An action is (kind, actor, cell): the actor is the index of the unit in game.getUnits(),
+ * the cell is the battlefield index of the move destination or of the attacked unit.
+ * Indices refer to the game as it was when the buffer was filled, so actions must be
+ * used (LegalActionGenerator.toCommand()) before the game changes.
+ * <p>
+ * Why: search expands thousands of positions per second; one long per action and a
+ * backing array that only grows keep expansion free of Command objects and garbage.
+ *
+ * @author mmukex
+ */
+public final class ActionBuffer {
+
+    public static final int MOVE = 0;
+    public static final int ATTACK = 1;
+
+    private static final int CELL_BITS = 31;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final int KIND_SHIFT = 62;
+
+    private long[] actions;
+    private int size;
+
+    public ActionBuffer() {
+        this(64);
+    }
+
+    public ActionBuffer(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        this.actions = new long[initialCapacity];
+    }
+
+    public static long move(int actor, int cell) {
+        return pack(MOVE, actor, cell);
+    }
+
+    public static long attack(int actor, int targetCell) {
+        return pack(ATTACK, actor, targetCell);
+    }
+
+    /**
+     * @return MOVE or ATTACK
+     */
+    public static int kind(long action) {
+        return (int) (action >>> KIND_SHIFT);
+    }
+
+    /**
+     * @return index of the acting unit in game.getUnits()
+     */
+    public static int actor(long action) {
+        return (int) (action >>> CELL_BITS & CELL_MASK);
+    }
+
+    /**
+     * @return battlefield index of the destination (MOVE) or of the target (ATTACK)
+     */
+    public static int cell(long action) {
+        return (int) (action & CELL_MASK);
+    }
+
+    private static long pack(int kind, int actor, int cell) {
+        return (long) kind << KIND_SHIFT | (long) actor << CELL_BITS | cell;
+    }
+
+    public void add(long action) {
+        if (size == actions.length) {
+            actions = Arrays.copyOf(actions, size * 2);
+        }
+        actions[size++] = action;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Action " + index + " of " + size);
+        }
+        return actions[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -2,12 +2,12 @@ package org.elementarclash.game.command;
 
 import lombok.Getter;
 import org.elementarclash.game.Game;
-import org.elementarclash.game.combat.DamageCalculator;
 import org.elementarclash.game.combat.DamageResult;
 import org.elementarclash.game.event.UnitAttackedEvent;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.state.DeadState;
 import org.elementarclash.units.state.StunnedState;
+import org.elementarclash.units.state.UnitState;
 
 /**
  * Command for attacking a target unit.
@@ -24,7 +24,7 @@ import org.elementarclash.units.state.StunnedState;
  * 4. Attacker hasn't attacked this turn
  * 5. Attack is valid (delegates to Strategy)
  * <p>
- * Undo: Restores target health, clears attacked flag, resurrects target if needed
+ * Undo: Restores target health, the actor's action count and state, resurrects target if needed
  *
  * @author mmukex
  */
@@ -35,6 +35,7 @@ public class AttackCommand implements Command {
     private final Unit target;
 
     private int targetPreviousHealth;
+    private UnitState actorPreviousState;
     private int damageDealt;
     private boolean targetWasAlive;
     private boolean wasExecuted;
@@ -86,9 +87,9 @@ public class AttackCommand implements Command {
     public void execute(Game game) {
         this.targetPreviousHealth = target.getCurrentHealth();
         this.targetWasAlive = target.isAlive();
+        this.actorPreviousState = actor.getCurrentState();
 
-        DamageCalculator calculator = new DamageCalculator();
-        DamageResult result = calculator.calculateDamage(actor, target, game);
+        DamageResult result = game.getDamageCalculator().calculateDamage(actor, target, game);
 
         this.damageDealt = result.totalDamage();
         target.takeDamage(result.totalDamage());
@@ -116,6 +117,7 @@ public class AttackCommand implements Command {
         }
 
         actor.decrementActionsThisTurn();
+        actor.setState(actorPreviousState);
     }
 
     @Override
@@ -61,7 +61,7 @@ public interface Command {
      * @return ValidationResult indicating if actor exists in game
      */
     default ValidationResult validateActorExists(Game game, Unit actor) {
-        if (!game.getUnits().contains(actor)) {
+        if (!game.containsUnit(actor)) {
             return ValidationResult.failure("Unit not in game");
         }
         return ValidationResult.success();
@@ -90,7 +90,7 @@ public interface Command {
      * @return ValidationResult indicating if target is valid
      */
     default ValidationResult validateTargetExists(Game game, Unit target) {
-        if (!game.getUnits().contains(target)) {
+        if (!game.containsUnit(target)) {
             return ValidationResult.failure("Target not in game");
         }
         if (!target.isAlive()) {
@@ -0,0 +1,120 @@
+package org.elementarclash.game.command;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.phase.PlayerTurnPhase;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.state.DeadState;
+import org.elementarclash.units.state.StunnedState;
+import org.elementarclash.visibility.VisibilityMap;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Enumerates all legal moves and attacks of the active faction into an ActionBuffer.
+ * <p>
+ * Legal means Game.executeCommand() would accept the MoveCommand/AttackCommand built by
+ * toCommand(): player turn phase, living unit of the active faction that is neither stunned
+ * nor dead and has actions left; moves to every destination of its reachable area, attacks
+ * on every living enemy its visibility map can hit. Validation itself does not restrict
+ * actors to the active faction, the generator does.
+ * <p>
+ * Checking candidates one by one via validate() builds a ValidationResult (with a formatted
+ * message on failure) per candidate. Here each unit costs one cached ReachableArea and one
+ * cached VisibilityMap lookup (the same caches validation uses), destinations come from
+ * ReachableArea.forEachIndex() and targets from the spatial index around the unit. The
+ * visitors are created once, so generating into a reused buffer does not allocate.
+ * <p>
+ * Order: all attacks first (good first candidates for search), then all moves, each in
+ * unit order. Not thread-safe, like the game; one generator per game.
+ *
+ * @author mmukex
+ */
+public class LegalActionGenerator {
+
+    private final Game game;
+
+    // Visitor state of the unit being expanded
+    private ActionBuffer current;
+    private int actorIndex;
+    private Faction actorFaction;
+    private VisibilityMap actorMap;
+
+    private final IntConsumer addMove = cell -> current.add(ActionBuffer.move(actorIndex, cell));
+    private final Consumer<Unit> addAttackIfHittable = this::addAttackIfHittable;
+
+    public LegalActionGenerator(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Replaces the buffer's content with the legal actions of the current position.
+     *
+     * @return number of actions (0 outside a player turn or if no unit can act)
+     */
+    public int generate(ActionBuffer buffer) {
+        buffer.clear();
+        if (!(game.getCurrentPhase() instanceof PlayerTurnPhase)) {
+            return 0;
+        }
+
+        current = buffer;
+        try {
+            for (int index = 0; index < game.getUnits().size(); index++) {
+                Unit unit = game.getUnits().get(index);
+                if (canAct(unit)) {
+                    addAttacks(index, unit);
+                }
+            }
+            for (int index = 0; index < game.getUnits().size(); index++) {
+                Unit unit = game.getUnits().get(index);
+                if (canAct(unit)) {
+                    actorIndex = index;
+                    game.getReachability().reachableArea(unit).forEachIndex(addMove);
+                }
+            }
+        } finally {
+            current = null;
+            actorMap = null;
+        }
+        return buffer.size();
+    }
+
+    /**
+     * Command for an action generated from the game in its current state.
+     */
+    public Command toCommand(long action) {
+        Battlefield battlefield = game.getBattlefield();
+        Unit actor = game.getUnits().get(ActionBuffer.actor(action));
+        int cell = ActionBuffer.cell(action);
+        if (ActionBuffer.kind(action) == ActionBuffer.MOVE) {
+            return new MoveCommand(actor, battlefield.positionAt(cell));
+        }
+        return new AttackCommand(actor, game.getSpatialIndex().unitAt(cell));
+    }
+
+    private boolean canAct(Unit unit) {
+        return unit.getFaction() == game.getActiveFaction()
+                && unit.isAlive()
+                && !(unit.getCurrentState() instanceof StunnedState)
+                && !(unit.getCurrentState() instanceof DeadState)
+                && !unit.hasNoActionsLeft();
+    }
+
+    private void addAttacks(int index, Unit unit) {
+        actorIndex = index;
+        actorFaction = unit.getFaction();
+        actorMap = game.getVisibility().visibilityOf(unit);
+        int range = unit.getAttackStrategy().getAttackRange(unit);
+        game.getSpatialIndex().forEachAround(unit.getPosition(), range, addAttackIfHittable);
+    }
+
+    private void addAttackIfHittable(Unit target) {
+        if (target.isAlive() && target.getFaction() != actorFaction
+                && actorMap.canHit(target.getPosition().x(), target.getPosition().y())) {
+            current.add(ActionBuffer.attack(actorIndex, game.getBattlefield().indexOf(target.getPosition())));
+        }
+    }
+}
@@ -2,9 +2,11 @@ package org.elementarclash.game.command;
 
 import lombok.Getter;
 import org.elementarclash.game.Game;
+import org.elementarclash.pathfinding.MovementPath;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.state.DeadState;
 import org.elementarclash.units.state.StunnedState;
+import org.elementarclash.units.state.UnitState;
 import org.elementarclash.util.Position;
 
 /**
@@ -21,7 +23,8 @@ import org.elementarclash.util.Position;
  * 3. Unit hasn't moved this turn
  * 4. Movement is valid (delegates to Strategy)
  * <p>
- * Undo: Restores previous position and clears moved flag
+ * Execute: Resolves the route via MovementStrategy.findPath() and reports it in UnitMovedEvent.
+ * Undo: Restores previous position, action count and state
  *
  * @author mmukex
  */
@@ -32,6 +35,8 @@ public class MoveCommand implements Command {
     private final Position targetPosition;
 
     private Position previousPosition;
+    private UnitState previousState;
+    private MovementPath path;
     private boolean wasExecuted;
 
     public MoveCommand(Unit unit, Position targetPosition) {
@@ -76,7 +81,9 @@ public class MoveCommand implements Command {
     @Override
     public void execute(Game game) {
         this.previousPosition = actor.getPosition();
-        game.moveUnitInternal(actor, targetPosition);
+        this.previousState = actor.getCurrentState();
+        this.path = actor.getMovementStrategy().findPath(game, previousPosition, targetPosition, actor.getMovement());
+        game.moveUnitInternal(actor, targetPosition, path);
         actor.incrementActionsThisTurn();
         actor.startMoving();
         this.wasExecuted = true;
@@ -90,6 +97,7 @@ public class MoveCommand implements Command {
 
         game.moveUnitInternal(actor, previousPosition);
         actor.decrementActionsThisTurn();
+        actor.setState(previousState);
     }
 
     @Override
@@ -0,0 +1,36 @@
+package org.elementarclash.game.event;
+
+import lombok.Getter;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.bonus.UnitDecorator;
+
+/**
+ * Fired by BuffDebuffManager when a random (De-)Buff is applied to a unit.
+ *
+ * @author @crstmk
+ */
+@Getter
+public class DecoratorAppliedEvent extends GameEvent {
+
+    private final Unit unit;
+    private final UnitDecorator decorator;
+    private final boolean buff;
+
+    public DecoratorAppliedEvent(Unit unit, UnitDecorator decorator, boolean buff) {
+        super();
+        this.unit = unit;
+        this.decorator = decorator;
+        this.buff = buff;
+    }
+
+    @Override
+    public EventType getEventType() {
+        return EventType.DECORATOR_APPLIED;
+    }
+
+    @Override
+    public String getDescription() {
+        return (buff ? "BUFF" : "DEBUFF") + " applied: " +
+                unit.getName() + " received " + decorator.getDescription();
+    }
+}
@@ -0,0 +1,49 @@
+package org.elementarclash.game.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.elementarclash.units.Unit;
+
+/**
+ * Fired by EventPhase for every dynamic event (Forest Fire, Geyser, Earthquake).
+ * One event per affected unit plus one summary event without unit.
+ *
+ * @author @crstmk
+ */
+@Getter
+public class DynamicEventOccurredEvent extends GameEvent {
+
+    private final Kind kind;
+    private final Unit affectedUnit;
+
+    public DynamicEventOccurredEvent(Kind kind, Unit affectedUnit) {
+        super();
+        this.kind = kind;
+        this.affectedUnit = affectedUnit;
+    }
+
+    @Override
+    public EventType getEventType() {
+        return EventType.DYNAMIC_EVENT;
+    }
+
+    @Override
+    public String getDescription() {
+        if (affectedUnit == null) {
+            return kind.getSummary();
+        }
+        return kind.getEventName() + "! " + affectedUnit.getName() + " " + kind.getUnitEffect() + ".";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Kind {
+        FOREST_FIRE("Forest Fire", "Forest Fire erupted in region!", "took 10 fire damage"),
+        GEYSER("Geyser", "Geysers erupted!", "took 8 water damage"),
+        EARTHQUAKE("Earthquake", "Earthquake shook the battlefield!", "is stunned for 1 turn");
+
+        private final String eventName;
+        private final String summary;
+        private final String unitEffect;
+    }
+}
@@ -16,6 +16,10 @@ public enum EventType {
     TERRAIN_CHANGED,
     // TERRAIN_EFFECT_APPLIED, maybe future implementation
 
+    // Event phase events
+    DYNAMIC_EVENT,
+    DECORATOR_APPLIED,
+
     // Game phase events
     TURN_STARTED,
     TURN_ENDED,
@@ -9,6 +9,9 @@ import org.elementarclash.units.Faction;
 @Getter
 public class GameOverEvent extends GameEvent {
 
+    /**
+     * Null on a draw (no living units left).
+     */
     private final Faction winner;
 
     public GameOverEvent(Faction winner) {
@@ -23,7 +26,7 @@ public class GameOverEvent extends GameEvent {
 
     @Override
     public String getDescription() {
-        return "Game Over - " + winner.name() + " wins!";
+        return winner == null ? "Game Over - draw!" : "Game Over - " + winner.name() + " wins!";
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.elementarclash.game.event;
 
 import lombok.Getter;
+import org.elementarclash.pathfinding.MovementPath;
 import org.elementarclash.units.Unit;
 import org.elementarclash.util.Position;
 
@@ -13,12 +14,21 @@ public class UnitMovedEvent extends GameEvent {
     private final Unit unit;
     private final Position from;
     private final Position to;
+    /**
+     * Route taken, null if the unit was placed directly (e.g. undo).
+     */
+    private final MovementPath path;
 
     public UnitMovedEvent(Unit unit, Position from, Position to) {
+        this(unit, from, to, null);
+    }
+
+    public UnitMovedEvent(Unit unit, Position from, Position to, MovementPath path) {
         super();
         this.unit = unit;
         this.from = from;
         this.to = to;
+        this.path = path;
     }
 
     @Override
@@ -4,23 +4,27 @@ import org.elementarclash.battlefield.Region;
 import org.elementarclash.battlefield.Terrain;
 import org.elementarclash.game.Game;
 import org.elementarclash.game.command.Command;
+import org.elementarclash.game.event.DynamicEventOccurredEvent;
 import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
 
-import java.util.Random;
-
 /**
  * Event phase: Dynamic events occur (Forest Fires, Geysers, Earthquakes).
  * No player commands allowed.
  * <p>
  * Integration Point: Uses @mmukex Composite Pattern (battlefield.applyEffect)
+ * <p>
+ * Output is reported as DynamicEventOccurredEvent (Observer Pattern), so headless
+ * games without ConsoleGameRenderer stay silent.
+ * <p>
+ * Stateless singleton: randomness comes from the game (Game.getRandom()),
+ * so concurrent games never share a random source.
  *
  * @author @crstmk
  */
 public class EventPhase implements GamePhaseState {
 
     private static final EventPhase INSTANCE = new EventPhase();
-    private static final Random RANDOM = new Random();
 
     private EventPhase() {
     }
@@ -49,7 +53,7 @@ public class EventPhase implements GamePhaseState {
      * Integration with @mmukex Composite Pattern!
      */
     private void executeRandomEvent(Game game) {
-        int eventType = RANDOM.nextInt(3);
+        int eventType = game.getRandom().events().nextInt(3);
 
         switch (eventType) {
             case 0 -> executeForestFire(game);
@@ -63,61 +67,62 @@ public class EventPhase implements GamePhaseState {
      * Uses @mmukex Composite: region.applyEffect()
      */
     private void executeForestFire(Game game) {
-        Region randomRegion = game.getBattlefield().getRandomRegion();
+        Region randomRegion = game.getBattlefield().getRandomRegion(game.getRandom().events());
 
         // INTEGRATION WITH @mmukex COMPOSITE PATTERN!
         randomRegion.applyEffect(cell -> {
             if (cell.getTerrain() == Terrain.FOREST) {
-                cell.setTerrain(Terrain.LAVA);
+                // Via battlefield so TerrainChangedEvent observers (flow fields, renderer) see it
+                game.getBattlefield().setTerrainAt(cell.getPosition(), Terrain.LAVA, game);
 
                 // Damage units on affected cells
                 Unit unit = game.getUnitAt(cell.getPosition());
                 if (unit != null && unit.isAlive()) {
                     unit.takeDamage(10);
-                    System.out.println("[Event] Forest Fire! " + unit.getName() + " took 10 fire damage.");
+                    game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.FOREST_FIRE, unit));
                 }
             }
         });
 
-        System.out.println("[Event] Forest Fire erupted in region!");
+        game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.FOREST_FIRE, null));
     }
 
     /**
      * Geyser: Random ice region erupts, damaging units.
      */
     private void executeGeyser(Game game) {
-        Region randomRegion = game.getBattlefield().getRandomRegion();
+        Region randomRegion = game.getBattlefield().getRandomRegion(game.getRandom().events());
 
         randomRegion.applyEffect(cell -> {
             if (cell.getTerrain() == Terrain.ICE) {
                 Unit unit = game.getUnitAt(cell.getPosition());
                 if (unit != null && unit.isAlive()) {
                     unit.takeDamage(8);
-                    System.out.println("[Event] Geyser! " + unit.getName() + " took 8 water damage.");
+                    game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.GEYSER, unit));
                 }
             }
         });
 
-        System.out.println("[Event] Geysers erupted!");
+        game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.GEYSER, null));
     }
 
     /**
      * Earthquake: Random stone cells crack, units are stunned.
      */
     private void executeEarthquake(Game game) {
-        Region randomRegion = game.getBattlefield().getRandomRegion();
+        Region randomRegion = game.getBattlefield().getRandomRegion(game.getRandom().events());
 
         randomRegion.applyEffect(cell -> {
             if (cell.getTerrain() == Terrain.STONE) {
                 Unit unit = game.getUnitAt(cell.getPosition());
                 if (unit != null && unit.isAlive()) {
                     unit.stun(1);  // Uses Unit State Pattern!
-                    System.out.println("[Event] Earthquake! " + unit.getName() + " is stunned for 1 turn.");
+                    game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.EARTHQUAKE, unit));
                 }
             }
         });
 
-        System.out.println("[Event] Earthquake shook the battlefield!");
+        game.notifyObservers(new DynamicEventOccurredEvent(DynamicEventOccurredEvent.Kind.EARTHQUAKE, null));
     }
 
     @Override
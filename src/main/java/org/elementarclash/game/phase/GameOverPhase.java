@@ -19,9 +19,7 @@ public record GameOverPhase(Faction winner) implements GamePhaseState {
 
     @Override
     public void onEnter(Game game) {
-        System.out.println("\n═══════════════════════════════════════");
-        System.out.println("       GAME OVER - " + winner.name() + " WINS!");
-        System.out.println("═══════════════════════════════════════\n");
+        // Banner is printed by ConsoleGameRenderer on GameOverEvent
     }
 
     @Override
@@ -46,7 +44,7 @@ public record GameOverPhase(Faction winner) implements GamePhaseState {
 
     @Override
     public String getPhaseName() {
-        return "GameOver (Winner: " + winner.name() + ")";
+        return winner == null ? "GameOver (Draw)" : "GameOver (Winner: " + winner.name() + ")";
     }
 
 }
\ No newline at end of file
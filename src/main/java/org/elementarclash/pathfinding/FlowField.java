@@ -0,0 +1,259 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.units.strategy.movement.MovementStrategy;
+import org.elementarclash.util.Position;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Distance map toward a set of target cells for one movement profile.
+ * <p>
+ * Every cell stores the cheapest cost to reach any target (entering each cell on the way,
+ * target included) and the direction of the next step. Computed once by a reverse
+ * multi-source Dijkstra; afterwards sources and terrain changes are applied incrementally:
+ * - cheaper terrain / new target: decrease propagation from the affected cell
+ * - dearer terrain / removed target: only the dependent subtree (cells whose next-step chain
+ *   runs through the changed cell) is reset and re-settled from its valid boundary
+ * <p>
+ * Units are not obstacles here (they move every turn); the field is a planning heuristic,
+ * actual moves are still validated by ReachabilityEngine.
+ *
+ * @author mmukex
+ */
+public final class FlowField {
+
+    /**
+     * Fixed-point scale for movement costs (fields are integer, costs may be fractional).
+     */
+    static final int COST_SCALE = 100;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final byte NO_PARENT = -1;
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+    private static final Terrain[] TERRAINS = Terrain.values();
+
+    private final Battlefield battlefield;
+    private final int width;
+    private final int[] enterCosts = new int[TERRAINS.length];
+    private final int[] distances;
+    private final byte[] parents;
+    private final BitSet sources;
+    private final IndexMinHeap heap = new IndexMinHeap();
+
+    // Repair scratch, reused across updates: BFS queue (afterwards the subtree's cells) and
+    // membership stamps, so an update neither allocates nor boxes
+    private final int[] subtree;
+    private final int[] subtreeStamps;
+    private int currentStamp;
+
+    FlowField(Battlefield battlefield, MovementStrategy strategy) {
+        this.battlefield = battlefield;
+        this.width = battlefield.getWidth();
+        this.distances = new int[battlefield.getCellCount()];
+        this.parents = new byte[battlefield.getCellCount()];
+        this.sources = new BitSet(battlefield.getCellCount());
+        this.subtree = new int[battlefield.getCellCount()];
+        this.subtreeStamps = new int[battlefield.getCellCount()];
+        for (Terrain terrain : TERRAINS) {
+            enterCosts[terrain.ordinal()] = (int) Math.round(strategy.calculateMovementCost(terrain) * COST_SCALE);
+        }
+    }
+
+    /**
+     * @return cheapest movement cost from the position to the nearest target,
+     * or Double.POSITIVE_INFINITY if no target is reachable
+     */
+    public double distanceAt(Position position) {
+        int distance = distances[battlefield.indexOf(position)];
+        return distance == UNREACHABLE ? Double.POSITIVE_INFINITY : (double) distance / COST_SCALE;
+    }
+
+    /**
+     * @return neighbouring cell on the cheapest route toward the nearest target,
+     * or null on a target cell or if no target is reachable
+     */
+    public Position nextStep(Position position) {
+        int index = battlefield.indexOf(position);
+        byte direction = parents[index];
+        if (direction == NO_PARENT) {
+            return null;
+        }
+        return battlefield.positionAt(index % width + DX[direction], index / width + DY[direction]);
+    }
+
+    public boolean isTarget(Position position) {
+        return sources.get(battlefield.indexOf(position));
+    }
+
+    // ---- Full computation ----
+
+    void recompute(BitSet targets) {
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parents, NO_PARENT);
+        sources.clear();
+        sources.or(targets);
+
+        heap.clear();
+        for (int index = sources.nextSetBit(0); index >= 0; index = sources.nextSetBit(index + 1)) {
+            distances[index] = 0;
+            heap.push(index, 0);
+        }
+        propagate();
+    }
+
+    // ---- Incremental updates ----
+
+    void addSource(int index) {
+        if (sources.get(index)) {
+            return;
+        }
+        sources.set(index);
+        distances[index] = 0;
+        parents[index] = NO_PARENT;
+        heap.clear();
+        heap.push(index, 0);
+        propagate();
+    }
+
+    void removeSource(int index) {
+        if (!sources.get(index)) {
+            return;
+        }
+        sources.clear(index);
+        repair(index);
+    }
+
+    /**
+     * Terrain of a cell changed: its enter cost changed for every neighbour routing through it.
+     */
+    void terrainChanged(int index, Terrain oldTerrain, Terrain newTerrain) {
+        int oldCost = enterCosts[oldTerrain.ordinal()];
+        int newCost = enterCosts[newTerrain.ordinal()];
+        if (newCost == oldCost || distances[index] == UNREACHABLE) {
+            return;
+        }
+
+        if (newCost < oldCost) {
+            heap.clear();
+            heap.push(index, distances[index]);
+            propagate();
+            return;
+        }
+
+        // Dearer: every neighbour that stepped onto this cell (and its subtree) may have a better route now
+        for (int direction = 0; direction < DX.length; direction++) {
+            int neighbor = neighbor(index, direction);
+            if (neighbor >= 0 && parents[neighbor] == opposite(direction)) {
+                repair(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Resets the subtree rooted at the given cell and re-settles it from valid neighbours.
+     */
+    private void repair(int root) {
+        int size = collectSubtree(root);
+
+        for (int i = 0; i < size; i++) {
+            distances[subtree[i]] = UNREACHABLE;
+            parents[subtree[i]] = NO_PARENT;
+        }
+
+        heap.clear();
+        for (int i = 0; i < size; i++) {
+            int index = subtree[i];
+            if (sources.get(index)) {
+                distances[index] = 0;
+                heap.push(index, 0);
+                continue;
+            }
+            for (int direction = 0; direction < DX.length; direction++) {
+                int neighbor = neighbor(index, direction);
+                if (neighbor < 0 || inSubtree(neighbor) || distances[neighbor] == UNREACHABLE) {
+                    continue;
+                }
+                int candidate = distances[neighbor] + enterCost(neighbor);
+                if (candidate < distances[index]) {
+                    distances[index] = candidate;
+                    parents[index] = (byte) direction;
+                }
+            }
+            if (distances[index] != UNREACHABLE) {
+                heap.push(index, distances[index]);
+            }
+        }
+        propagate();
+    }
+
+    /**
+     * Breadth-first walk down the next-step tree; leaves the cells in subtree[0..size).
+     *
+     * @return size of the subtree
+     */
+    private int collectSubtree(int root) {
+        currentStamp++;
+        if (currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(subtreeStamps, 0);
+            currentStamp = 1;
+        }
+        int size = 0;
+        subtree[size++] = root;
+        subtreeStamps[root] = currentStamp;
+
+        for (int head = 0; head < size; head++) {
+            int index = subtree[head];
+            for (int direction = 0; direction < DX.length; direction++) {
+                int child = neighbor(index, direction);
+                if (child >= 0 && !inSubtree(child) && parents[child] == opposite(direction)) {
+                    subtreeStamps[child] = currentStamp;
+                    subtree[size++] = child;
+                }
+            }
+        }
+        return size;
+    }
+
+    private boolean inSubtree(int index) {
+        return subtreeStamps[index] == currentStamp;
+    }
+
+    /**
+     * Reverse Dijkstra from the heap contents: a cell's cost is its neighbour's cost
+     * plus the cost of entering that neighbour.
+     */
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int distance = (int) heap.peekKey();
+            int index = heap.poll();
+            if (distance > distances[index]) {
+                continue; // Stale entry
+            }
+
+            int candidate = distance + enterCost(index);
+            for (int direction = 0; direction < DX.length; direction++) {
+                int neighbor = neighbor(index, direction);
+                if (neighbor >= 0 && candidate < distances[neighbor]) {
+                    distances[neighbor] = candidate;
+                    parents[neighbor] = opposite(direction);
+                    heap.push(neighbor, candidate);
+                }
+            }
+        }
+    }
+
+    private int enterCost(int index) {
+        return enterCosts[battlefield.getTerrainAt(index).ordinal()];
+    }
+
+    private int neighbor(int index, int direction) {
+        return battlefield.neighborIndex(index, DX[direction], DY[direction]);
+    }
+
+    private static byte opposite(int direction) {
+        return (byte) ((direction + 2) % 4);
+    }
+}
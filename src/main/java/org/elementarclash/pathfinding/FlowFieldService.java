@@ -0,0 +1,147 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.event.GameEvent;
+import org.elementarclash.game.event.GameObserver;
+import org.elementarclash.game.event.TerrainChangedEvent;
+import org.elementarclash.game.event.UnitDeathEvent;
+import org.elementarclash.game.event.UnitMovedEvent;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.strategy.movement.MovementStrategy;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Shared flow fields for many-unit movement planning, owned by a Game.
+ * One field per (target faction, movement strategy class, moving faction) replaces
+ * a search per unit: every unit reads its distance and next step in O(1).
+ * <p>
+ * Design Pattern: Observer (GoF #9)
+ * Why: Fields are kept up to date incrementally from TerrainChangedEvent, UnitMovedEvent
+ * and UnitDeathEvent instead of being recomputed. Each of these events corresponds to exactly
+ * one terrain/occupancy version step; any other change (e.g. Cell.setTerrain without event)
+ * shows up as a version gap and drops the fields, which are then rebuilt on demand.
+ *
+ * @author mmukex
+ */
+public class FlowFieldService implements GameObserver {
+
+    private final Game game;
+    private final Map<FieldKey, FlowField> fields = new HashMap<>();
+    private long knownTerrainVersion;
+    private long knownOccupancyVersion;
+
+    public FlowFieldService(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Flow field guiding the unit toward the nearest living unit of the target faction.
+     */
+    public FlowField fieldFor(Unit unit, Faction targetFaction) {
+        return fieldFor(targetFaction, unit.getMovementStrategy(), unit.getFaction());
+    }
+
+    public FlowField fieldFor(Faction targetFaction, MovementStrategy strategy, Faction movingFaction) {
+        synchronizeVersions();
+
+        FieldKey key = new FieldKey(targetFaction, strategy.getClass(), movingFaction);
+        FlowField field = fields.get(key);
+        if (field == null) {
+            field = new FlowField(game.getBattlefield(), strategy);
+            field.recompute(targetCells(targetFaction));
+            fields.put(key, field);
+        }
+        return field;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event instanceof TerrainChangedEvent changed) {
+            onTerrainChanged(changed);
+        } else if (event instanceof UnitMovedEvent moved) {
+            if (isSingleOccupancyStep()) {
+                Battlefield battlefield = game.getBattlefield();
+                int from = battlefield.indexOf(moved.getFrom());
+                int to = battlefield.indexOf(moved.getTo());
+                forFieldsTargeting(moved.getUnit().getFaction(), field -> {
+                    field.addSource(to);
+                    field.removeSource(from);
+                });
+            }
+        } else if (event instanceof UnitDeathEvent death) {
+            if (isSingleOccupancyStep()) {
+                int index = game.getBattlefield().indexOf(death.getUnit().getPosition());
+                forFieldsTargeting(death.getUnit().getFaction(), field -> field.removeSource(index));
+            }
+        }
+    }
+
+    private void onTerrainChanged(TerrainChangedEvent changed) {
+        long terrainVersion = game.getBattlefield().getTerrainVersion();
+        if (terrainVersion != knownTerrainVersion + 1) {
+            fields.clear();
+        } else {
+            int index = game.getBattlefield().indexOf(changed.getPosition());
+            fields.values().forEach(field -> field.terrainChanged(index, changed.getOldTerrain(), changed.getNewTerrain()));
+        }
+        knownTerrainVersion = terrainVersion;
+    }
+
+    /**
+     * @return true if the occupancy changed exactly once since the last handled event
+     * (otherwise the fields are dropped)
+     */
+    private boolean isSingleOccupancyStep() {
+        long occupancyVersion = game.getOccupancyVersion();
+        boolean single = occupancyVersion == knownOccupancyVersion + 1;
+        if (!single) {
+            fields.clear();
+        }
+        knownOccupancyVersion = occupancyVersion;
+        return single;
+    }
+
+    private void forFieldsTargeting(Faction faction, Consumer<FlowField> update) {
+        fields.forEach((key, field) -> {
+            if (key.targetFaction() == faction) {
+                update.accept(field);
+            }
+        });
+    }
+
+    /**
+     * Drops all fields if the board changed without an event we handled.
+     */
+    private void synchronizeVersions() {
+        if (game.getBattlefield().getTerrainVersion() != knownTerrainVersion
+                || game.getOccupancyVersion() != knownOccupancyVersion) {
+            fields.clear();
+            rememberVersions();
+        }
+    }
+
+    private void rememberVersions() {
+        knownTerrainVersion = game.getBattlefield().getTerrainVersion();
+        knownOccupancyVersion = game.getOccupancyVersion();
+    }
+
+    private BitSet targetCells(Faction targetFaction) {
+        Battlefield battlefield = game.getBattlefield();
+        BitSet targets = new BitSet(battlefield.getCellCount());
+        for (Unit unit : game.getUnitsOfFaction(targetFaction)) {
+            if (unit.isAlive()) {
+                targets.set(battlefield.indexOf(unit.getPosition()));
+            }
+        }
+        return targets;
+    }
+
+    private record FieldKey(Faction targetFaction, Class<?> strategyClass, Faction movingFaction) {
+    }
+}
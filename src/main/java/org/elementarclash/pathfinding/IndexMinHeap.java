@@ -0,0 +1,77 @@
+package org.elementarclash.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int node ids keyed by double priority.
+ * Reused across searches (clear() keeps the arrays), so searches do not allocate.
+ * Decrease-key is done by lazy re-insertion: callers skip stale entries on poll.
+ *
+ * @author mmukex
+ */
+public final class IndexMinHeap {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] nodes = new int[INITIAL_CAPACITY];
+    private double[] keys = new double[INITIAL_CAPACITY];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void push(int node, double key) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        keys[i] = key;
+    }
+
+    public double peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes the minimum entry and returns its node id (read peekKey() first if needed).
+     */
+    public int poll() {
+        int top = nodes[0];
+        int lastNode = nodes[--size];
+        double lastKey = keys[size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (lastKey <= keys[child]) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        nodes[i] = lastNode;
+        keys[i] = lastKey;
+        return top;
+    }
+}
@@ -0,0 +1,36 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.util.Position;
+
+import java.util.List;
+
+/**
+ * Route returned by a path query: every visited cell from start to goal (both included)
+ * and the summed movement cost of the entered cells.
+ *
+ * @author mmukex
+ */
+public record MovementPath(List<Position> positions, double cost) {
+
+    public MovementPath {
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("Path must contain at least the start position");
+        }
+        positions = List.copyOf(positions);
+    }
+
+    public Position start() {
+        return positions.getFirst();
+    }
+
+    public Position goal() {
+        return positions.getLast();
+    }
+
+    /**
+     * @return number of steps (cells entered)
+     */
+    public int length() {
+        return positions.size() - 1;
+    }
+}
@@ -0,0 +1,176 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.units.strategy.movement.MovementStrategy;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A* path queries (start, goal, budget) for a MovementStrategy, owned by a Game.
+ * <p>
+ * Heuristic: cheapest terrain cost of the strategy × manhattan distance.
+ * It never overestimates (every step enters a cell costing at least that much),
+ * so returned paths are optimal and agree with ReachabilityEngine costs.
+ * <p>
+ * The search is confined to the window the budget can reach (start ± budget / cheapest cost),
+ * and all scratch state (open heap, g-costs, parents, visit stamps) lives in primitive arrays
+ * reused across queries, so queries neither box nor allocate except for the returned path.
+ * Not thread-safe, like the owning Game.
+ *
+ * @author mmukex
+ */
+public class PathFinder {
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+    private static final Terrain[] TERRAINS = Terrain.values();
+
+    private final Game game;
+    private final IndexMinHeap open = new IndexMinHeap();
+    private final double[] terrainCosts = new double[TERRAINS.length];
+    private double[] costs = new double[0];
+    private int[] parents = new int[0];
+    private int[] stamps = new int[0];
+    private int currentStamp;
+
+    private int windowX;
+    private int windowY;
+    private int windowWidth;
+    private int windowHeight;
+
+    public PathFinder(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Cheapest path from start to goal with total cost within budget.
+     * The goal must be free; intermediate cells holding units are only passable
+     * if the strategy passes through units.
+     *
+     * @return the path, or null if the goal is unreachable within budget
+     */
+    public MovementPath findPath(MovementStrategy strategy, Position start, Position goal, int budget) {
+        Battlefield battlefield = game.getBattlefield();
+        if (!battlefield.isInBounds(start) || !battlefield.isInBounds(goal)) {
+            return null;
+        }
+        if (start.equals(goal)) {
+            return new MovementPath(List.of(battlefield.positionAt(start.x(), start.y())), 0.0);
+        }
+        if (game.getUnitAt(goal) != null) {
+            return null;
+        }
+
+        double minCost = prepareTerrainCosts(strategy);
+        if (minCost * start.manhattanDistanceTo(goal) > budget) {
+            return null;
+        }
+        prepareWindow(battlefield, start, budget, minCost);
+        boolean passesThroughUnits = strategy.passesThroughUnits();
+
+        int startLocal = local(start.x(), start.y());
+        int goalLocal = local(goal.x(), goal.y());
+        visit(startLocal, 0.0, -1);
+        open.clear();
+        open.push(startLocal, minCost * start.manhattanDistanceTo(goal));
+
+        while (!open.isEmpty()) {
+            double estimate = open.peekKey();
+            int current = open.poll();
+            int x = windowX + current % windowWidth;
+            int y = windowY + current / windowWidth;
+            double cost = costs[current];
+            if (estimate > cost + heuristic(minCost, x, y, goal)) {
+                continue; // Stale entry
+            }
+            if (current == goalLocal) {
+                return buildPath(battlefield, goalLocal, cost);
+            }
+
+            for (int direction = 0; direction < DX.length; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                int lx = nx - windowX;
+                int ly = ny - windowY;
+                if (lx < 0 || lx >= windowWidth || ly < 0 || ly >= windowHeight) {
+                    continue;
+                }
+                if (!passesThroughUnits && game.getUnitAt(nx, ny) != null) {
+                    continue;
+                }
+
+                double next = cost + terrainCosts[battlefield.getTerrainAt(nx, ny).ordinal()];
+                int neighbor = ly * windowWidth + lx;
+                if (next <= budget && next < costOf(neighbor)) {
+                    visit(neighbor, next, current);
+                    open.push(neighbor, next + heuristic(minCost, nx, ny, goal));
+                }
+            }
+        }
+        return null;
+    }
+
+    private double prepareTerrainCosts(MovementStrategy strategy) {
+        double min = Double.POSITIVE_INFINITY;
+        for (Terrain terrain : TERRAINS) {
+            double cost = strategy.calculateMovementCost(terrain);
+            terrainCosts[terrain.ordinal()] = cost;
+            min = Math.min(min, cost);
+        }
+        return min;
+    }
+
+    private void prepareWindow(Battlefield battlefield, Position start, int budget, double minCost) {
+        long radius = (long) Math.floor(budget / minCost);
+        windowX = (int) Math.max(0, start.x() - radius);
+        windowY = (int) Math.max(0, start.y() - radius);
+        windowWidth = (int) Math.min(battlefield.getWidth() - 1, start.x() + radius) - windowX + 1;
+        windowHeight = (int) Math.min(battlefield.getHeight() - 1, start.y() + radius) - windowY + 1;
+
+        int windowSize = windowWidth * windowHeight;
+        if (costs.length < windowSize) {
+            costs = new double[windowSize];
+            parents = new int[windowSize];
+            stamps = new int[windowSize];
+            currentStamp = 0;
+        }
+        currentStamp++;
+        if (currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 1;
+        }
+    }
+
+    private MovementPath buildPath(Battlefield battlefield, int goalLocal, double cost) {
+        List<Position> positions = new ArrayList<>();
+        for (int node = goalLocal; node != -1; node = parents[node]) {
+            positions.add(battlefield.positionAt(windowX + node % windowWidth, windowY + node / windowWidth));
+        }
+        Collections.reverse(positions);
+        return new MovementPath(positions, cost);
+    }
+
+    private static double heuristic(double minCost, int x, int y, Position goal) {
+        return minCost * (Math.abs(goal.x() - x) + Math.abs(goal.y() - y));
+    }
+
+    private int local(int x, int y) {
+        return (y - windowY) * windowWidth + (x - windowX);
+    }
+
+    private void visit(int node, double cost, int parent) {
+        costs[node] = cost;
+        parents[node] = parent;
+        stamps[node] = currentStamp;
+    }
+
+    private double costOf(int node) {
+        return stamps[node] == currentStamp ? costs[node] : Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,185 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.strategy.movement.MovementStrategy;
+import org.elementarclash.util.Position;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weighted reachability for unit movement, owned by a Game.
+ * <p>
+ * Runs a Dijkstra search bounded by the movement budget, entering each cell at the
+ * faction-specific cost from MovementStrategy.calculateMovementCost(). Cells holding
+ * a unit block the path unless the strategy passes through units (flying).
+ * <p>
+ * Results are cached per (strategy, origin, budget) and stay valid until the terrain
+ * or the unit occupancy changes (version counters on Battlefield and Game), so repeated
+ * isValidMove() checks for the same unit are a map lookup plus an array load.
+ * <p>
+ * Scratch arrays (heap, distances, visit stamps) are reused across searches.
+ * Not thread-safe, like the owning Game.
+ *
+ * @author mmukex
+ */
+public class ReachabilityEngine {
+
+    private static final int MAX_CACHED_AREAS = 4096;
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+    private static final Terrain[] TERRAINS = Terrain.values();
+
+    private final Game game;
+    private final Map<AreaKey, ReachableArea> cache = new HashMap<>();
+    private long cachedTerrainVersion = -1;
+    private long cachedOccupancyVersion = -1;
+
+    private final IndexMinHeap heap = new IndexMinHeap();
+    private final double[] terrainCosts = new double[TERRAINS.length];
+    private double[] distances = new double[0];
+    private int[] stamps = new int[0];
+    private int currentStamp;
+
+    public ReachabilityEngine(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Cells the unit can move to this turn, with its current movement (including buffs).
+     */
+    public ReachableArea reachableArea(Unit unit) {
+        return reachableArea(unit.getMovementStrategy(), unit.getPosition(), unit.getMovement());
+    }
+
+    public ReachableArea reachableArea(MovementStrategy strategy, Position origin, int budget) {
+        invalidateIfBoardChanged();
+
+        Battlefield battlefield = game.getBattlefield();
+        AreaKey key = new AreaKey(strategy, battlefield.indexOf(origin), budget);
+        ReachableArea area = cache.get(key);
+        if (area == null) {
+            if (cache.size() >= MAX_CACHED_AREAS) {
+                cache.clear();
+            }
+            area = search(strategy, battlefield.positionAt(key.originIndex()), budget);
+            cache.put(key, area);
+        }
+        return area;
+    }
+
+    public boolean canReach(MovementStrategy strategy, Position origin, Position target, int budget) {
+        if (!game.getBattlefield().isInBounds(target)) {
+            return false;
+        }
+        return reachableArea(strategy, origin, budget).contains(target);
+    }
+
+    private void invalidateIfBoardChanged() {
+        long terrainVersion = game.getBattlefield().getTerrainVersion();
+        long occupancyVersion = game.getOccupancyVersion();
+        if (terrainVersion != cachedTerrainVersion || occupancyVersion != cachedOccupancyVersion) {
+            cache.clear();
+            cachedTerrainVersion = terrainVersion;
+            cachedOccupancyVersion = occupancyVersion;
+        }
+    }
+
+    private ReachableArea search(MovementStrategy strategy, Position origin, int budget) {
+        Battlefield battlefield = game.getBattlefield();
+        int windowX = Math.max(0, origin.x() - budget);
+        int windowY = Math.max(0, origin.y() - budget);
+        int windowWidth = Math.min(battlefield.getWidth() - 1, origin.x() + budget) - windowX + 1;
+        int windowHeight = Math.min(battlefield.getHeight() - 1, origin.y() + budget) - windowY + 1;
+        int windowSize = windowWidth * windowHeight;
+
+        prepareScratch(windowSize);
+        for (Terrain terrain : TERRAINS) {
+            terrainCosts[terrain.ordinal()] = strategy.calculateMovementCost(terrain);
+        }
+        boolean passesThroughUnits = strategy.passesThroughUnits();
+
+        int start = (origin.y() - windowY) * windowWidth + (origin.x() - windowX);
+        visit(start, 0.0);
+        heap.clear();
+        heap.push(start, 0.0);
+
+        while (!heap.isEmpty()) {
+            double cost = heap.peekKey();
+            int local = heap.poll();
+            if (cost > distances[local]) {
+                continue; // Stale entry
+            }
+
+            int x = windowX + local % windowWidth;
+            int y = windowY + local / windowWidth;
+            for (int direction = 0; direction < DX.length; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                int lx = nx - windowX;
+                int ly = ny - windowY;
+                if (lx < 0 || lx >= windowWidth || ly < 0 || ly >= windowHeight) {
+                    continue;
+                }
+                if (!passesThroughUnits && game.getUnitAt(nx, ny) != null) {
+                    continue;
+                }
+
+                double next = cost + terrainCosts[battlefield.getTerrainAt(nx, ny).ordinal()];
+                int neighbor = ly * windowWidth + lx;
+                if (next <= budget && next < distanceOf(neighbor)) {
+                    visit(neighbor, next);
+                    heap.push(neighbor, next);
+                }
+            }
+        }
+
+        return snapshot(origin, budget, windowX, windowY, windowWidth, windowHeight, start);
+    }
+
+    private ReachableArea snapshot(Position origin, int budget, int windowX, int windowY,
+                                   int windowWidth, int windowHeight, int start) {
+        int windowSize = windowWidth * windowHeight;
+        double[] costs = new double[windowSize];
+        boolean[] destinations = new boolean[windowSize];
+
+        for (int local = 0; local < windowSize; local++) {
+            costs[local] = distanceOf(local);
+            destinations[local] = local != start
+                    && costs[local] <= budget
+                    && game.getUnitAt(windowX + local % windowWidth, windowY + local / windowWidth) == null;
+        }
+
+        return new ReachableArea(game.getBattlefield(), origin, budget,
+                windowX, windowY, windowWidth, windowHeight, costs, destinations);
+    }
+
+    private void prepareScratch(int windowSize) {
+        if (distances.length < windowSize) {
+            distances = new double[windowSize];
+            stamps = new int[windowSize];
+            currentStamp = 0;
+        }
+        currentStamp++;
+        if (currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 1;
+        }
+    }
+
+    private void visit(int local, double cost) {
+        distances[local] = cost;
+        stamps[local] = currentStamp;
+    }
+
+    private double distanceOf(int local) {
+        return stamps[local] == currentStamp ? distances[local] : Double.POSITIVE_INFINITY;
+    }
+
+    private record AreaKey(MovementStrategy strategy, int originIndex, int budget) {
+    }
+}
@@ -0,0 +1,107 @@
+package org.elementarclash.pathfinding;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable result of a movement search: exact path cost from the origin
+ * to every cell inside a local window around it.
+ * <p>
+ * The window covers origin ± budget (terrain costs are at least 1), clipped to the map,
+ * so lookups are a bounds check plus one array load regardless of map size.
+ *
+ * @author mmukex
+ */
+public final class ReachableArea {
+
+    private final Battlefield battlefield;
+    private final Position origin;
+    private final int budget;
+    private final int windowX;
+    private final int windowY;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final double[] costs;
+    private final boolean[] destinations;
+
+    ReachableArea(Battlefield battlefield, Position origin, int budget,
+                  int windowX, int windowY, int windowWidth, int windowHeight,
+                  double[] costs, boolean[] destinations) {
+        this.battlefield = battlefield;
+        this.origin = origin;
+        this.budget = budget;
+        this.windowX = windowX;
+        this.windowY = windowY;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+        this.costs = costs;
+        this.destinations = destinations;
+    }
+
+    public Position getOrigin() {
+        return origin;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * @return true if the unit can end its move on this cell (reachable within budget and free)
+     */
+    public boolean contains(Position position) {
+        return contains(position.x(), position.y());
+    }
+
+    public boolean contains(int x, int y) {
+        int local = localIndex(x, y);
+        return local >= 0 && destinations[local];
+    }
+
+    /**
+     * Exact cheapest path cost to the cell, or Double.POSITIVE_INFINITY if it is out of budget.
+     */
+    public double costTo(Position position) {
+        int local = localIndex(position.x(), position.y());
+        return local >= 0 ? costs[local] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * All valid destinations in row-major order.
+     */
+    public List<Position> positions() {
+        List<Position> result = new ArrayList<>();
+        for (int local = 0; local < destinations.length; local++) {
+            if (destinations[local]) {
+                result.add(battlefield.positionAt(windowX + local % windowWidth, windowY + local / windowWidth));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Visits the battlefield index (y * width + x) of every valid destination in row-major
+     * order, without allocating (see LegalActionGenerator).
+     */
+    public void forEachIndex(IntConsumer action) {
+        int width = battlefield.getWidth();
+        for (int local = 0; local < destinations.length; local++) {
+            if (destinations[local]) {
+                action.accept((windowY + local / windowWidth) * width + windowX + local % windowWidth);
+            }
+        }
+    }
+
+    private int localIndex(int x, int y) {
+        int lx = x - windowX;
+        int ly = y - windowY;
+        if (lx < 0 || lx >= windowWidth || ly < 0 || ly >= windowHeight) {
+            return -1;
+        }
+        return ly * windowWidth + lx;
+    }
+}
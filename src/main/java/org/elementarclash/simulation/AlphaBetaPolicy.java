@@ -0,0 +1,498 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.CompactGameState;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.command.ActionBuffer;
+import org.elementarclash.game.command.AttackCommand;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.command.MoveCommand;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.state.DeadState;
+import org.elementarclash.units.state.StunnedState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search-based player: iterative-deepening alpha-beta over the actions of the current turn
+ * and the turns that follow.
+ * <p>
+ * Every decision captures the game into a CompactGameState and searches copies of it, so the
+ * live game is never touched; the chosen action comes back as a normal Command for
+ * Game.executeCommand(), and null ends the turn (runner calls nextTurn()).
+ * A ply is one action (move or attack, packed as in ActionBuffer) or ending the turn, so a
+ * turn is a sequence of plies by the same side, bounded by Unit.MAX_ACTIONS_PER_TURN per unit.
+ * The searching faction maximizes, every other faction minimizes: exact for two-faction games,
+ * with more factions the others are treated as one opponent.
+ * <p>
+ * Search:
+ * - Transposition table keyed by CompactGameState.getSearchKey(), so positions reached by
+ *   different action orders (unit A then B, or B then A) are searched once per depth, while
+ *   positions that differ only in buff timers or round (after ending turns) are not mixed up
+ * - Move ordering: table action first, then attacks by estimated damage (kills first),
+ *   ending the turn, and moves closest to an enemy
+ * - Only the MOVES_PER_UNIT destinations nearest an enemy are searched per unit (forward
+ *   pruning; all destinations would dominate the branching factor)
+ * - Evaluation: health of each side (plus half the max health per living unit) and, for the
+ *   searching faction, the distance of its units to the nearest enemy
+ * <p>
+ * Time: each turn gets a wall-clock budget, split evenly over the actions the faction has
+ * left. An iteration that runs past its deadline is discarded and the best action of the
+ * deepest completed one is played; depth 1 always completes. Search effort (nodes per second)
+ * accumulates in getStats().
+ * <p>
+ * Not modelled: the random buffs and events between turns (see CompactGameState).
+ * Not thread-safe (table, turn clock, stack): callers must create one instance per game played
+ * concurrently, e.g. inside the MatchFarm runner factory; games played one after another
+ * (SimulationRunner.runBatch()) may reuse one.
+ * <p>
+ * Design Pattern: Strategy (GoF #5) - SimulationPolicy
+ * Why: Plugs into SimulationRunner like GreedyPolicy, per faction or for both.
+ *
+ * @author mmukex
+ */
+public class AlphaBetaPolicy implements SimulationPolicy {
+
+    public static final int MAX_DEPTH = 32;
+    private static final int MOVES_PER_UNIT = 6;
+
+    private static final long END_TURN = -1L;
+    private static final long NO_ACTION = Long.MIN_VALUE;
+
+    private static final int WIN = 1_000_000;
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int NODES_PER_CLOCK_CHECK = 256;
+
+    // Ordering scores
+    private static final int TABLE_ORDER = 1 << 30;
+    private static final int KILL_ORDER = 1 << 21;
+    private static final int ATTACK_ORDER = 1 << 20;
+    private static final int END_TURN_ORDER = 0;
+
+    // Transposition table
+    private static final int TABLE_BITS = 16;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+    private static final byte EXACT = 0;
+    private static final byte LOWER_BOUND = 1;
+    private static final byte UPPER_BOUND = 2;
+
+    private final long turnBudgetNanos;
+    private int maxDepth = MAX_DEPTH;
+
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final long[] tableActions = new long[1 << TABLE_BITS];
+    private final int[] tableScores = new int[1 << TABLE_BITS];
+    private final byte[] tableDepths = new byte[1 << TABLE_BITS];
+    private final byte[] tableFlags = new byte[1 << TABLE_BITS];
+    private final int[] tableGenerations = new int[1 << TABLE_BITS];
+    /**
+     * Actions in the table index the units of one capture, so each decision starts a new generation.
+     */
+    private int generation;
+
+    // Current turn
+    private Game turnGame;
+    private Faction turnFaction;
+    private int turnRound;
+    private long turnDeadline;
+
+    // Current search
+    private CompactGameState[] stack;
+    private long[][] actions;
+    private int[][] orderScores;
+    private int[] reachable;
+    private int[] distances;
+    private int[] enemyCells;
+    private Faction rootFaction;
+    private long rootAction;
+    private int iterationDepth;
+    private long deadline;
+    private long nodes;
+    private boolean aborted;
+
+    private SearchStats stats = SearchStats.EMPTY;
+
+    /**
+     * @param turnBudget wall-clock time the policy may think per turn
+     */
+    public AlphaBetaPolicy(Duration turnBudget) {
+        if (turnBudget.isNegative() || turnBudget.isZero()) {
+            throw new IllegalArgumentException("Turn budget must be positive, got: " + turnBudget);
+        }
+        this.turnBudgetNanos = turnBudget.toNanos();
+    }
+
+    /**
+     * Stops deepening at the given depth even if time is left (reproducible play in tests).
+     */
+    public AlphaBetaPolicy withMaxDepth(int maxDepth) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Max depth must be between 1 and " + MAX_DEPTH + ", got: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * @return search effort of all decisions so far
+     */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the game cannot be captured (see CompactGameState.capture())
+     */
+    @Override
+    public Command nextCommand(Game game) {
+        if (game.getCurrentPhase() instanceof GameOverPhase) {
+            return null;
+        }
+        long start = System.nanoTime();
+        startTurnIfNew(game, start);
+        int actionsLeft = actionsLeft(game);
+        if (actionsLeft == 0) {
+            return null;
+        }
+        deadline = start + Math.max(0, turnDeadline - start) / actionsLeft;
+
+        List<Unit> roster = new ArrayList<>(game.getUnits());
+        CompactGameState root = CompactGameState.capture(game);
+        int completedDepth = search(root);
+        stats = stats.merge(new SearchStats(1, nodes, System.nanoTime() - start, completedDepth));
+
+        return toCommand(game, root, roster, rootAction);
+    }
+
+    private void startTurnIfNew(Game game, long now) {
+        if (game != turnGame || game.getActiveFaction() != turnFaction || game.getRoundNumber() != turnRound) {
+            turnGame = game;
+            turnFaction = game.getActiveFaction();
+            turnRound = game.getRoundNumber();
+            turnDeadline = now + turnBudgetNanos;
+        }
+    }
+
+    private static int actionsLeft(Game game) {
+        int left = 0;
+        for (Unit unit : game.getUnitsOfFaction(game.getActiveFaction())) {
+            if (unit.isAlive() && !(unit.getCurrentState() instanceof StunnedState)
+                    && !(unit.getCurrentState() instanceof DeadState)) {
+                left += Math.max(0, Unit.MAX_ACTIONS_PER_TURN - unit.getActionsThisTurn());
+            }
+        }
+        return left;
+    }
+
+    private static Command toCommand(Game game, CompactGameState root, List<Unit> roster, long action) {
+        if (action == END_TURN || action == NO_ACTION) {
+            return null;
+        }
+        Unit actor = roster.get(ActionBuffer.actor(action));
+        int cell = ActionBuffer.cell(action);
+        if (ActionBuffer.kind(action) == ActionBuffer.MOVE) {
+            return new MoveCommand(actor, game.getBattlefield().positionAt(cell));
+        }
+        return new AttackCommand(actor, roster.get(root.unitAt(cell)));
+    }
+
+    // ---- Search ----
+
+    /**
+     * Iterative deepening from the root; leaves the best action in rootAction.
+     *
+     * @return depth of the deepest completed iteration
+     */
+    private int search(CompactGameState root) {
+        prepare(root);
+        rootFaction = root.getActiveFaction();
+        nodes = 0;
+        aborted = false;
+
+        long best = NO_ACTION;
+        int completed = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            iterationDepth = depth;
+            rootAction = NO_ACTION;
+            int score = alphaBeta(0, depth, -INFINITY, INFINITY);
+            if (aborted) {
+                break;
+            }
+            best = rootAction;
+            completed = depth;
+            if (Math.abs(score) >= WIN - MAX_DEPTH || System.nanoTime() > deadline) {
+                break; // Outcome decided or no time for another iteration
+            }
+        }
+        rootAction = best;
+        return completed;
+    }
+
+    private void prepare(CompactGameState root) {
+        generation++;
+        int units = root.getUnitCount();
+        int capacity = units * units + units * MOVES_PER_UNIT + 1;
+        if (actions == null || actions[0].length < capacity) {
+            actions = new long[MAX_DEPTH + 1][capacity];
+            orderScores = new int[MAX_DEPTH + 1][capacity];
+        }
+        if (reachable == null || reachable.length < root.getCellCount() || enemyCells.length < units) {
+            reachable = new int[root.getCellCount()];
+            distances = new int[root.getCellCount()];
+            enemyCells = new int[units];
+        }
+        // States of the previous capture cannot be reused (copyFrom() needs the same capture)
+        stack = new CompactGameState[MAX_DEPTH + 1];
+        stack[0] = root;
+    }
+
+    private int alphaBeta(int ply, int depth, int alpha, int beta) {
+        CompactGameState state = stack[ply];
+        nodes++;
+        if (iterationDepth > 1 && nodes % NODES_PER_CLOCK_CHECK == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (state.isGameOver()) {
+            return terminalScore(state, ply);
+        }
+        if (depth == 0) {
+            return evaluate(state);
+        }
+
+        long key = state.getSearchKey();
+        int slot = (int) key & TABLE_MASK;
+        long tableAction = NO_ACTION;
+        if (tableGenerations[slot] == generation && tableKeys[slot] == key) {
+            tableAction = tableActions[slot];
+            if (ply > 0 && tableDepths[slot] >= depth) {
+                int score = fromTableScore(tableScores[slot], ply);
+                if (tableFlags[slot] == EXACT
+                        || tableFlags[slot] == LOWER_BOUND && score >= beta
+                        || tableFlags[slot] == UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+
+        int count = generate(state, ply, tableAction);
+        boolean maximizing = state.getActiveFaction() == rootFaction;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        long bestAction = NO_ACTION;
+
+        for (int i = 0; i < count; i++) {
+            long action = nextBest(ply, i, count);
+            CompactGameState child = childOf(ply);
+            apply(child, action);
+            int score = alphaBeta(ply + 1, depth - 1, alpha, beta);
+            if (aborted) {
+                return 0;
+            }
+
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestAction = action;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, best);
+            } else {
+                beta = Math.min(beta, best);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        byte flag = best <= originalAlpha ? UPPER_BOUND : best >= originalBeta ? LOWER_BOUND : EXACT;
+        tableKeys[slot] = key;
+        tableActions[slot] = bestAction;
+        tableScores[slot] = toTableScore(best, ply);
+        tableDepths[slot] = (byte) depth;
+        tableFlags[slot] = flag;
+        tableGenerations[slot] = generation;
+        if (ply == 0) {
+            rootAction = bestAction;
+        }
+        return best;
+    }
+
+    private CompactGameState childOf(int ply) {
+        CompactGameState child = stack[ply + 1];
+        if (child == null) {
+            child = stack[ply].copy();
+            stack[ply + 1] = child;
+        } else {
+            child.copyFrom(stack[ply]);
+        }
+        return child;
+    }
+
+    private static void apply(CompactGameState state, long action) {
+        if (action == END_TURN) {
+            state.endTurn();
+        } else if (ActionBuffer.kind(action) == ActionBuffer.MOVE) {
+            state.move(ActionBuffer.actor(action), ActionBuffer.cell(action));
+        } else {
+            state.attack(ActionBuffer.actor(action), state.unitAt(ActionBuffer.cell(action)));
+        }
+    }
+
+    /**
+     * Faster wins score higher, slower losses less low; no survivor is a draw.
+     */
+    private int terminalScore(CompactGameState state, int ply) {
+        Faction winner = state.getWinner();
+        if (winner == null) {
+            return 0;
+        }
+        return winner == rootFaction ? WIN - ply : -(WIN - ply);
+    }
+
+    /**
+     * Win/loss scores count plies from the root, but a table entry is reused at other plies:
+     * it stores them as plies from its own node and fromTableScore() converts back.
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score >= WIN - MAX_DEPTH) {
+            return score + ply;
+        }
+        return score <= -(WIN - MAX_DEPTH) ? score - ply : score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if (score >= WIN - MAX_DEPTH) {
+            return score - ply;
+        }
+        return score <= -(WIN - MAX_DEPTH) ? score + ply : score;
+    }
+
+    private int evaluate(CompactGameState state) {
+        int enemies = collectEnemyCells(state, rootFaction);
+        int score = 0;
+        for (int u = 0; u < state.getUnitCount(); u++) {
+            if (state.getCell(u) == CompactGameState.NO_UNIT || !state.isAlive(u)) {
+                continue;
+            }
+            int value = state.getHealth(u) + state.getResurrectionHealth(u) + state.getMaxHealth(u) / 2;
+            if (state.getFaction(u) == rootFaction) {
+                score += value - nearestDistance(state, state.getCell(u), enemies);
+            } else {
+                score -= value;
+            }
+        }
+        return score;
+    }
+
+    // ---- Move generation and ordering ----
+
+    /**
+     * Fills the ply's action list: attacks, ending the turn and the best moves of every unit
+     * of the active faction that can still act.
+     */
+    private int generate(CompactGameState state, int ply, long tableAction) {
+        long[] list = actions[ply];
+        int[] order = orderScores[ply];
+        Faction active = state.getActiveFaction();
+        int enemies = collectEnemyCells(state, active);
+        int count = 0;
+
+        for (int u = 0; u < state.getUnitCount(); u++) {
+            if (state.getFaction(u) != active || !state.canAct(u)) {
+                continue;
+            }
+            for (int t = 0; t < state.getUnitCount(); t++) {
+                if (state.canAttack(u, t)) {
+                    int damage = state.damage(u, t);
+                    list[count] = ActionBuffer.attack(u, state.getCell(t));
+                    order[count++] = ATTACK_ORDER + (damage >= state.getHealth(t) ? KILL_ORDER : 0) + damage;
+                }
+            }
+
+            int reachableCount = state.reachableCells(u, reachable);
+            for (int i = 0; i < reachableCount; i++) {
+                distances[i] = nearestDistance(state, reachable[i], enemies);
+            }
+            int kept = Math.min(MOVES_PER_UNIT, reachableCount);
+            for (int k = 0; k < kept; k++) {
+                int nearest = k;
+                for (int i = k + 1; i < reachableCount; i++) {
+                    if (distances[i] < distances[nearest]) {
+                        nearest = i;
+                    }
+                }
+                swap(reachable, k, nearest);
+                swap(distances, k, nearest);
+                list[count] = ActionBuffer.move(u, reachable[k]);
+                order[count++] = END_TURN_ORDER - 1 - distances[k];
+            }
+        }
+        list[count] = END_TURN;
+        order[count++] = END_TURN_ORDER;
+
+        if (tableAction != NO_ACTION) {
+            for (int i = 0; i < count; i++) {
+                if (list[i] == tableAction) {
+                    order[i] = TABLE_ORDER;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Selection step: moves the best-ordered remaining action to position i (lazy sort,
+     * cut-offs usually happen before the list is sorted).
+     */
+    private long nextBest(int ply, int i, int count) {
+        long[] list = actions[ply];
+        int[] order = orderScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (order[j] > order[best]) {
+                best = j;
+            }
+        }
+        long action = list[best];
+        list[best] = list[i];
+        list[i] = action;
+        swap(order, i, best);
+        return action;
+    }
+
+    private int collectEnemyCells(CompactGameState state, Faction faction) {
+        int count = 0;
+        for (int u = 0; u < state.getUnitCount(); u++) {
+            if (state.getCell(u) != CompactGameState.NO_UNIT && state.isAlive(u) && state.getFaction(u) != faction) {
+                enemyCells[count++] = state.getCell(u);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Manhattan distance from the cell to the nearest collected enemy, 0 if there is none.
+     */
+    private int nearestDistance(CompactGameState state, int cell, int enemies) {
+        int width = state.getWidth();
+        int nearest = enemies == 0 ? 0 : Integer.MAX_VALUE;
+        for (int e = 0; e < enemies; e++) {
+            int distance = Math.abs(cell % width - enemyCells[e] % width) + Math.abs(cell / width - enemyCells[e] / width);
+            nearest = Math.min(nearest, distance);
+        }
+        return nearest;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+}
@@ -0,0 +1,25 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.units.Faction;
+
+/**
+ * Unordered pair of factions meeting in a match.
+ * Normalized to enum order so FIRE vs WATER and WATER vs FIRE share one key.
+ *
+ * @author mmukex
+ */
+public record FactionPairing(Faction first, Faction second) {
+
+    public FactionPairing {
+        if (first.compareTo(second) > 0) {
+            Faction swap = first;
+            first = second;
+            second = swap;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return first.name() + " vs " + second.name();
+    }
+}
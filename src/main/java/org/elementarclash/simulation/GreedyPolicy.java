@@ -0,0 +1,91 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.command.AttackCommand;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.command.MoveCommand;
+import org.elementarclash.pathfinding.FlowField;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic baseline policy for balancing runs.
+ * Each unit attacks the weakest enemy in range. Units without a target
+ * use their first action to move as close as possible to the nearest enemy.
+ *
+ * @author mmukex
+ */
+public class GreedyPolicy implements SimulationPolicy {
+
+    @Override
+    public Command nextCommand(Game game) {
+        for (Unit unit : game.getUnitsOfFaction(game.getActiveFaction())) {
+            if (!unit.isAlive() || unit.hasNoActionsLeft()) {
+                continue;
+            }
+
+            Unit target = findWeakestTarget(game, unit);
+            if (target != null) {
+                return new AttackCommand(unit, target);
+            }
+
+            if (unit.getActionsThisTurn() == 0) {
+                Position approach = findApproachPosition(game, unit);
+                if (approach != null) {
+                    return new MoveCommand(unit, approach);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Unit findWeakestTarget(Game game, Unit attacker) {
+        Unit weakest = null;
+        for (Unit candidate : game.getVisibility().attackableEnemies(attacker)) {
+            if (weakest == null || candidate.getCurrentHealth() < weakest.getCurrentHealth()) {
+                weakest = candidate;
+            }
+        }
+        return weakest;
+    }
+
+    private Position findApproachPosition(Game game, Unit unit) {
+        List<FlowField> enemyFields = enemyFlowFields(game, unit);
+        double bestDistance = distanceToNearestEnemy(enemyFields, unit.getPosition());
+        Position best = null;
+
+        for (Position candidate : game.getReachability().reachableArea(unit).positions()) {
+            double distance = distanceToNearestEnemy(enemyFields, candidate);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * One shared flow field per enemy faction (terrain-weighted distance, O(1) per lookup).
+     */
+    private List<FlowField> enemyFlowFields(Game game, Unit unit) {
+        List<FlowField> fields = new ArrayList<>();
+        for (Faction enemy : Faction.values()) {
+            if (enemy != unit.getFaction() && game.getFactionRegistry().isAlive(enemy)) {
+                fields.add(game.getFlowFields().fieldFor(unit, enemy));
+            }
+        }
+        return fields;
+    }
+
+    private double distanceToNearestEnemy(List<FlowField> enemyFields, Position from) {
+        double nearest = Double.POSITIVE_INFINITY;
+        for (FlowField field : enemyFields) {
+            nearest = Math.min(nearest, field.distanceAt(from));
+        }
+        return nearest;
+    }
+}
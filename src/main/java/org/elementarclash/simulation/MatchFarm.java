@@ -0,0 +1,200 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.RandomGameConfigurer;
+import org.elementarclash.units.Faction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * Parallel Monte Carlo match runner.
+ * Fans out N independent games across a ForkJoinPool and aggregates win rates
+ * per faction pairing and per unit roster.
+ * <p>
+ * Isolation: every game gets its own seed (derived up front from the base seed),
+ * its own Game instance (with its own Random) and its own SimulationRunner/policies.
+ * Workers share nothing but the read-only seed array, so throughput scales with cores
+ * and results are reproducible regardless of thread scheduling.
+ * <p>
+ * Fork/Join divide and conquer over game index ranges:
+ * each subrange collects into its own accumulator; results are merged bottom-up,
+ * no locks or shared counters on the hot path.
+ * <p>
+ * Usage:
+ * <pre>
+ * MatchFarmReport report = new MatchFarm(42L)
+ *     .withParallelism(8)
+ *     .run(10_000);
+ * </pre>
+ *
+ * @author mmukex
+ */
+public class MatchFarm {
+
+    private static final int GAMES_PER_TASK = 16;
+
+    private final long baseSeed;
+    private LongFunction<Game> gameFactory = seed -> new RandomGameConfigurer(seed).createRandomGame();
+    private LongFunction<SimulationRunner> runnerFactory = seed -> new SimulationRunner(new GreedyPolicy());
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public MatchFarm(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * @param gameFactory creates a fresh game for the given per-game seed
+     */
+    public MatchFarm withGameFactory(LongFunction<Game> gameFactory) {
+        this.gameFactory = gameFactory;
+        return this;
+    }
+
+    /**
+     * @param runnerFactory creates a fresh runner (and policies) for the given per-game seed.
+     *                      Policies are stateful (e.g. RandomPolicy), so they must not be shared.
+     */
+    public MatchFarm withRunnerFactory(LongFunction<SimulationRunner> runnerFactory) {
+        this.runnerFactory = runnerFactory;
+        return this;
+    }
+
+    public MatchFarm withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Plays the given number of games in parallel.
+     *
+     * @param games number of games to play
+     * @return aggregated statistics (identical for identical base seed and factories)
+     */
+    public MatchFarmReport run(int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Game count must not be negative, got: " + games);
+        }
+
+        long[] seeds = new SplittableRandom(baseSeed).longs(games).toArray();
+
+        long start = System.nanoTime();
+        Tally tally;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            tally = pool.invoke(new MatchTask(seeds, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new MatchFarmReport(games, parallelism, elapsed, tally.sortedPairings(), tally.sortedRosters());
+    }
+
+    private Tally playRange(long[] seeds, int from, int to) {
+        Tally tally = new Tally();
+        for (int i = from; i < to; i++) {
+            Game game = gameFactory.apply(seeds[i]);
+            Map<Faction, Roster> rosters = Roster.of(game);
+            SimulationResult result = runnerFactory.apply(seeds[i]).run(game);
+            tally.record(rosters, result);
+        }
+        return tally;
+    }
+
+    /**
+     * Splits the seed range until it is small enough to play sequentially.
+     */
+    private class MatchTask extends RecursiveTask<Tally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] seeds;
+        private final int from;
+        private final int to;
+
+        MatchTask(long[] seeds, int from, int to) {
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return playRange(seeds, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            MatchTask left = new MatchTask(seeds, from, mid);
+            left.fork();
+            Tally right = new MatchTask(seeds, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Worker-local accumulator, merged after the fork-join completes.
+     */
+    private static final class Tally {
+
+        private final Map<FactionPairing, Map<Faction, MatchupStats>> pairings = new LinkedHashMap<>();
+        private final Map<Roster, MatchupStats> rosters = new LinkedHashMap<>();
+
+        void record(Map<Faction, Roster> gameRosters, SimulationResult result) {
+            List<Faction> factions = new ArrayList<>(gameRosters.keySet());
+            if (factions.size() == 2) {
+                FactionPairing pairing = new FactionPairing(factions.get(0), factions.get(1));
+                Map<Faction, MatchupStats> stats = pairings.computeIfAbsent(pairing, p -> new EnumMap<>(Faction.class));
+                for (Faction faction : factions) {
+                    stats.merge(faction, outcome(faction, result), MatchupStats::merge);
+                }
+            }
+
+            gameRosters.forEach((faction, roster) ->
+                    rosters.merge(roster, outcome(faction, result), MatchupStats::merge));
+        }
+
+        Tally merge(Tally other) {
+            other.pairings.forEach((pairing, stats) -> {
+                Map<Faction, MatchupStats> own = pairings.computeIfAbsent(pairing, p -> new EnumMap<>(Faction.class));
+                stats.forEach((faction, s) -> own.merge(faction, s, MatchupStats::merge));
+            });
+            other.rosters.forEach((roster, stats) -> rosters.merge(roster, stats, MatchupStats::merge));
+            return this;
+        }
+
+        Map<FactionPairing, Map<Faction, MatchupStats>> sortedPairings() {
+            Map<FactionPairing, Map<Faction, MatchupStats>> sorted = new TreeMap<>(
+                    Comparator.comparing(FactionPairing::first).thenComparing(FactionPairing::second));
+            sorted.putAll(pairings);
+            return sorted;
+        }
+
+        Map<Roster, MatchupStats> sortedRosters() {
+            Map<Roster, MatchupStats> sorted = new TreeMap<>(
+                    Comparator.comparing(Roster::faction).thenComparing(roster -> roster.unitTypes().toString()));
+            sorted.putAll(rosters);
+            return sorted;
+        }
+
+        private static MatchupStats outcome(Faction faction, SimulationResult result) {
+            if (result.isDraw()) {
+                return new MatchupStats(1, 0, 1);
+            }
+            return new MatchupStats(1, result.winner() == faction ? 1 : 0, 0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.units.Faction;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Aggregated result of a MatchFarm run.
+ * <p>
+ * - pairings: per faction pairing, the stats of each participating faction
+ * - rosters: per unit roster, its stats over all games it took part in
+ *
+ * @author mmukex
+ */
+public record MatchFarmReport(
+        int games,
+        int parallelism,
+        long elapsedNanos,
+        Map<FactionPairing, Map<Faction, MatchupStats>> pairings,
+        Map<Roster, MatchupStats> rosters
+) {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    public MatchFarmReport {
+        pairings = Collections.unmodifiableMap(pairings);
+        rosters = Collections.unmodifiableMap(rosters);
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Win rate of a faction within a pairing (0.0 if the pairing was never played).
+     */
+    public double winRate(FactionPairing pairing, Faction faction) {
+        Map<Faction, MatchupStats> stats = pairings.get(pairing);
+        if (stats == null || !stats.containsKey(faction)) {
+            return 0.0;
+        }
+        return stats.get(faction).winRate();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d | Threads: %d | %.1f games/s%n", games, parallelism, gamesPerSecond()));
+        pairings.forEach((pairing, stats) -> {
+            sb.append("  ").append(pairing).append(':');
+            stats.forEach((faction, s) -> sb.append(String.format(" %s %.1f%%", faction.name(), s.winRate() * 100)));
+            sb.append(System.lineSeparator());
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package org.elementarclash.simulation;
+
+/**
+ * Win/draw counts of one side (faction or roster) over a number of games.
+ *
+ * @author mmukex
+ */
+public record MatchupStats(int games, int wins, int draws) {
+
+    public int losses() {
+        return games - wins - draws;
+    }
+
+    public double winRate() {
+        return games == 0 ? 0.0 : (double) wins / games;
+    }
+
+    MatchupStats merge(MatchupStats other) {
+        return new MatchupStats(games + other.games, wins + other.wins, draws + other.draws);
+    }
+}
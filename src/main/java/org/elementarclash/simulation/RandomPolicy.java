@@ -0,0 +1,65 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.command.AttackCommand;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.command.MoveCommand;
+import org.elementarclash.units.Unit;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that picks a uniformly random valid command (or ends the turn).
+ * Used as noise baseline for balancing and as opponent for regression runs.
+ * <p>
+ * Without an explicit seed the policy draws from the game's POLICY stream,
+ * so a seeded game replays identically including the AI decisions.
+ *
+ * @author mmukex
+ */
+public class RandomPolicy implements SimulationPolicy {
+
+    private final RandomGenerator random;
+
+    public RandomPolicy() {
+        this.random = null;
+    }
+
+    public RandomPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Command nextCommand(Game game) {
+        List<Command> candidates = new ArrayList<>();
+
+        for (Unit unit : game.getUnitsOfFaction(game.getActiveFaction())) {
+            if (!unit.isAlive() || unit.hasNoActionsLeft()) {
+                continue;
+            }
+            addAttackCandidates(game, unit, candidates);
+            addMoveCandidates(game, unit, candidates);
+        }
+
+        // Index == size ends the turn
+        RandomGenerator source = random != null ? random : game.getRandom().policy();
+        int choice = source.nextInt(candidates.size() + 1);
+        return choice < candidates.size() ? candidates.get(choice) : null;
+    }
+
+    private void addAttackCandidates(Game game, Unit unit, List<Command> candidates) {
+        for (Unit target : game.getVisibility().attackableEnemies(unit)) {
+            candidates.add(new AttackCommand(unit, target));
+        }
+    }
+
+    private void addMoveCandidates(Game game, Unit unit, List<Command> candidates) {
+        for (Position candidate : game.getReachability().reachableArea(unit).positions()) {
+            candidates.add(new MoveCommand(unit, candidate));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit composition of one faction at game start.
+ * Unit types are sorted so rosters compare independent of placement order.
+ *
+ * @author mmukex
+ */
+public record Roster(Faction faction, List<UnitType> unitTypes) {
+
+    public Roster {
+        unitTypes = unitTypes.stream().sorted().toList();
+    }
+
+    /**
+     * Captures the roster of every faction of a game (call before the game starts).
+     */
+    public static Map<Faction, Roster> of(Game game) {
+        Map<Faction, List<UnitType>> types = new EnumMap<>(Faction.class);
+        for (Unit unit : game.getUnits()) {
+            types.computeIfAbsent(unit.getFaction(), f -> new ArrayList<>()).add(unit.getType());
+        }
+
+        Map<Faction, Roster> rosters = new EnumMap<>(Faction.class);
+        types.forEach((faction, unitTypes) -> rosters.put(faction, new Roster(faction, unitTypes)));
+        return rosters;
+    }
+
+    @Override
+    public String toString() {
+        return faction.name() + " " + unitTypes;
+    }
+}
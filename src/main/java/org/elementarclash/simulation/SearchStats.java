@@ -0,0 +1,33 @@
+package org.elementarclash.simulation;
+
+/**
+ * Accumulated search effort of a search-based policy (see AlphaBetaPolicy).
+ *
+ * @param searches     number of decisions searched
+ * @param nodes        positions visited over all searches
+ * @param elapsedNanos wall-clock time spent searching
+ * @param maxDepth     deepest completed iteration (plies)
+ *
+ * @author mmukex
+ */
+public record SearchStats(int searches, long nodes, long elapsedNanos, int maxDepth) {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    public static final SearchStats EMPTY = new SearchStats(0, 0, 0, 0);
+
+    public double nodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    SearchStats merge(SearchStats other) {
+        return new SearchStats(searches + other.searches, nodes + other.nodes,
+                elapsedNanos + other.elapsedNanos, Math.max(maxDepth, other.maxDepth));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Searches: %d | Nodes: %d | %.0f nodes/s | Max depth: %d",
+                searches, nodes, nodesPerSecond(), maxDepth);
+    }
+}
@@ -0,0 +1,32 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.command.Command;
+
+/**
+ * Strategy pattern for headless decision making.
+ * Replaces ConsoleUI input when games are played by the SimulationRunner.
+ * <p>
+ * Design Pattern: Strategy (GoF #5)
+ * Why: Balancing runs, AI training and regression runs need different players
+ * (random, greedy, search-based) on top of the same game loop.
+ * <p>
+ * Implementations:
+ * - GreedyPolicy: Attacks the weakest target in range, otherwise closes distance
+ * - RandomPolicy: Picks a random valid command
+ * - AlphaBetaPolicy: Searches the coming turns (alpha-beta on a captured CompactGameState)
+ *
+ * @author mmukex
+ */
+public interface SimulationPolicy {
+
+    /**
+     * Chooses the next command for the active faction.
+     * The runner executes the command via Game.executeCommand() and asks again
+     * until the policy ends the turn.
+     *
+     * @param game current game state (active faction is game.getActiveFaction())
+     * @return next command, or null to end the turn
+     */
+    Command nextCommand(Game game);
+}
@@ -0,0 +1,52 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.units.Faction;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregated statistics of a batch of headless games.
+ * Tracks win counts per faction and throughput (games per second).
+ *
+ * @author mmukex
+ */
+public record SimulationReport(
+        int games,
+        Map<Faction, Integer> wins,
+        int draws,
+        long totalRounds,
+        long elapsedNanos
+) {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    public SimulationReport {
+        wins = Collections.unmodifiableMap(new EnumMap<>(wins));
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    public double averageRounds() {
+        return games == 0 ? 0.0 : (double) totalRounds / games;
+    }
+
+    public double winRate(Faction faction) {
+        return games == 0 ? 0.0 : (double) wins.getOrDefault(faction, 0) / games;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d | Draws: %d | Avg. rounds: %.1f | %.1f games/s%n",
+                games, draws, averageRounds(), gamesPerSecond()));
+        for (Map.Entry<Faction, Integer> entry : wins.entrySet()) {
+            sb.append(String.format("  %-6s %5d wins (%.1f%%)%n",
+                    entry.getKey().name(), entry.getValue(), winRate(entry.getKey()) * 100));
+        }
+        return sb.toString();
+    }
+}
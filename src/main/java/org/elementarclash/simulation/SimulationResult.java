@@ -0,0 +1,25 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.units.Faction;
+
+/**
+ * Outcome of a single headless game.
+ *
+ * @param winner           winning faction, null on draw (round limit reached)
+ * @param rounds           rounds played
+ * @param commandsExecuted number of successfully executed commands
+ * @param commandsRejected number of commands rejected by validation
+ *
+ * @author mmukex
+ */
+public record SimulationResult(
+        Faction winner,
+        int rounds,
+        int commandsExecuted,
+        int commandsRejected
+) {
+
+    public boolean isDraw() {
+        return winner == null;
+    }
+}
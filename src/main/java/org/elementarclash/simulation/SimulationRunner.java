@@ -0,0 +1,119 @@
+package org.elementarclash.simulation;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.command.ValidationResult;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.units.Faction;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Headless game loop for batch balancing, AI training and regression runs.
+ * Plays complete games without ConsoleUI input or ConsoleGameRenderer output,
+ * asking a SimulationPolicy for every decision.
+ * <p>
+ * Mirrors GameController.start(): startGame() → (commands → nextTurn())* → GameOver.
+ * Games that exceed the round limit are counted as draws.
+ * <p>
+ * Usage:
+ * <pre>
+ * SimulationReport report = new SimulationRunner(new GreedyPolicy())
+ *     .withPolicy(Faction.FIRE, new RandomPolicy(42L))
+ *     .withMaxRounds(200)
+ *     .runBatch(1000, () -> new RandomGameConfigurer().createRandomGame());
+ * </pre>
+ *
+ * @author mmukex
+ */
+public class SimulationRunner {
+
+    private static final int DEFAULT_MAX_ROUNDS = 100;
+
+    private final SimulationPolicy defaultPolicy;
+    private final Map<Faction, SimulationPolicy> factionPolicies = new EnumMap<>(Faction.class);
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+
+    public SimulationRunner(SimulationPolicy defaultPolicy) {
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    public SimulationRunner withPolicy(Faction faction, SimulationPolicy policy) {
+        factionPolicies.put(faction, policy);
+        return this;
+    }
+
+    public SimulationRunner withMaxRounds(int maxRounds) {
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Max rounds must be positive, got: " + maxRounds);
+        }
+        this.maxRounds = maxRounds;
+        return this;
+    }
+
+    /**
+     * Plays a single game to completion (or until the round limit).
+     *
+     * @param game freshly built game in Setup phase
+     * @return outcome of the game
+     */
+    public SimulationResult run(Game game) {
+        game.startGame();
+
+        int executed = 0;
+        int rejected = 0;
+
+        while (!isGameOver(game) && game.getRoundNumber() <= maxRounds) {
+            SimulationPolicy policy = factionPolicies.getOrDefault(game.getActiveFaction(), defaultPolicy);
+
+            Command command;
+            while (!isGameOver(game) && (command = policy.nextCommand(game)) != null) {
+                ValidationResult result = game.executeCommand(command);
+                if (!result.isValid()) {
+                    rejected++;
+                    break; // Policy proposed an illegal command: end its turn
+                }
+                executed++;
+            }
+
+            if (!isGameOver(game)) {
+                game.nextTurn();
+            }
+        }
+
+        return new SimulationResult(game.getWinner(), game.getRoundNumber(), executed, rejected);
+    }
+
+    /**
+     * Plays a batch of games sequentially and aggregates the results.
+     *
+     * @param games        number of games to play
+     * @param gameSupplier creates a new game per run (e.g. RandomGameConfigurer, GameBuilder)
+     * @return aggregated statistics including games per second
+     */
+    public SimulationReport runBatch(int games, Supplier<Game> gameSupplier) {
+        Map<Faction, Integer> wins = new EnumMap<>(Faction.class);
+        int draws = 0;
+        long totalRounds = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            SimulationResult result = run(gameSupplier.get());
+            if (result.isDraw()) {
+                draws++;
+            } else {
+                wins.merge(result.winner(), 1, Integer::sum);
+            }
+            totalRounds += result.rounds();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new SimulationReport(games, wins, draws, totalRounds, elapsed);
+    }
+
+    private boolean isGameOver(Game game) {
+        return game.getCurrentPhase() instanceof GameOverPhase;
+    }
+}
@@ -1,14 +1,11 @@
 package org.elementarclash.ui;
 
-import org.elementarclash.units.Faction;
 import org.elementarclash.game.Game;
 import org.elementarclash.game.command.AttackCommand;
 import org.elementarclash.game.command.MoveCommand;
 import org.elementarclash.units.Unit;
 import org.elementarclash.util.Position;
 
-import java.util.List;
-
 /**
  * Parses user input strings into Command objects.
  * Single Responsibility: String parsing and Command creation.
@@ -39,7 +36,7 @@ public class CommandParser {
             }
 
             String posInput = ui.promptPosition("Zielposition (z.B. 5,3): ");
-            Position target = parsePosition(posInput);
+            Position target = parsePosition(game, posInput);
 
             if (target == null) {
                 ui.showError("Ungültige Position: " + posInput);
@@ -85,35 +82,17 @@ public class CommandParser {
         }
     }
 
+    /**
+     * Looks up a unit by the id shown on the board (e.g. "F2"), constant time via the faction registry.
+     */
     private Unit findUnitById(Game game, String unitId) {
-        if (unitId == null || unitId.length() < 2) {
-            return null;
-        }
-
-        char factionChar = unitId.charAt(0);
-        String numberPart = unitId.substring(1);
-
-        Faction faction = parseFaction(factionChar);
-        if (faction == null) {
-            return null;
-        }
-
-        int unitIndex;
-        try {
-            unitIndex = Integer.parseInt(numberPart) - 1;
-        } catch (NumberFormatException e) {
+        if (unitId == null || unitId.isBlank()) {
             return null;
         }
-
-        List<Unit> units = game.getUnitsOfFaction(faction);
-        if (unitIndex < 0 || unitIndex >= units.size()) {
-            return null;
-        }
-
-        return units.get(unitIndex);
+        return game.getFactionRegistry().findById(unitId.trim());
     }
 
-    private Position parsePosition(String input) {
+    private Position parsePosition(Game game, String input) {
         if (input == null || input.isEmpty()) {
             return null;
         }
@@ -126,19 +105,12 @@ public class CommandParser {
         try {
             int x = Integer.parseInt(parts[0].trim());
             int y = Integer.parseInt(parts[1].trim());
+            if (!game.getBattlefield().isInBounds(x, y)) {
+                return null;
+            }
             return new Position(x, y);
         } catch (NumberFormatException e) {
             return null;
         }
     }
-
-    private Faction parseFaction(char c) {
-        return switch (c) {
-            case 'F' -> Faction.FIRE;
-            case 'W' -> Faction.WATER;
-            case 'E' -> Faction.EARTH;
-            case 'A' -> Faction.AIR;
-            default -> null;
-        };
-    }
 }
@@ -11,7 +11,6 @@ import org.elementarclash.game.event.*;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.bonus.SynergyBonus;
 import org.elementarclash.units.bonus.UnitDecorator;
-import org.elementarclash.util.Position;
 
 import java.util.List;
 
@@ -46,37 +45,37 @@ public class ConsoleGameRenderer implements GameRenderer, GameObserver {
     }
 
     private void renderGrid(StringBuilder sb, Game game) {
-        renderGridHeader(sb);
+        renderGridHeader(sb, game.getBattlefield());
         renderGridRows(sb, game);
     }
 
-    private void renderGridHeader(StringBuilder sb) {
+    private void renderGridHeader(StringBuilder sb, Battlefield battlefield) {
         sb.append("   ");
-        for (int x = 0; x < Battlefield.GRID_SIZE; x++) {
+        for (int x = 0; x < battlefield.getWidth(); x++) {
             sb.append(String.format("  %d  ", x));
         }
         sb.append(System.lineSeparator());
     }
 
     private void renderGridRows(StringBuilder sb, Game game) {
-        for (int y = 0; y < Battlefield.GRID_SIZE; y++) {
+        Battlefield battlefield = game.getBattlefield();
+        for (int y = 0; y < battlefield.getHeight(); y++) {
             sb.append(y).append(" |");
-            for (int x = 0; x < Battlefield.GRID_SIZE; x++) {
-                Position pos = new Position(x, y);
-                renderCell(sb, game, pos);
+            for (int x = 0; x < battlefield.getWidth(); x++) {
+                renderCell(sb, game, x, y);
             }
             sb.append(System.lineSeparator()).append(System.lineSeparator());
         }
     }
 
-    private void renderCell(StringBuilder sb, Game game, Position pos) {
-        Unit unit = game.getUnitAt(pos);
+    private void renderCell(StringBuilder sb, Game game, int x, int y) {
+        Unit unit = game.getUnitAt(x, y);
 
         if (unit != null && unit.isAlive()) {
             String unitId = unit.getId();
             sb.append(String.format("%3s |", unitId));
         } else {
-            sb.append(" ").append(game.getBattlefield().getTerrainAt(pos).getIcon()).append(" |");
+            sb.append(" ").append(game.getBattlefield().getTerrainAt(x, y).getIcon()).append(" |");
         }
     }
 
@@ -182,6 +181,7 @@ public class ConsoleGameRenderer implements GameRenderer, GameObserver {
             case UNIT_ATTACKED -> handleUnitAttacked((UnitAttackedEvent) event);
             case UNIT_DIED -> handleUnitDeath((UnitDeathEvent) event);
             case TERRAIN_CHANGED -> handleTerrainChanged((TerrainChangedEvent) event);
+            case DYNAMIC_EVENT, DECORATOR_APPLIED -> handlePhaseEvent(event);
             case TURN_ENDED -> handleTurnEnded((TurnEndedEvent) event);
             case TURN_STARTED -> handleTurnStarted((TurnStartedEvent) event);
             case GAME_STARTED -> handleGameStarted((GameStartedEvent) event);
@@ -218,6 +218,10 @@ public class ConsoleGameRenderer implements GameRenderer, GameObserver {
         System.out.println("[Terrain] " + event.getDescription());
     }
 
+    private void handlePhaseEvent(GameEvent event) {
+        System.out.println("[Event] " + event.getDescription());
+    }
+
     private void handleTurnEnded(TurnEndedEvent event) {
         System.out.println("\n" + "=".repeat(50));
         System.out.println("  " + event.getFaction().name() + "'s turn ended");
@@ -236,7 +240,11 @@ public class ConsoleGameRenderer implements GameRenderer, GameObserver {
 
     private void handleGameOver(GameOverEvent event) {
         System.out.println("\n" + "=".repeat(60));
-        System.out.println("       🏆 GAME OVER - " + event.getWinner().name() + " WINS! 🏆");
+        if (event.getWinner() == null) {
+            System.out.println("       GAME OVER - DRAW (no units left)");
+        } else {
+            System.out.println("       🏆 GAME OVER - " + event.getWinner().name() + " WINS! 🏆");
+        }
         System.out.println("=".repeat(60) + "\n");
     }
 }
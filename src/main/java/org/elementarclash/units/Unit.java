@@ -1,17 +1,20 @@
 package org.elementarclash.units;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.elementarclash.battlefield.terraineffect.TerrainEffectResult;
 import org.elementarclash.battlefield.terraineffect.TerrainVisitor;
 import org.elementarclash.units.bonus.UnitDecorator;
 import org.elementarclash.units.state.IdleState;
+import org.elementarclash.units.state.StunnedState;
 import org.elementarclash.units.state.UnitState;
 import org.elementarclash.units.strategy.attack.AttackStrategy;
 import org.elementarclash.units.strategy.attack.MeleeAttackStrategy;
 import org.elementarclash.units.strategy.movement.GroundMovementStrategy;
 import org.elementarclash.units.strategy.movement.MovementStrategy;
 import org.elementarclash.util.Position;
+import org.elementarclash.util.ZobristKeys;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,12 +25,19 @@ import java.util.List;
  * Defines common properties and behavior for all unit types.
  * <p>
  * Design Pattern: Factory Method creates instances of Unit subclasses.
+ * <p>
+ * copy() clones a unit for forked games (Game.fork()): stats, strategies and stateless
+ * states are shared, decorators and the stun state are copied.
+ * <p>
+ * Every write to position, health, state or actions recomputes the unit's Zobrist key and
+ * reports the change to the lifecycle listener, so the game keeps its state hash current
+ * (Game.getStateHash()). Decorators are not part of the key.
  *
  * @author crstmkt mmukex
  */
 @Getter
 @Setter
-public abstract class Unit {
+public abstract class Unit implements Cloneable {
     public static final int MAX_ACTIONS_PER_TURN = 2;
 
     private final String id;
@@ -35,15 +45,47 @@ public abstract class Unit {
     private final Faction faction;
     private final UnitType type;
     private final UnitStats baseStats;
-    private final List<UnitDecorator> decorators;
+    @Setter(AccessLevel.NONE)
+    private List<UnitDecorator> decorators; // replaced only in copy()
 
+    /**
+     * Identity part of the Zobrist key, equal for copies of this unit.
+     */
+    private final int hashIdentity;
 
+    @Setter(AccessLevel.NONE)
     private int actionsThisTurn;
     private int currentHealth;
     private Position position;
     private MovementStrategy movementStrategy;
     private AttackStrategy attackStrategy;
+    @Setter(AccessLevel.NONE)
     private UnitState currentState;
+    /**
+     * ZobristKeys.unit() of the current position, health, state and actions.
+     */
+    @Setter(AccessLevel.NONE)
+    private long zobristKey;
+    /**
+     * Notified when the unit dies or comes back (set by Game.addUnit, null outside a game).
+     */
+    private UnitLifecycleListener lifecycleListener;
+
+    /**
+     * Effective stats (base + decorators), recomputed lazily after invalidateStats().
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean statsValid;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int cachedAttack;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int cachedDefense;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int cachedMovement;
 
     protected Unit(String id, String name, Faction faction, UnitType type, UnitStats stats) {
         this.id = id;
@@ -56,6 +98,8 @@ public abstract class Unit {
         this.actionsThisTurn = 0;
         this.currentHealth = stats.maxHealth();
         this.currentState = IdleState.getInstance();
+        this.hashIdentity = (id.hashCode() * 31 + faction.ordinal()) * 31 + (type == null ? -1 : type.ordinal());
+        this.zobristKey = computeZobristKey();
     }
 
     public boolean isAlive() {
@@ -63,27 +107,61 @@ public abstract class Unit {
     }
 
     public void takeDamage(int damage) {
-        currentHealth -= Math.max(0, damage);
+        updateHealth(currentHealth - Math.max(0, damage));
         if (currentHealth <= 0) {
-            currentHealth = 0;
             transitionToDead();
         }
     }
 
+    /**
+     * Health the unit comes back with when it is killed, 0 if it stays dead.
+     * Units with a one-time resurrection (Phoenix) return it until it has been used.
+     */
+    public int getResurrectionHealth() {
+        return 0;
+    }
+
+    /**
+     * Restores whether the one-time resurrection is still available (state import,
+     * see CompactGameState). No-op for units without one.
+     */
+    public void setResurrectionAvailable(boolean available) {
+        // No resurrection by default
+    }
+
     public void heal(int amount) {
-        currentHealth = Math.min(baseStats.maxHealth(), currentHealth + amount);
+        updateHealth(Math.min(baseStats.maxHealth(), currentHealth + amount));
     }
 
     public void setCurrentHealth(int health) {
-        this.currentHealth = Math.clamp(0, baseStats.maxHealth(), health);
+        updateHealth(Math.clamp(health, 0, baseStats.maxHealth()));
+    }
+
+    /**
+     * Single write path for health: reports alive/dead transitions (e.g. death, Phoenix resurrection).
+     */
+    private void updateHealth(int health) {
+        boolean wasAlive = isAlive();
+        this.currentHealth = Math.max(0, health);
+        if (lifecycleListener != null && wasAlive != isAlive()) {
+            lifecycleListener.onAliveChanged(this, isAlive());
+        }
+        rehash();
+    }
+
+    public void setActionsThisTurn(int actions) {
+        this.actionsThisTurn = actions;
+        rehash();
     }
 
     public void incrementActionsThisTurn() {
         this.actionsThisTurn++;
+        rehash();
     }
 
     public void decrementActionsThisTurn() {
         this.actionsThisTurn--;
+        rehash();
     }
 
     /**
@@ -95,10 +173,64 @@ public abstract class Unit {
         // State Pattern
         currentState = currentState.transitionToIdle(this);
         currentState.onTurnEnd(this);
+        rehash();
+    }
+
+    /**
+     * Moving changes which allies are adjacent (synergy), so cached stats are dropped.
+     */
+    public void setPosition(Position position) {
+        this.position = position;
+        invalidateStats();
+        rehash();
+    }
+
+    /**
+     * Recomputes the Zobrist key after a write and reports old XOR new key to the listener.
+     */
+    private void rehash() {
+        long key = computeZobristKey();
+        long delta = key ^ zobristKey;
+        if (delta != 0) {
+            zobristKey = key;
+            if (lifecycleListener != null) {
+                lifecycleListener.onZobristKeyChanged(this, delta);
+            }
+        }
+    }
+
+    private long computeZobristKey() {
+        int stunRounds = currentState instanceof StunnedState stunned ? stunned.getRemainingRounds() : 0;
+        return ZobristKeys.unit(hashIdentity,
+                position == null ? -1 : position.x(), position == null ? -1 : position.y(),
+                currentHealth, currentState.getOrdinal(), stunRounds, actionsThisTurn);
+    }
+
+    /**
+     * Independent copy of this unit (same id, type and subclass state), not part of any game:
+     * no lifecycle listener, caller places it. Subclasses with mutable reference fields must
+     * override and copy them; primitive fields are copied by clone().
+     */
+    public Unit copy() {
+        Unit copy;
+        try {
+            copy = (Unit) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unit must be cloneable", e);
+        }
+        copy.decorators = new ArrayList<>(decorators.size());
+        for (UnitDecorator decorator : decorators) {
+            copy.decorators.add(decorator.copy());
+        }
+        copy.currentState = currentState.copy();
+        copy.lifecycleListener = null;
+        copy.statsValid = false;
+        return copy;
     }
 
     public void setState(UnitState newState) {
         this.currentState = newState;
+        rehash();
     }
 
     /**
@@ -115,6 +247,7 @@ public abstract class Unit {
      */
     public void startMoving() {
         currentState = currentState.transitionToMoving(this);
+        rehash();
     }
 
     /**
@@ -123,6 +256,7 @@ public abstract class Unit {
      */
     public void startAttacking() {
         currentState = currentState.transitionToAttacking(this);
+        rehash();
     }
 
     /**
@@ -131,6 +265,7 @@ public abstract class Unit {
      */
     public void stun(int rounds) {
         currentState = currentState.transitionToStunned(this, rounds);
+        rehash();
     }
 
     /**
@@ -139,6 +274,7 @@ public abstract class Unit {
      */
     private void transitionToDead() {
         currentState = currentState.transitionToDead(this);
+        rehash();
     }
 
     public MovementStrategy getMovementStrategy() {
@@ -190,6 +326,7 @@ public abstract class Unit {
      */
     public void addDecorator(UnitDecorator decorator) {
         decorators.add(decorator);
+        invalidateStats();
     }
 
     /**
@@ -197,6 +334,7 @@ public abstract class Unit {
      */
     public void removeDecorator(UnitDecorator decorator) {
         decorators.remove(decorator);
+        invalidateStats();
     }
 
     /**
@@ -204,6 +342,7 @@ public abstract class Unit {
      */
     public void removeDecoratorsOfType(Class<? extends UnitDecorator> decoratorClass) {
         decorators.removeIf(decoratorClass::isInstance);
+        invalidateStats();
     }
 
     /**
@@ -211,27 +350,62 @@ public abstract class Unit {
      */
     public void removeExpiredDecorators() {
         decorators.removeIf(UnitDecorator::isExpired);
+        invalidateStats();
     }
 
     /**
-     * Get all decorators (for debugging/UI).
+     * End of turn: tick all decorators (durations) and drop the expired ones.
      */
-    public List<UnitDecorator> getDecorators() {
-        return new ArrayList<>(decorators);
+    public void tickDecorators() {
+        for (UnitDecorator decorator : decorators) {
+            decorator.tick();
+        }
+        removeExpiredDecorators();
     }
 
     /**
-     * Get total attack including all decorator bonuses.
-     * REPLACES: baseStats.attack()
+     * Drops the cached effective stats. Called on every decorator change and by the SynergyEngine
+     * when the unit's synergy bonus changes (an adjacent ally arrives, leaves or dies).
+     * Call it as well after mutating a decorator directly.
      */
-    public int getAttack() {
+    public void invalidateStats() {
+        statsValid = false;
+    }
+
+    private void ensureStats() {
+        if (statsValid) {
+            return;
+        }
         int attack = baseStats.attack();
+        int defense = baseStats.defense();
+        int movement = baseStats.movement();
         for (UnitDecorator decorator : decorators) {
             if (!decorator.isExpired()) {
                 attack += decorator.getAttackBonus(this);
+                defense += decorator.getDefenseBonus(this);
+                movement += decorator.getMovementBonus(this);
             }
         }
-        return attack;
+        cachedAttack = attack;
+        cachedDefense = defense;
+        cachedMovement = movement;
+        statsValid = true;
+    }
+
+    /**
+     * Get all decorators (for debugging/UI).
+     */
+    public List<UnitDecorator> getDecorators() {
+        return new ArrayList<>(decorators);
+    }
+
+    /**
+     * Get total attack including all decorator bonuses.
+     * REPLACES: baseStats.attack()
+     */
+    public int getAttack() {
+        ensureStats();
+        return cachedAttack;
     }
 
     /**
@@ -239,13 +413,8 @@ public abstract class Unit {
      * REPLACES: baseStats.defense()
      */
     public int getDefense() {
-        int defense = baseStats.defense();
-        for (UnitDecorator decorator : decorators) {
-            if (!decorator.isExpired()) {
-                defense += decorator.getDefenseBonus(this);
-            }
-        }
-        return defense;
+        ensureStats();
+        return cachedDefense;
     }
 
     /**
@@ -253,12 +422,7 @@ public abstract class Unit {
      * REPLACES: baseStats.movement()
      */
     public int getMovement() {
-        int movement = baseStats.movement();
-        for (UnitDecorator decorator : decorators) {
-            if (!decorator.isExpired()) {
-                movement += decorator.getMovementBonus(this);
-            }
-        }
-        return Math.max(1, movement); // Minimum 1 Movement
+        ensureStats();
+        return Math.max(1, cachedMovement); // Minimum 1 Movement
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.elementarclash.units;
+
+/**
+ * Callback for alive/dead transitions and state hash changes of a unit.
+ * Lets the owning game keep alive counts and its state hash without scanning all units.
+ *
+ * @author mmukex
+ */
+public interface UnitLifecycleListener {
+
+    /**
+     * @param unit  unit whose health crossed zero
+     * @param alive true if the unit came back (e.g. Phoenix resurrection), false if it died
+     */
+    void onAliveChanged(Unit unit, boolean alive);
+
+    /**
+     * Position, health, state or actions of the unit changed.
+     *
+     * @param delta old Zobrist key XOR new one (see Unit.getZobristKey())
+     */
+    default void onZobristKeyChanged(Unit unit, long delta) {
+        // Not tracked
+    }
+}
@@ -1,18 +1,18 @@
 package org.elementarclash.units.bonus;
 
 import org.elementarclash.game.Game;
+import org.elementarclash.game.event.DecoratorAppliedEvent;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.bonus.temporary.*;
 
 import java.util.List;
-import java.util.Random;
 import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * @author crstmkt
  */
 public class BuffDebuffManager {
-    private static final Random RANDOM = new Random();
 
     // Wahrscheinlichkeits-Parameter (konfigurierbar)
     private static final double BASE_CHANCE = 0.03;      // 3%
@@ -45,8 +45,9 @@ public class BuffDebuffManager {
         // 1. Wahrscheinlichkeit berechnen
         double chance = calculateChance(currentRound);
 
-        // 2. Würfeln
-        if (RANDOM.nextDouble() > chance) {
+        // 2. Würfeln (mit dem Zufallsgenerator des Spiels, nicht global)
+        RandomGenerator random = game.getRandom().buffs();
+        if (random.nextDouble() > chance) {
             return; // Kein Effekt dieses Mal
         }
 
@@ -60,21 +61,19 @@ public class BuffDebuffManager {
             return; // Keine gültigen Targets
         }
 
-        Unit target = eligibleUnits.get(RANDOM.nextInt(eligibleUnits.size()));
+        Unit target = eligibleUnits.get(random.nextInt(eligibleUnits.size()));
 
         // 4. Buff oder Debuff? (50/50)
-        boolean isBuff = RANDOM.nextBoolean();
+        boolean isBuff = random.nextBoolean();
         // 5. Zufälligen Effekt aus Pool wählen
         List<Supplier<UnitDecorator>> pool = isBuff ? BUFF_POOL : DEBUFF_POOL;
-        UnitDecorator decorator = pool.get(RANDOM.nextInt(pool.size())).get();
+        UnitDecorator decorator = pool.get(random.nextInt(pool.size())).get();
 
         // 6. Decorator anwenden
         target.addDecorator(decorator);
 
-        // 8. Log-Ausgabe
-        String effectType = isBuff ? "BUFF" : "DEBUFF";
-        System.out.println("[Event] " + effectType + " applied: " +
-                target.getName() + " received " + decorator.getDescription());
+        // 7. Observer benachrichtigen (Ausgabe übernimmt der Renderer)
+        game.notifyObservers(new DecoratorAppliedEvent(target, decorator, isBuff));
     }
 
     /**
@@ -1,47 +1,54 @@
 package org.elementarclash.units.bonus;
 
-import org.elementarclash.game.Game;
-import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
 
 /**
  * Synergy bonus from adjacent allied units.
  * <p>
  * Example (README): "Benachbarte Feuer-Einheiten gewähren einander +1 Angriff"
+ * <p>
+ * One instance stays attached to a unit for its whole game. The adjacent-ally count is
+ * pushed in by the SynergyEngine whenever a neighbour arrives, leaves or dies, so the
+ * bonuses below are plain field reads (no neighbour scan per stat read).
  *
- * @author crstmkt
+ * @author crstmkt mmukex
  */
 public class SynergyBonus extends UnitDecorator {
 
-    private final Game game;
-    private final Faction faction;
+    private final SynergyRule rule;
+    private int adjacentAllies;
+    private int attackBonus;
+    private int defenseBonus;
 
-    public SynergyBonus(Game game, Faction faction) {
-        this.game = game;
-        this.faction = faction;
+    public SynergyBonus(SynergyRule rule) {
+        this.rule = rule;
     }
 
-    @Override
-    public int getAttackBonus(Unit unit) {
-        // Fire faction: +1 attack per adjacent ally
-        if (faction == Faction.FIRE) {
-            long adjacentAllies = game.getUnitsAdjacentTo(unit.getPosition())
-                    .stream()
-                    .filter(u -> u.getFaction() == faction)
-                    .filter(Unit::isAlive)
-                    .count();
+    public int getAdjacentAllies() {
+        return adjacentAllies;
+    }
 
-            return (int) adjacentAllies;
-        }
+    /**
+     * @return whether the bonus changed (the unit's cached stats must be invalidated)
+     */
+    public boolean setAdjacentAllies(int adjacentAllies) {
+        this.adjacentAllies = adjacentAllies;
+        int newAttack = rule.attackBonus(adjacentAllies);
+        int newDefense = rule.defenseBonus(adjacentAllies);
+        boolean changed = newAttack != attackBonus || newDefense != defenseBonus;
+        this.attackBonus = newAttack;
+        this.defenseBonus = newDefense;
+        return changed;
+    }
 
-        // Other factions: no synergy bonus (for now)
-        return 0;
+    @Override
+    public int getAttackBonus(Unit unit) {
+        return attackBonus;
     }
 
     @Override
     public int getDefenseBonus(Unit unit) {
-        // Future: Earth faction could have defensive synergy
-        return 0;
+        return defenseBonus;
     }
 
     @Override
@@ -51,12 +58,12 @@ public class SynergyBonus extends UnitDecorator {
 
     @Override
     public boolean isExpired() {
-        return false; // Recalculated dynamically
+        return false; // Permanent, kept up to date by the SynergyEngine
     }
 
     @Override
     public void tick() {
-        // No tick logic (dynamic calculation)
+        // No tick logic (updated on neighbour changes)
     }
 
     @Override
@@ -68,4 +75,4 @@ public class SynergyBonus extends UnitDecorator {
     public String getDescription() {
         return "Synergy bonus from adjacent allies";
     }
-}
\ No newline at end of file
+}
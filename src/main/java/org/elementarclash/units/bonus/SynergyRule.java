@@ -0,0 +1,35 @@
+package org.elementarclash.units.bonus;
+
+import org.elementarclash.units.Faction;
+
+/**
+ * Synergy a faction gets from adjacent allies: a flat bonus per living ally on the
+ * four orthogonal neighbours, capped at maxAllies.
+ * <p>
+ * Defaults (README): "Benachbarte Feuer-Einheiten gewähren einander +1 Angriff";
+ * the other factions have no synergy unless configured via GameBuilder.withSynergyRule().
+ *
+ * @author mmukex
+ */
+public record SynergyRule(int attackPerAlly, int defensePerAlly, int maxAllies) {
+
+    public static final SynergyRule NONE = new SynergyRule(0, 0, 0);
+
+    public SynergyRule {
+        if (maxAllies < 0 || maxAllies > 4) {
+            throw new IllegalArgumentException("maxAllies must be 0-4, got: " + maxAllies);
+        }
+    }
+
+    public static SynergyRule defaultFor(Faction faction) {
+        return faction == Faction.FIRE ? new SynergyRule(1, 0, 4) : NONE;
+    }
+
+    public int attackBonus(int adjacentAllies) {
+        return attackPerAlly * Math.min(adjacentAllies, maxAllies);
+    }
+
+    public int defenseBonus(int adjacentAllies) {
+        return defensePerAlly * Math.min(adjacentAllies, maxAllies);
+    }
+}
@@ -19,7 +19,7 @@ import org.elementarclash.units.Unit;
  * @author crstmkt
  *
  */
-public abstract class UnitDecorator {
+public abstract class UnitDecorator implements Cloneable {
 
     /**
      * Attack bonus from this decorator.
@@ -56,4 +56,16 @@ public abstract class UnitDecorator {
      * Get description for UI (e.g., "+2 Attack on Lava").
      */
     public abstract String getDescription();
+
+    /**
+     * Independent copy for a copied unit (Unit.copy()). Field-by-field clone, which covers
+     * decorators holding primitives (durations); override if a decorator holds mutable objects.
+     */
+    public UnitDecorator copy() {
+        try {
+            return (UnitDecorator) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Decorator must be cloneable", e);
+        }
+    }
 }
\ No newline at end of file
@@ -1,19 +1,12 @@
 package org.elementarclash.units.bonus.temporary;
 
 import org.elementarclash.units.Unit;
-import org.elementarclash.units.bonus.UnitDecorator;
 
 /**
  * @author crstmkt
  */
-public class AttackDebuffDecorator extends UnitDecorator {
+public class AttackDebuffDecorator extends TimedDecorator {
     private static final int BONUS = -2;
-    private static final int DURATION = 2;
-    private int remainingRounds;
-
-    public AttackDebuffDecorator() {
-        this.remainingRounds = DURATION;
-    }
 
     @Override
     public int getAttackBonus(Unit unit) {
@@ -30,16 +23,6 @@ public class AttackDebuffDecorator extends UnitDecorator {
         return 0;
     }
 
-    @Override
-    public boolean isExpired() {
-        return remainingRounds <= 0;
-    }
-
-    @Override
-    public void tick() {
-        remainingRounds--;
-    }
-
     @Override
     public String getDecoratorName() {
         return "Attack Debuff";
@@ -47,6 +30,6 @@ public class AttackDebuffDecorator extends UnitDecorator {
 
     @Override
     public String getDescription() {
-        return "-2 Attack (" + remainingRounds + " rounds left)";
+        return "-2 Attack (" + getRemainingRounds() + " rounds left)";
     }
 }
\ No newline at end of file
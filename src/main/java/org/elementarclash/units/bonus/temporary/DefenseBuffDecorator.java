@@ -1,19 +1,12 @@
 package org.elementarclash.units.bonus.temporary;
 
 import org.elementarclash.units.Unit;
-import org.elementarclash.units.bonus.UnitDecorator;
 
 /**
  * @author crstmkt
  */
-public class DefenseBuffDecorator extends UnitDecorator {
+public class DefenseBuffDecorator extends TimedDecorator {
     private static final int BONUS = 2;
-    private static final int DURATION = 2;
-    private int remainingRounds;
-
-    public DefenseBuffDecorator() {
-        this.remainingRounds = DURATION;
-    }
 
     @Override
     public int getAttackBonus(Unit unit) { return 0;}
@@ -28,16 +21,6 @@ public class DefenseBuffDecorator extends UnitDecorator {
         return 0;
     }
 
-    @Override
-    public boolean isExpired() {
-        return remainingRounds <= 0;
-    }
-
-    @Override
-    public void tick() {
-        remainingRounds--;
-    }
-
     @Override
     public String getDecoratorName() {
         return "Defense Buff";
@@ -45,6 +28,6 @@ public class DefenseBuffDecorator extends UnitDecorator {
 
     @Override
     public String getDescription() {
-        return "+2 Defense (" + remainingRounds + " rounds left)";
+        return "+2 Defense (" + getRemainingRounds() + " rounds left)";
     }
 }
\ No newline at end of file
@@ -1,19 +1,12 @@
 package org.elementarclash.units.bonus.temporary;
 
 import org.elementarclash.units.Unit;
-import org.elementarclash.units.bonus.UnitDecorator;
 
 /**
  * @author crstmkt
  */
-public class SlowedDecorator extends UnitDecorator {
+public class SlowedDecorator extends TimedDecorator {
     private static final int MOVEMENT_PENALTY = -1;
-    private static final int DURATION = 2;
-    private int remainingRounds;
-
-    public SlowedDecorator() {
-        this.remainingRounds = DURATION;
-    }
 
     @Override
     public int getMovementBonus(Unit unit) {
@@ -30,16 +23,6 @@ public class SlowedDecorator extends UnitDecorator {
         return 0;
     }
 
-    @Override
-    public boolean isExpired() {
-        return remainingRounds <= 0;
-    }
-
-    @Override
-    public void tick() {
-        remainingRounds--;
-    }
-
     @Override
     public String getDecoratorName() {
         return "Slowed";
@@ -47,6 +30,6 @@ public class SlowedDecorator extends UnitDecorator {
 
     @Override
     public String getDescription() {
-        return "Movement -1 (" + remainingRounds + " rounds left)";
+        return "Movement -1 (" + getRemainingRounds() + " rounds left)";
     }
 }
\ No newline at end of file
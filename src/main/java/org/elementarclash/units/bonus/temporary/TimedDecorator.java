@@ -0,0 +1,44 @@
+package org.elementarclash.units.bonus.temporary;
+
+import org.elementarclash.units.bonus.UnitDecorator;
+
+/**
+ * Base class of the temporary buffs and debuffs: a flat modifier that lasts a fixed
+ * number of turns. tick() counts down at the end of every turn, the unit drops the
+ * decorator once it is expired.
+ * <p>
+ * The remaining duration is readable and writable so state snapshots (CompactGameState)
+ * can export and restore it.
+ *
+ * @author crstmkt mmukex
+ */
+public abstract class TimedDecorator extends UnitDecorator {
+    private static final int DURATION = 2;
+    private int remainingRounds;
+
+    protected TimedDecorator() {
+        this.remainingRounds = DURATION;
+    }
+
+    public int getRemainingRounds() {
+        return remainingRounds;
+    }
+
+    /**
+     * Restores a duration (state import); the owning unit must invalidate its stats if the
+     * decorator becomes expired.
+     */
+    public void setRemainingRounds(int remainingRounds) {
+        this.remainingRounds = remainingRounds;
+    }
+
+    @Override
+    public boolean isExpired() {
+        return remainingRounds <= 0;
+    }
+
+    @Override
+    public void tick() {
+        remainingRounds--;
+    }
+}
@@ -52,6 +52,11 @@ public class AttackingState implements UnitState {
         // Transition back to idle at end of turn
     }
 
+    @Override
+    public int getOrdinal() {
+        return 2;
+    }
+
     @Override
     public String getStateName() {
         return "Attacking";
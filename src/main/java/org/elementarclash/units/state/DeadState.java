@@ -55,6 +55,11 @@ public class DeadState implements UnitState {
         // No logic for dead units
     }
 
+    @Override
+    public int getOrdinal() {
+        return 4;
+    }
+
     @Override
     public String getStateName() {
         return "Dead";
@@ -58,6 +58,11 @@ public class IdleState implements UnitState {
         // No special logic for idle state
     }
 
+    @Override
+    public int getOrdinal() {
+        return 0;
+    }
+
     @Override
     public String getStateName() {
         return "Idle";
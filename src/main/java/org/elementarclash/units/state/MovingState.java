@@ -55,6 +55,11 @@ public class MovingState implements UnitState {
         // Transition back to idle at end of turn
     }
 
+    @Override
+    public int getOrdinal() {
+        return 1;
+    }
+
     @Override
     public String getStateName() {
         return "Moving";
@@ -58,6 +58,16 @@ public class StunnedState implements UnitState {
         remainingRounds--;
     }
 
+    @Override
+    public UnitState copy() {
+        return new StunnedState(remainingRounds);
+    }
+
+    @Override
+    public int getOrdinal() {
+        return 3;
+    }
+
     @Override
     public String getStateName() {
         return "Stunned (" + remainingRounds + " rounds)";
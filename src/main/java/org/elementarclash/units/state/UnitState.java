@@ -67,4 +67,17 @@ public interface UnitState {
      * Get state name for debugging/logging.
      */
     String getStateName();
+
+    /**
+     * Stable number of the state kind: Idle 0, Moving 1, Attacking 2, Stunned 3, Dead 4
+     * (state hashing, CompactGameState).
+     */
+    int getOrdinal();
+
+    /**
+     * State for a copied unit (Unit.copy()). Stateless singletons return themselves.
+     */
+    default UnitState copy() {
+        return this;
+    }
 }
\ No newline at end of file
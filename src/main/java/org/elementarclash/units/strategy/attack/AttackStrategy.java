@@ -1,5 +1,6 @@
 package org.elementarclash.units.strategy.attack;
 
+import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.game.Game;
 import org.elementarclash.units.Unit;
 
@@ -32,6 +33,36 @@ public interface AttackStrategy {
      */
     boolean canAttack(Game game, Unit attacker, Unit target);
 
+    /**
+     * Range and line-of-sight part of canAttack() for a target cell,
+     * regardless of who stands there (used for visibility maps).
+     *
+     * @param game     game instance for terrain checks
+     * @param attacker attacking unit (at its current position)
+     * @param x        target cell column
+     * @param y        target cell row
+     * @return true if a living enemy on that cell could be attacked
+     */
+    boolean isWithinReach(Game game, Unit attacker, int x, int y);
+
+    /**
+     * isWithinReach() on plain cell coordinates, for state models without Unit objects
+     * (CompactGameState). Terrain is read from the given battlefield.
+     *
+     * @param battlefield terrain for line-of-sight checks
+     * @param range       attack range of the attacker (getAttackRange())
+     * @return true if a living enemy on (toX, toY) could be attacked from (fromX, fromY)
+     */
+    boolean isWithinReach(Battlefield battlefield, int range, int fromX, int fromY, int toX, int toY);
+
+    /**
+     * Whether terrain between attacker and target can block the attack.
+     * Visibility maps of such units are refreshed when forests appear or burn.
+     */
+    default boolean requiresLineOfSight() {
+        return false;
+    }
+
     /**
      * Calculates base damage before modifiers.
      * Default: returns attacker's attack stat.
@@ -0,0 +1,91 @@
+package org.elementarclash.units.strategy.attack;
+
+import org.elementarclash.battlefield.Battlefield;
+
+/**
+ * Precomputed line-of-sight rays keyed by attacker→target offset (dx, dy).
+ * <p>
+ * The sampled line between two units only depends on their offset, so the intermediate
+ * cells (endpoints excluded, same integer sampling as before) are computed once per offset
+ * and stored as flat step arrays. A check is then a few forest-mask bit tests, no allocation.
+ * <p>
+ * The table covers offsets up to the largest unit range (Frost Mage / Storm Caller, 4).
+ * A larger query (e.g. a future long-range unit) publishes a bigger table once; instances
+ * are immutable, so the shared table is safe for parallel simulations (MatchFarm).
+ *
+ * @author mmukex
+ */
+final class LineOfSightTable {
+
+    private static final int MAX_UNIT_RANGE = 4;
+
+    private static volatile LineOfSightTable shared = new LineOfSightTable(MAX_UNIT_RANGE);
+
+    private final int radius;
+    private final int side;
+    private final int[] rayStarts;
+    private final int[] stepsX;
+    private final int[] stepsY;
+
+    private LineOfSightTable(int radius) {
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.rayStarts = new int[side * side + 1];
+
+        int total = 0;
+        for (int dy = -radius; dy <= radius; dy++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                total += Math.max(0, Math.max(Math.abs(dx), Math.abs(dy)) - 1);
+            }
+        }
+        this.stepsX = new int[total];
+        this.stepsY = new int[total];
+
+        int cursor = 0;
+        for (int dy = -radius; dy <= radius; dy++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                rayStarts[key(dx, dy)] = cursor;
+                int steps = Math.max(Math.abs(dx), Math.abs(dy));
+                // Sample i = 0 and i = steps are the endpoints; the major axis makes all others distinct
+                for (int i = 1; i < steps; i++) {
+                    stepsX[cursor] = (dx * i) / steps;
+                    stepsY[cursor] = (dy * i) / steps;
+                    cursor++;
+                }
+            }
+        }
+        rayStarts[side * side] = cursor;
+    }
+
+    /**
+     * Shared table covering offsets up to the given Chebyshev distance.
+     */
+    static LineOfSightTable covering(int distance) {
+        LineOfSightTable table = shared;
+        if (distance > table.radius) {
+            table = new LineOfSightTable(distance);
+            shared = table;
+        }
+        return table;
+    }
+
+    /**
+     * @return true if no forest lies strictly between both cells
+     */
+    boolean isClear(Battlefield battlefield, int fromX, int fromY, int toX, int toY) {
+        int origin = battlefield.indexOf(fromX, fromY);
+        int width = battlefield.getWidth();
+        int key = key(toX - fromX, toY - fromY);
+
+        for (int step = rayStarts[key]; step < rayStarts[key + 1]; step++) {
+            if (battlefield.isForest(origin + stepsY[step] * width + stepsX[step])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int key(int dx, int dy) {
+        return (dy + radius) * side + (dx + radius);
+    }
+}
@@ -1,7 +1,9 @@
 package org.elementarclash.units.strategy.attack;
 
+import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.game.Game;
 import org.elementarclash.units.Unit;
+import org.elementarclash.util.Position;
 
 import java.util.List;
 
@@ -31,7 +33,18 @@ public class MeleeAttackStrategy implements AttackStrategy {
             return false;
         }
 
-        return attacker.getPosition().manhattanDistanceTo(target.getPosition()) <= getAttackRange(attacker);
+        return isWithinReach(game, attacker, target.getPosition().x(), target.getPosition().y());
+    }
+
+    @Override
+    public boolean isWithinReach(Game game, Unit attacker, int x, int y) {
+        Position from = attacker.getPosition();
+        return isWithinReach(game.getBattlefield(), getAttackRange(attacker), from.x(), from.y(), x, y);
+    }
+
+    @Override
+    public boolean isWithinReach(Battlefield battlefield, int range, int fromX, int fromY, int toX, int toY) {
+        return Math.abs(toX - fromX) + Math.abs(toY - fromY) <= range;
     }
 
     @Override
@@ -1,12 +1,10 @@
 package org.elementarclash.units.strategy.attack;
 
-import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.game.Game;
 import org.elementarclash.units.Unit;
 import org.elementarclash.util.Position;
 
-import java.util.List;
-
 /**
  * Ranged attack strategy for long-distance combat (range 3-4).
  * Includes line of sight validation - forest terrain blocks attacks unless unit has piercing ability.
@@ -41,52 +39,41 @@ public class RangedAttackStrategy implements AttackStrategy {
             return false;
         }
 
-        int attackRange = getAttackRange(attacker);
-        if (!attacker.getPosition().isInRange(target.getPosition(), attackRange)) {
-            return false;
-        }
-
-        return hasLineOfSight(game, attacker.getPosition(), target.getPosition());
+        return isWithinReach(game, attacker, target.getPosition().x(), target.getPosition().y());
     }
 
-    private boolean hasLineOfSight(Game game, Position from, Position to) {
-        if (ignoresForestDefense) {
-            return true;
-        }
-
-        Position[] pathPositions = getPathPositions(from, to);
-
-        for (Position pos : pathPositions) {
-            if (pos.equals(from) || pos.equals(to)) {
-                continue;
-            }
+    @Override
+    public boolean isWithinReach(Game game, Unit attacker, int x, int y) {
+        Position from = attacker.getPosition();
+        return isWithinReach(game.getBattlefield(), getAttackRange(attacker), from.x(), from.y(), x, y);
+    }
 
-            Terrain terrain = game.getTerrainAt(pos);
-            if (terrain == Terrain.FOREST) {
-                return false;
-            }
+    @Override
+    public boolean isWithinReach(Battlefield battlefield, int range, int fromX, int fromY, int toX, int toY) {
+        int dx = toX - fromX;
+        int dy = toY - fromY;
+        if (dx * dx + dy * dy > range * range) {
+            return false;
         }
 
-        return true;
+        return hasLineOfSight(battlefield, fromX, fromY, toX, toY);
     }
 
-    private Position[] getPathPositions(Position from, Position to) {
-        int dx = to.x() - from.x();
-        int dy = to.y() - from.y();
-        int steps = Math.max(Math.abs(dx), Math.abs(dy));
-
-        if (steps == 0) {
-            return new Position[]{from};
-        }
+    @Override
+    public boolean requiresLineOfSight() {
+        return !ignoresForestDefense;
+    }
 
-        Position[] path = new Position[steps + 1];
-        for (int i = 0; i <= steps; i++) {
-            int x = from.x() + (dx * i) / steps;
-            int y = from.y() + (dy * i) / steps;
-            path[i] = new Position(x, y);
+    /**
+     * Forest strictly between both units blocks the shot (precomputed ray + forest bitmask).
+     */
+    private boolean hasLineOfSight(Battlefield battlefield, int fromX, int fromY, int toX, int toY) {
+        if (ignoresForestDefense) {
+            return true;
         }
 
-        return path;
+        int distance = Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+        return LineOfSightTable.covering(distance).isClear(battlefield, fromX, fromY, toX, toY);
     }
 
     @Override
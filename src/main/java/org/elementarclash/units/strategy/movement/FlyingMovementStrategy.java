@@ -17,6 +17,7 @@ import org.elementarclash.util.Position;
  * Flying advantages:
  * - No terrain penalties (forest, ice, lava all cost 1.0)
  * - Can traverse difficult terrain without slowdown
+ * - Flies over other units (cannot land on them)
  * - Effective movement range equals base movement stat
  *
  * @author mmukex
@@ -31,12 +32,12 @@ public class FlyingMovementStrategy implements MovementStrategy {
     }
 
     @Override
-    public boolean canMoveTo(Game game, Position currentPosition, Position targetPosition, int maxMovement) {
-        if (game.isPositionOccupied(targetPosition)) {
-            return false;
-        }
+    public boolean passesThroughUnits() {
+        return true;
+    }
 
-        int distance = currentPosition.manhattanDistanceTo(targetPosition);
-        return distance <= maxMovement;
+    @Override
+    public boolean canMoveTo(Game game, Position currentPosition, Position targetPosition, int maxMovement) {
+        return game.getReachability().canReach(this, currentPosition, targetPosition, maxMovement);
     }
 }
@@ -70,17 +70,12 @@ public class GroundMovementStrategy implements MovementStrategy {
         };
     }
 
+    /**
+     * Sums the terrain cost of every entered cell along the cheapest path
+     * (Dijkstra, cached by the game's ReachabilityEngine). Occupied cells block the path.
+     */
     @Override
     public boolean canMoveTo(Game game, Position currentPosition, Position targetPosition, int maxMovement) {
-        if (game.isPositionOccupied(targetPosition)) {
-            return false;
-        }
-
-        Terrain targetTerrain = game.getTerrainAt(targetPosition);
-        int manhattanDistance = currentPosition.manhattanDistanceTo(targetPosition);
-        double terrainCost = calculateMovementCost(targetTerrain);
-        double totalCost = manhattanDistance * terrainCost;
-
-        return totalCost <= maxMovement;
+        return game.getReachability().canReach(this, currentPosition, targetPosition, maxMovement);
     }
 }
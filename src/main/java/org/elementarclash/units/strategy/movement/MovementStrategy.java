@@ -2,6 +2,7 @@ package org.elementarclash.units.strategy.movement;
 
 import org.elementarclash.battlefield.Terrain;
 import org.elementarclash.game.Game;
+import org.elementarclash.pathfinding.MovementPath;
 import org.elementarclash.util.Position;
 
 /**
@@ -29,9 +30,19 @@ public interface MovementStrategy {
      */
     double calculateMovementCost(Terrain terrain);
 
+    /**
+     * Whether the unit may cross cells occupied by other units (it can never end there).
+     * Ground units are blocked by occupied cells; flying units pass over them.
+     *
+     * @return true if occupied cells are passable
+     */
+    default boolean passesThroughUnits() {
+        return false;
+    }
+
     /**
      * Validates if unit can reach target position within movement range.
-     * Checks terrain costs, obstacles, and total distance.
+     * Checks terrain costs along the cheapest path, obstacles, and total distance.
      *
      * @param game            game instance for battlefield access
      * @param currentPosition starting position
@@ -40,4 +51,18 @@ public interface MovementStrategy {
      * @return true if move is valid
      */
     boolean canMoveTo(Game game, Position currentPosition, Position targetPosition, int maxMovement);
+
+    /**
+     * Finds the cheapest route to the target within the movement budget (A*, see PathFinder).
+     * Larger budgets than the unit's movement allow planning multi-turn approaches.
+     *
+     * @param game            game instance for battlefield access
+     * @param currentPosition starting position
+     * @param targetPosition  destination position (must be free)
+     * @param maxMovement     maximum total path cost
+     * @return route and cost, or null if the target is unreachable within budget
+     */
+    default MovementPath findPath(Game game, Position currentPosition, Position targetPosition, int maxMovement) {
+        return game.getPathFinder().findPath(this, currentPosition, targetPosition, maxMovement);
+    }
 }
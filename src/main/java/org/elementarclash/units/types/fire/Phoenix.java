@@ -41,12 +41,21 @@ class Phoenix extends Unit {
         super.takeDamage(damage);
 
         if (!isAlive() && !hasResurrected) {
-            int resurrectionHealth = (int) (getBaseStats().maxHealth() * RESURRECTION_HEALTH_PERCENT);
-            setCurrentHealth(resurrectionHealth);
+            setCurrentHealth(getResurrectionHealth());
             hasResurrected = true;
         }
     }
 
+    @Override
+    public int getResurrectionHealth() {
+        return hasResurrected ? 0 : (int) (getBaseStats().maxHealth() * RESURRECTION_HEALTH_PERCENT);
+    }
+
+    @Override
+    public void setResurrectionAvailable(boolean available) {
+        this.hasResurrected = !available;
+    }
+
     @Override
     public String getDescription() {
         return "Fliegend, Wiederbelebung 1× (50% LP)";
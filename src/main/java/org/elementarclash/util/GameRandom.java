@@ -0,0 +1,82 @@
+package org.elementarclash.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-game random source with independent named sub-streams.
+ * <p>
+ * Every consumer (terrain, events, buffs, AI) draws from its own stream,
+ * split off the root generator in a fixed order at construction time.
+ * A seed therefore reproduces an entire match bit-for-bit, and an extra
+ * draw in one consumer (e.g. a new AI heuristic) does not shift the others.
+ * <p>
+ * Not thread-safe, like the Game owning it. Hand other threads a split()
+ * instead of sharing streams; splitting needs no locking.
+ *
+ * @author mmukex
+ */
+public final class GameRandom {
+
+    /**
+     * Consumers with a dedicated stream. Append new entries at the end
+     * to keep existing seeds reproducible.
+     */
+    public enum Stream {
+        TERRAIN,
+        EVENTS,
+        BUFFS,
+        POLICY
+    }
+
+    private final SplittableRandom root;
+    private final Map<Stream, SplittableRandom> streams = new EnumMap<>(Stream.class);
+
+    public GameRandom(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Unseeded source (interactive games).
+     */
+    public GameRandom() {
+        this(new SplittableRandom());
+    }
+
+    private GameRandom(SplittableRandom root) {
+        this.root = root;
+        for (Stream stream : Stream.values()) {
+            streams.put(stream, root.split());
+        }
+    }
+
+    public RandomGenerator stream(Stream stream) {
+        return streams.get(stream);
+    }
+
+    public RandomGenerator terrain() {
+        return stream(Stream.TERRAIN);
+    }
+
+    public RandomGenerator events() {
+        return stream(Stream.EVENTS);
+    }
+
+    public RandomGenerator buffs() {
+        return stream(Stream.BUFFS);
+    }
+
+    public RandomGenerator policy() {
+        return stream(Stream.POLICY);
+    }
+
+    /**
+     * Independent child source (e.g. for a forked game or a worker thread).
+     * Deterministic: the n-th split of equally seeded sources is identical.
+     */
+    public GameRandom split() {
+        return new GameRandom(root.split());
+    }
+}
@@ -1,19 +1,21 @@
 package org.elementarclash.util;
 
 /**
- * Immutable value object representing a position on the 10x10 battlefield grid.
+ * Immutable value object representing a position on the battlefield grid.
+ * Only rejects negative coordinates; the upper bound depends on the map size
+ * and is checked by Battlefield.isInBounds().
  *
- * @param x X-coordinate (0-9)
- * @param y Y-coordinate (0-9)
+ * @param x X-coordinate (0 to width-1)
+ * @param y Y-coordinate (0 to height-1)
  *
  * @author crstmkt
  */
 public record Position(int x, int y) {
 
     public Position {
-        if (x < 0 || x >= 10 || y < 0 || y >= 10) {
+        if (x < 0 || y < 0) {
             throw new IllegalArgumentException(
-                    "Position out of bounds: (" + x + ", " + y + "). Must be 0-9."
+                    "Position out of bounds: (" + x + ", " + y + "). Must not be negative."
             );
         }
     }
@@ -26,8 +28,8 @@ public record Position(int x, int y) {
         return PositionDistance.isInRange(this, other, range);
     }
 
-    public Position[] getAdjacentPositions() {
-        return PositionNeighborhood.getAdjacent(this);
+    public Position[] getAdjacentPositions(int width, int height) {
+        return PositionNeighborhood.getAdjacent(this, width, height);
     }
 
     @Override
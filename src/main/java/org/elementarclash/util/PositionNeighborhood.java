@@ -14,21 +14,22 @@ public final class PositionNeighborhood {
     /**
      * Returns all adjacent positions (N, E, S, W - cardinal directions only).
      * Does not include diagonal positions.
+     * Entries outside a width x height grid are null.
      */
-    public static Position[] getAdjacent(Position pos) {
+    public static Position[] getAdjacent(Position pos, int width, int height) {
         return new Position[]{
-                moveIfValid(pos, 0, -1),  // North
-                moveIfValid(pos, 1, 0),   // East
-                moveIfValid(pos, 0, 1),   // South
-                moveIfValid(pos, -1, 0)   // West
+                moveIfValid(pos, 0, -1, width, height),  // North
+                moveIfValid(pos, 1, 0, width, height),   // East
+                moveIfValid(pos, 0, 1, width, height),   // South
+                moveIfValid(pos, -1, 0, width, height)   // West
         };
     }
 
-    private static Position moveIfValid(Position pos, int dx, int dy) {
+    private static Position moveIfValid(Position pos, int dx, int dy, int width, int height) {
         int newX = pos.x() + dx;
         int newY = pos.y() + dy;
 
-        if (newX < 0 || newX >= 10 || newY < 0 || newY >= 10) {
+        if (newX < 0 || newX >= width || newY < 0 || newY >= height) {
             return null;
         }
 
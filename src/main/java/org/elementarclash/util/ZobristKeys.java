@@ -0,0 +1,81 @@
+package org.elementarclash.util;
+
+/**
+ * Zobrist keys for incremental state hashing (Battlefield.getTerrainHash(), Game.getStateHash()).
+ * <p>
+ * A state hash is the XOR of the keys of its features (terrain of a cell, one unit's
+ * position/health/state, the active faction), so a change costs one XOR out and one XOR in.
+ * Instead of random tables sized per board, each key is the SplitMix64 output for the packed
+ * feature: table-quality 64-bit keys for any board size, without memory or initialization.
+ * <p>
+ * Keys are fixed (no seed), so equal states hash equally across games, forks and runs.
+ *
+ * @author mmukex
+ */
+public final class ZobristKeys {
+
+    private static final long TERRAIN = 1L << 60;
+    private static final long UNIT = 2L << 60;
+    private static final long ACTIVE_FACTION = 3L << 60;
+    private static final long DECORATOR = 4L << 60;
+    private static final long ROUND = 5L << 60;
+
+    private ZobristKeys() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param cell    Battlefield.indexOf() of the cell
+     * @param terrain Terrain.ordinal()
+     */
+    public static long terrain(int cell, int terrain) {
+        return mix(TERRAIN | (long) cell << 8 | terrain);
+    }
+
+    /**
+     * @param faction Faction.ordinal()
+     */
+    public static long activeFaction(int faction) {
+        return mix(ACTIVE_FACTION | faction);
+    }
+
+    /**
+     * Key of one unit in its current condition; replaced as a whole whenever one part changes.
+     *
+     * @param identity   stable per unit across forks (id, faction and type, see Unit)
+     * @param x          column, -1 if not placed
+     * @param y          row, -1 if not placed
+     * @param state      UnitState.getOrdinal()
+     * @param stunRounds remaining stun rounds (0 unless stunned)
+     */
+    public static long unit(int identity, int x, int y, int health, int state, int stunRounds, int actions) {
+        long key = mix(UNIT | identity & 0xFFFFFFFFL);
+        key = mix(key ^ ((long) x << 32 | y & 0xFFFFFFFFL));
+        return mix(key ^ ((long) health << 32 | (long) (state & 0xFF) << 24 | (stunRounds & 0xFF) << 16 | actions & 0xFFFF));
+    }
+
+    /**
+     * Key of a temporary decorator in one of a unit's slots (CompactGameState.getSearchKey()).
+     *
+     * @param identity stable per unit across forks, as for unit()
+     * @param kind     CompactGameState.getDecoratorKind()
+     */
+    public static long decorator(int identity, int slot, int kind, int remainingRounds) {
+        long key = mix(DECORATOR | identity & 0xFFFFFFFFL);
+        return mix(key ^ ((long) slot << 48 | (long) (kind & 0xFFFF) << 32 | remainingRounds & 0xFFFFFFFFL));
+    }
+
+    public static long round(int roundNumber) {
+        return mix(ROUND | roundNumber & 0xFFFFFFFFL);
+    }
+
+    /**
+     * SplitMix64 step: golden-ratio increment followed by the variant-13 finalizer.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
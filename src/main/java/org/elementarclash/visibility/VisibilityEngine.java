@@ -0,0 +1,195 @@
+package org.elementarclash.visibility;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.event.GameEvent;
+import org.elementarclash.game.event.GameObserver;
+import org.elementarclash.game.event.TerrainChangedEvent;
+import org.elementarclash.game.event.UnitDeathEvent;
+import org.elementarclash.game.event.UnitMovedEvent;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.strategy.attack.AttackStrategy;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-unit visibility maps (cells a unit can hit) and per-faction coverage counts, owned by a Game.
+ * Used for AI target selection and as the basis for fog of war.
+ * <p>
+ * A map is built in one sweep over the unit's attack window, asking its AttackStrategy
+ * for range and line of sight per cell (precomputed rays, see RangedAttackStrategy).
+ * Units do not block attacks, so a map only depends on the unit's position and on forests
+ * in its window. Maps stay cached across turns until one of those changes:
+ * - the unit moved (detected on lookup by comparing positions, dropped eagerly on UnitMovedEvent)
+ * - a forest appeared or burned inside the window of a line-of-sight unit (TerrainChangedEvent)
+ * - the unit died (UnitDeathEvent)
+ * <p>
+ * Coverage counts (how many living units of a faction can hit a cell) are maintained
+ * incrementally whenever a map is added or dropped.
+ * <p>
+ * Design Pattern: Observer (GoF #9)
+ * Why: Invalidation is driven by game events instead of recomputing everything per query.
+ * Terrain changes without an event show up as a terrain version gap and drop all maps.
+ *
+ * @author mmukex
+ */
+public class VisibilityEngine implements GameObserver {
+
+    private final Game game;
+    private final Map<Unit, VisibilityMap> maps = new HashMap<>();
+    private final Map<Faction, int[]> coverage = new EnumMap<>(Faction.class);
+    private long knownTerrainVersion;
+
+    public VisibilityEngine(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Cells the unit can hit from its current position.
+     */
+    public VisibilityMap visibilityOf(Unit unit) {
+        synchronizeTerrain();
+
+        VisibilityMap map = maps.get(unit);
+        if (map != null && map.getOrigin().equals(unit.getPosition())) {
+            return map;
+        }
+        if (map != null) {
+            drop(unit);
+        }
+
+        map = compute(unit);
+        maps.put(unit, map);
+        updateCoverage(unit.getFaction(), map, 1);
+        return map;
+    }
+
+    /**
+     * Living enemies the unit can attack right now, in row-major order of their cells.
+     * Same result as Game.canAttack() per pair, but only units near the attacker are
+     * looked at (SpatialIndex) and each is a bit test.
+     */
+    public List<Unit> attackableEnemies(Unit attacker) {
+        if (!attacker.isAlive()) {
+            return List.of();
+        }
+
+        VisibilityMap map = visibilityOf(attacker);
+        int range = attacker.getAttackStrategy().getAttackRange(attacker);
+        List<Unit> enemies = new ArrayList<>();
+        game.getSpatialIndex().forEachAround(attacker.getPosition(), range, unit -> {
+            if (unit.isAlive() && unit.getFaction() != attacker.getFaction() && map.canHit(unit.getPosition())) {
+                enemies.add(unit);
+            }
+        });
+        return enemies;
+    }
+
+    /**
+     * @return number of living units of the faction that can hit the cell
+     */
+    public int coverageAt(Faction faction, Position cell) {
+        refreshFaction(faction);
+        int[] counts = coverage.get(faction);
+        return counts == null ? 0 : counts[game.getBattlefield().indexOf(cell)];
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event instanceof TerrainChangedEvent changed) {
+            onTerrainChanged(changed);
+        } else if (event instanceof UnitMovedEvent moved) {
+            drop(moved.getUnit());
+        } else if (event instanceof UnitDeathEvent death) {
+            drop(death.getUnit());
+        }
+    }
+
+    private void onTerrainChanged(TerrainChangedEvent changed) {
+        long terrainVersion = game.getBattlefield().getTerrainVersion();
+        if (terrainVersion != knownTerrainVersion + 1) {
+            dropAll();
+        } else if (changed.getOldTerrain() == Terrain.FOREST || changed.getNewTerrain() == Terrain.FOREST) {
+            Position cell = changed.getPosition();
+            List<Unit> affected = new ArrayList<>();
+            maps.forEach((unit, map) -> {
+                if (unit.getAttackStrategy().requiresLineOfSight() && map.covers(cell.x(), cell.y())) {
+                    affected.add(unit);
+                }
+            });
+            affected.forEach(this::drop);
+        }
+        knownTerrainVersion = terrainVersion;
+    }
+
+    private void synchronizeTerrain() {
+        long terrainVersion = game.getBattlefield().getTerrainVersion();
+        if (terrainVersion != knownTerrainVersion) {
+            dropAll();
+            knownTerrainVersion = terrainVersion;
+        }
+    }
+
+    /**
+     * Brings the maps of all units of the faction up to date (dead units no longer count).
+     */
+    private void refreshFaction(Faction faction) {
+        for (Unit unit : game.getUnitsOfFaction(faction)) {
+            if (unit.isAlive()) {
+                visibilityOf(unit);
+            } else {
+                drop(unit);
+            }
+        }
+    }
+
+    private VisibilityMap compute(Unit unit) {
+        Battlefield battlefield = game.getBattlefield();
+        AttackStrategy strategy = unit.getAttackStrategy();
+        Position origin = unit.getPosition();
+        int range = strategy.getAttackRange(unit);
+
+        int windowX = Math.max(0, origin.x() - range);
+        int windowY = Math.max(0, origin.y() - range);
+        int windowWidth = Math.min(battlefield.getWidth() - 1, origin.x() + range) - windowX + 1;
+        int windowHeight = Math.min(battlefield.getHeight() - 1, origin.y() + range) - windowY + 1;
+        long[] bits = new long[(windowWidth * windowHeight + Long.SIZE - 1) / Long.SIZE];
+
+        for (int ly = 0; ly < windowHeight; ly++) {
+            for (int lx = 0; lx < windowWidth; lx++) {
+                int x = windowX + lx;
+                int y = windowY + ly;
+                if ((x != origin.x() || y != origin.y()) && strategy.isWithinReach(game, unit, x, y)) {
+                    int local = ly * windowWidth + lx;
+                    bits[local >>> 6] |= 1L << local;
+                }
+            }
+        }
+
+        return new VisibilityMap(battlefield, origin, windowX, windowY, windowWidth, windowHeight, bits);
+    }
+
+    private void drop(Unit unit) {
+        VisibilityMap map = maps.remove(unit);
+        if (map != null) {
+            updateCoverage(unit.getFaction(), map, -1);
+        }
+    }
+
+    private void dropAll() {
+        maps.clear();
+        coverage.clear();
+    }
+
+    private void updateCoverage(Faction faction, VisibilityMap map, int delta) {
+        int[] counts = coverage.computeIfAbsent(faction, f -> new int[game.getBattlefield().getCellCount()]);
+        map.forEachIndex(index -> counts[index] += delta);
+    }
+}
@@ -0,0 +1,97 @@
+package org.elementarclash.visibility;
+
+import org.elementarclash.battlefield.Battlefield;
+import org.elementarclash.util.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of cells one unit can currently hit (range and line of sight,
+ * ignoring who stands there), computed for the unit's position at the time.
+ * <p>
+ * Stored as a bitset over a local window (origin ± attack range, clipped to the map),
+ * so lookups are a bounds check plus one bit test regardless of map size.
+ *
+ * @author mmukex
+ */
+public final class VisibilityMap {
+
+    private final Battlefield battlefield;
+    private final Position origin;
+    private final int windowX;
+    private final int windowY;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final long[] bits;
+
+    VisibilityMap(Battlefield battlefield, Position origin,
+                  int windowX, int windowY, int windowWidth, int windowHeight, long[] bits) {
+        this.battlefield = battlefield;
+        this.origin = origin;
+        this.windowX = windowX;
+        this.windowY = windowY;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+        this.bits = bits;
+    }
+
+    public Position getOrigin() {
+        return origin;
+    }
+
+    public boolean canHit(Position position) {
+        return canHit(position.x(), position.y());
+    }
+
+    public boolean canHit(int x, int y) {
+        int lx = x - windowX;
+        int ly = y - windowY;
+        if (lx < 0 || lx >= windowWidth || ly < 0 || ly >= windowHeight) {
+            return false;
+        }
+        int local = ly * windowWidth + lx;
+        return (bits[local >>> 6] & (1L << local)) != 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : bits) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Hittable cells in row-major order.
+     */
+    public List<Position> positions() {
+        List<Position> positions = new ArrayList<>(size());
+        forEachIndex(index -> positions.add(battlefield.positionAt(index)));
+        return positions;
+    }
+
+    /**
+     * Visits the battlefield index (y * width + x) of every hittable cell in row-major order.
+     */
+    void forEachIndex(IntConsumer action) {
+        int width = battlefield.getWidth();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int local = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                action.accept((windowY + local / windowWidth) * width + windowX + local % windowWidth);
+            }
+        }
+    }
+
+    /**
+     * Whether the cell lies inside the window this map was computed for
+     * (only such terrain changes can affect it).
+     */
+    boolean covers(int x, int y) {
+        return x >= windowX && x < windowX + windowWidth && y >= windowY && y < windowY + windowHeight;
+    }
+}
@@ -9,10 +9,14 @@ import org.elementarclash.units.UnitFactory;
 import org.elementarclash.units.UnitType;
 import org.elementarclash.units.types.fire.FireUnitFactory;
 import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -173,4 +177,56 @@ class BuilderPatternTest {
     void buildFailsWithNoFactions() {
         assertThrows(IllegalStateException.class, () -> builder.build());
     }
+
+    @Test
+    void withDimensionsBuildsLargeMapWithCornerSpawns() {
+        builder.withFactions(Faction.FIRE, Faction.WATER).withDimensions(64, 48).withRandomSeed(3L);
+        for (int i = 0; i < 20; i++) {
+            builder.addUnit(fireFactory.createUnit(UnitType.INFERNO_WARRIOR), Faction.FIRE);
+            builder.addUnit(waterFactory.createUnit(UnitType.TIDE_GUARDIAN), Faction.WATER);
+        }
+
+        Game game = builder.build();
+
+        assertEquals(64 * 48, game.getBattlefield().cells().size());
+        assertEquals(40, game.getUnits().size());
+        for (Unit unit : game.getUnitsOfFaction(Faction.FIRE)) {
+            assertTrue(unit.getPosition().x() < 5 && unit.getPosition().y() < 5);
+        }
+        for (Unit unit : game.getUnitsOfFaction(Faction.WATER)) {
+            assertTrue(unit.getPosition().x() >= 59 && unit.getPosition().y() < 5);
+        }
+    }
+
+    @Test
+    void spatialIndexRangeQueriesMatchUnitScan() {
+        builder.withFactions(Faction.FIRE, Faction.WATER).withDimensions(64, 48).withRandomSeed(3L);
+        for (int i = 0; i < 20; i++) {
+            builder.addUnit(fireFactory.createUnit(UnitType.INFERNO_WARRIOR), Faction.FIRE);
+            builder.addUnit(waterFactory.createUnit(UnitType.TIDE_GUARDIAN), Faction.WATER);
+        }
+        Game game = builder.build();
+
+        Random random = new Random(9L);
+        for (Unit unit : game.getUnits()) {
+            game.moveUnitInternal(unit, new Position(random.nextInt(64), random.nextInt(48)));
+        }
+        game.removeUnit(game.getUnits().get(0));
+
+        for (int query = 0; query < 200; query++) {
+            Position center = new Position(random.nextInt(64), random.nextInt(48));
+            int range = 1 + random.nextInt(12);
+
+            List<Unit> expected = game.getUnits().stream()
+                    .filter(unit -> !unit.getPosition().equals(center) && unit.getPosition().isInRange(center, range))
+                    .toList();
+            List<Unit> actual = new ArrayList<>();
+            game.getSpatialIndex().forEachInRange(center, range, actual::add);
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            assertEquals(game.getUnitsAdjacentTo(center).stream().filter(u -> u.getFaction() == Faction.FIRE).count(),
+                    game.getSpatialIndex().countAdjacent(center, Faction.FIRE));
+        }
+    }
 }
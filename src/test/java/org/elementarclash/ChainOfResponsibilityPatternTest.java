@@ -0,0 +1,280 @@
+package org.elementarclash;
+
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.combat.DamageCalculator;
+import org.elementarclash.game.combat.DamageContext;
+import org.elementarclash.game.combat.DamageMatrix;
+import org.elementarclash.game.combat.DamageMemo;
+import org.elementarclash.game.combat.DamageResult;
+import org.elementarclash.game.combat.handler.*;
+import org.elementarclash.game.event.TurnStartedEvent;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitFactory;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.bonus.temporary.AttackBuffDecorator;
+import org.elementarclash.units.bonus.temporary.AttackDebuffDecorator;
+import org.elementarclash.units.bonus.temporary.DefenseBuffDecorator;
+import org.elementarclash.units.bonus.temporary.DefenseDebuffDecorator;
+import org.elementarclash.units.types.air.AirUnitFactory;
+import org.elementarclash.units.types.earth.EarthUnitFactory;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChainOfResponsibilityPatternTest {
+
+    private static final Map<Faction, UnitFactory> FACTORIES = Map.of(
+            Faction.FIRE, new FireUnitFactory(),
+            Faction.WATER, new WaterUnitFactory(),
+            Faction.EARTH, new EarthUnitFactory(),
+            Faction.AIR, new AirUnitFactory()
+    );
+    private static final Map<Faction, List<UnitType>> TYPES = Map.of(
+            Faction.FIRE, List.of(UnitType.INFERNO_WARRIOR, UnitType.FLAME_ARCHER, UnitType.PHOENIX),
+            Faction.WATER, List.of(UnitType.TIDE_GUARDIAN, UnitType.FROST_MAGE, UnitType.WAVE_RIDER),
+            Faction.EARTH, List.of(UnitType.STONE_GOLEM, UnitType.TERRA_SHAMAN, UnitType.EARTHQUAKE_TITAN),
+            Faction.AIR, List.of(UnitType.WIND_DANCER, UnitType.STORM_CALLER, UnitType.SKY_GUARDIAN)
+    );
+    private static final Position ATTACKER_CELL = new Position(4, 4);
+    private static final Position ALLY_CELL = new Position(3, 4);
+    private static final Position TARGET_CELL = new Position(5, 5);
+
+    @Test
+    void reusedUntracedCalculatorMatchesTracingCalculator() {
+        DamageCalculator tracing = new DamageCalculator(true);
+        int[] compared = {0};
+
+        SimulatedGames.forEachSimulatedGame(10, game -> event -> {
+            if (!(event instanceof TurnStartedEvent)) {
+                return;
+            }
+            for (Unit attacker : game.getUnits()) {
+                for (Unit target : game.getUnits()) {
+                    if (attacker.isAlive() && target.isAlive() && attacker.getFaction() != target.getFaction()) {
+                        DamageResult expected = tracing.calculateDamage(attacker, target, game);
+                        DamageResult actual = game.getDamageCalculator().calculateDamage(attacker, target, game);
+                        assertEquals(expected.totalDamage(), actual.totalDamage());
+                        assertEquals(expected.calculationSteps(), actual.calculationSteps());
+                        compared[0]++;
+                    }
+                }
+            }
+        });
+
+        assertTrue(compared[0] > 0);
+    }
+
+    @Test
+    void damageMatrixMatchesSingleCalculationsThroughoutSimulatedGames() {
+        DamageCalculator reference = new DamageCalculator();
+        DamageMatrix matrix = new DamageMatrix();
+
+        SimulatedGames.forEachSimulatedGame(10, game -> event -> {
+            if (!(event instanceof TurnStartedEvent started)) {
+                return;
+            }
+            List<Unit> attackers = game.getUnitsOfFaction(started.getFaction());
+            List<Unit> targets = game.getUnits().stream()
+                    .filter(unit -> unit.getFaction() != started.getFaction())
+                    .toList();
+            game.getDamageCalculator().calculateMatrix(attackers, targets, game, matrix);
+
+            assertEquals(attackers.size(), matrix.getAttackerCount());
+            assertEquals(targets.size(), matrix.getTargetCount());
+            for (int a = 0; a < attackers.size(); a++) {
+                for (int t = 0; t < targets.size(); t++) {
+                    int expected = reference.calculateDamage(attackers.get(a), targets.get(t), game).totalDamage();
+                    assertEquals(expected, matrix.get(a, t));
+                }
+            }
+        });
+    }
+
+    @Test
+    void compiledFastPathMatchesChainForAllUnitTerrainAndFactionCombinations() {
+        Game game = createGameWithAllFactions(null);
+        DamageCalculator calculator = game.getDamageCalculator();
+        assertTrue(calculator.isCompiled());
+        Random random = new Random(42L);
+
+        for (Faction attackerFaction : Faction.values()) {
+            for (UnitType attackerType : TYPES.get(attackerFaction)) {
+                for (Faction targetFaction : Faction.values()) {
+                    for (UnitType targetType : TYPES.get(targetFaction)) {
+                        for (Terrain attackerTerrain : Terrain.values()) {
+                            for (Terrain targetTerrain : Terrain.values()) {
+                                Unit attacker = FACTORIES.get(attackerFaction).createUnit(attackerType);
+                                Unit target = FACTORIES.get(targetFaction).createUnit(targetType);
+                                List<Unit> placed = placeRandomized(game, random, attacker, target, attackerTerrain, targetTerrain);
+
+                                int expected = calculator.calculateDamage(attacker, target, game).totalDamage();
+                                assertEquals(expected, calculator.calculateTotalDamage(attacker, target, game),
+                                        attackerType + " on " + attackerTerrain + " vs " + targetType + " on " + targetTerrain);
+
+                                placed.forEach(game::removeUnit);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void customHandlerFallsBackToChainAndBuiltInSubsetsStayCompiled() {
+        DamageHandler weather = new DamageHandler() {
+            @Override
+            public void handle(DamageContext context) {
+                context.addTerrainAttackBonus(3);
+                super.handle(context);
+            }
+        };
+        List<DamageHandler> custom = new ArrayList<>(DamageCalculator.defaultHandlers());
+        custom.add(2, weather);
+        Game customGame = createGameWithAllFactions(custom);
+        Game subsetGame = createGameWithAllFactions(List.of(
+                new BaseDamageHandler(), new TerrainEffectHandler(), new DefenseCalculationHandler()));
+
+        assertFalse(customGame.getDamageCalculator().isCompiled());
+        assertTrue(subsetGame.getDamageCalculator().isCompiled());
+
+        DamageCalculator reference = new DamageCalculator();
+        Random random = new Random(7L);
+        for (Game game : List.of(customGame, subsetGame)) {
+            for (int round = 0; round < 200; round++) {
+                Faction attackerFaction = Faction.values()[random.nextInt(4)];
+                Faction targetFaction = Faction.values()[random.nextInt(4)];
+                Unit attacker = FACTORIES.get(attackerFaction).createUnit(TYPES.get(attackerFaction).get(random.nextInt(3)));
+                Unit target = FACTORIES.get(targetFaction).createUnit(TYPES.get(targetFaction).get(random.nextInt(3)));
+                Terrain[] terrains = Terrain.values();
+                List<Unit> placed = placeRandomized(game, random, attacker, target,
+                        terrains[random.nextInt(terrains.length)], terrains[random.nextInt(terrains.length)]);
+
+                DamageCalculator calculator = game.getDamageCalculator();
+                if (game == customGame) {
+                    // Chain result against the default calculation plus the +3 bonus, min 1 as in DefenseCalculationHandler
+                    DamageResult standard = reference.calculateDamage(attacker, target, game);
+                    int expected = Math.max(1, standard.baseDamage() + standard.terrainAttackBonus() + 3
+                            + standard.synergyBonus() - standard.totalDefense());
+                    assertEquals(expected, calculator.calculateDamage(attacker, target, game).totalDamage());
+                    assertEquals(expected, calculator.calculateTotalDamage(attacker, target, game));
+                } else {
+                    assertEquals(calculator.calculateDamage(attacker, target, game).totalDamage(),
+                            calculator.calculateTotalDamage(attacker, target, game));
+                }
+
+                placed.forEach(game::removeUnit);
+            }
+        }
+    }
+
+    @Test
+    void damageMemoEvictsLeastRecentlyUsedAndCountsHits() {
+        DamageMemo memo = new DamageMemo(3);
+        DamageResult[] results = new DamageResult[5];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = new DamageResult(i, i, i, 1.0, 0, 0, 0, 0, null);
+        }
+
+        for (int key = 0; key < 3; key++) {
+            memo.put(key, results[key]);
+        }
+        assertSame(results[0], memo.get(0)); // 0 becomes most recent, 1 is now the oldest
+        memo.put(3, results[3]);
+        memo.put(4, results[4]);
+
+        assertEquals(3, memo.size());
+        assertNull(memo.get(1));
+        assertNull(memo.get(2));
+        assertSame(results[0], memo.get(0));
+        assertSame(results[3], memo.get(3));
+        assertSame(results[4], memo.get(4));
+        assertEquals(4, memo.getHits());
+        assertEquals(2, memo.getMisses());
+    }
+
+    @Test
+    void memoizedDamageMatchesFreshCalculationThroughoutSimulatedGames() {
+        DamageCalculator reference = new DamageCalculator();
+        List<DamageMemo> memos = new ArrayList<>();
+
+        SimulatedGames.forEachSimulatedGame(10, game -> {
+            game.getDamageCalculator().enableMemo(64);
+            memos.add(game.getDamageCalculator().getMemo());
+            return event -> {
+                if (!(event instanceof TurnStartedEvent)) {
+                    return;
+                }
+                for (Unit attacker : game.getUnits()) {
+                    for (Unit target : game.getUnits()) {
+                        if (attacker.isAlive() && target.isAlive() && attacker.getFaction() != target.getFaction()) {
+                            DamageResult expected = reference.calculateDamage(attacker, target, game);
+                            DamageResult actual = game.getDamageCalculator().calculateDamage(attacker, target, game);
+                            assertEquals(expected.totalDamage(), actual.totalDamage());
+                            assertEquals(expected.calculationSteps(), actual.calculationSteps());
+                        }
+                    }
+                }
+            };
+        });
+        for (DamageMemo memo : memos) {
+            assertTrue(memo.getHits() > 0);
+            assertTrue(memo.size() <= 64);
+        }
+
+        List<DamageHandler> custom = new ArrayList<>(DamageCalculator.defaultHandlers());
+        custom.add(1, new DamageHandler() {
+        });
+        assertThrows(IllegalStateException.class, () -> new DamageCalculator(custom, false).enableMemo(64));
+    }
+
+    private static Game createGameWithAllFactions(List<DamageHandler> handlers) {
+        GameBuilder builder = SimulatedGames.desertGame(Faction.values());
+        if (handlers != null) {
+            builder.withDamageHandlers(handlers);
+        }
+        for (Faction faction : Faction.values()) {
+            builder.addUnit(FACTORIES.get(faction).createUnit(TYPES.get(faction).get(0)), faction);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Places attacker and target on the given terrains with random buffs, debuffs and
+     * an optional adjacent ally of the attacker (synergy).
+     *
+     * @return placed units (to remove afterwards)
+     */
+    private static List<Unit> placeRandomized(Game game, Random random, Unit attacker, Unit target,
+                                              Terrain attackerTerrain, Terrain targetTerrain) {
+        game.getBattlefield().setTerrainAt(ATTACKER_CELL, attackerTerrain, game);
+        game.getBattlefield().setTerrainAt(TARGET_CELL, targetTerrain, game);
+        game.addUnit(attacker, ATTACKER_CELL);
+        game.addUnit(target, TARGET_CELL);
+        List<Unit> placed = new ArrayList<>(List.of(attacker, target));
+
+        if (random.nextBoolean()) {
+            Unit ally = FACTORIES.get(attacker.getFaction()).createUnit(TYPES.get(attacker.getFaction()).get(0));
+            game.addUnit(ally, ALLY_CELL);
+            placed.add(ally);
+        }
+        if (random.nextBoolean()) {
+            attacker.addDecorator(random.nextBoolean() ? new AttackBuffDecorator() : new AttackDebuffDecorator());
+        }
+        if (random.nextBoolean()) {
+            target.addDecorator(random.nextBoolean() ? new DefenseBuffDecorator() : new DefenseDebuffDecorator());
+        }
+        return placed;
+    }
+}
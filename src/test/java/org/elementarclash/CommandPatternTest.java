@@ -4,6 +4,7 @@ import org.elementarclash.battlefield.Terrain;
 import org.elementarclash.game.Game;
 import org.elementarclash.game.GameBuilder;
 import org.elementarclash.game.command.*;
+import org.elementarclash.game.event.UnitMovedEvent;
 import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.UnitFactory;
@@ -14,6 +15,8 @@ import org.elementarclash.util.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,6 +89,24 @@ class CommandPatternTest {
         assertNotEquals(originalPos, fireUnit.getPosition());
     }
 
+    @Test
+    void moveCommandReportsRouteInMovedEvent() {
+        List<UnitMovedEvent> moves = new ArrayList<>();
+        game.addObserver(event -> {
+            if (event instanceof UnitMovedEvent moved) {
+                moves.add(moved);
+            }
+        });
+        Position originalPos = fireUnit.getPosition();
+        Position adjacentPos = findAdjacentEmptyPosition(originalPos);
+
+        game.executeCommand(new MoveCommand(fireUnit, adjacentPos));
+
+        assertEquals(1, moves.size());
+        assertEquals(List.of(originalPos, adjacentPos), moves.getFirst().getPath().positions());
+        assertEquals(1.0, moves.getFirst().getPath().cost());
+    }
+
     @Test
     void moveCommandUndoRestoresOriginalPosition() {
         Position originalPos = fireUnit.getPosition();
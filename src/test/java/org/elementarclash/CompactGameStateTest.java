@@ -0,0 +1,273 @@
+package org.elementarclash;
+
+import org.elementarclash.game.CompactGameState;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.command.AttackCommand;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.command.MoveCommand;
+import org.elementarclash.game.event.DecoratorAppliedEvent;
+import org.elementarclash.game.event.DynamicEventOccurredEvent;
+import org.elementarclash.game.event.TerrainChangedEvent;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.SimulationPolicy;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.bonus.temporary.AttackBuffDecorator;
+import org.elementarclash.units.bonus.temporary.TimedDecorator;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The compact state must follow the same rules as the Game it was captured from.
+ *
+ * @author mmukex
+ */
+class CompactGameStateTest {
+
+    @Test
+    void compactRulesMatchTheGameThroughoutSimulatedGames() {
+        SimulationPolicy policy = new GreedyPolicy();
+        int[] predictedTurns = {0};
+
+        SimulatedGames.forEachRandomGame(10, game -> {
+            game.startGame();
+            boolean[] chance = new boolean[1];
+            // Random buffs and events the compact state does not model
+            game.addObserver(event -> chance[0] |= event instanceof DecoratorAppliedEvent
+                    || event instanceof TerrainChangedEvent
+                    || event instanceof DynamicEventOccurredEvent dynamic && dynamic.getAffectedUnit() != null);
+
+            for (int turn = 0; turn < 400 && !(game.getCurrentPhase() instanceof GameOverPhase); turn++) {
+                List<Unit> roster = new ArrayList<>(game.getUnits());
+                CompactGameState state = CompactGameState.capture(game);
+                assertMatches(state, roster, game);
+
+                Command command;
+                while (!state.isGameOver() && (command = policy.nextCommand(game)) != null) {
+                    assertSameRules(state, roster, game);
+                    if (command instanceof MoveCommand move) {
+                        int unit = roster.indexOf(move.getActor());
+                        int cell = game.getBattlefield().indexOf(move.getTargetPosition());
+                        assertTrue(game.executeCommand(command).isValid());
+                        state.move(unit, cell);
+                    } else {
+                        AttackCommand attack = (AttackCommand) command;
+                        int damage = state.attack(roster.indexOf(attack.getActor()), roster.indexOf(attack.getTarget()));
+                        assertTrue(game.executeCommand(command).isValid());
+                        assertEquals(attack.getDamageDealt(), damage);
+                    }
+                    assertMatches(state, roster, game);
+                }
+                if (state.isGameOver()) {
+                    break;
+                }
+
+                chance[0] = false;
+                state.endTurn();
+                game.nextTurn();
+                if (!chance[0]) {
+                    assertMatches(state, roster, game);
+                    predictedTurns[0]++;
+                }
+            }
+        });
+
+        assertTrue(predictedTurns[0] > 0);
+    }
+
+    @Test
+    void stateAppliedToAForkMatchesItAndCapturesBackUnchanged() {
+        SimulatedGames.forEachRandomGame(10, original -> {
+            original.startGame();
+            List<Unit> roster = new ArrayList<>(original.getUnits());
+            CompactGameState state = CompactGameState.capture(original);
+
+            playCompact(state, 12);
+
+            Game fork = original.fork();
+            List<Unit> forkRoster = new ArrayList<>(fork.getUnits());
+            state.applyTo(fork);
+            assertMatches(state, forkRoster, fork);
+            assertEquals(describe(state), describe(CompactGameState.capture(fork)));
+            assertMatches(CompactGameState.capture(original), roster, original); // original untouched
+
+            for (Unit unit : fork.getUnits()) {
+                int expected = unit.isAlive() ? fork.getSpatialIndex().countAdjacent(unit.getPosition(), unit.getFaction()) : 0;
+                assertEquals(expected, fork.getSynergy().getAdjacentAllies(unit), unit.getId());
+            }
+        });
+    }
+
+    @Test
+    void searchKeySeparatesStatesThatOnlyDifferInBuffTimersOrRound() {
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        Unit warrior = new FireUnitFactory().createUnit(UnitType.INFERNO_WARRIOR);
+        builder.addUnit(warrior, Faction.FIRE);
+        builder.addUnit(new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN), Faction.WATER);
+        Game game = builder.build();
+        game.startGame();
+        warrior.removeDecoratorsOfType(TimedDecorator.class); // no random buffs of the first turn
+        CompactGameState plain = CompactGameState.capture(game);
+
+        AttackBuffDecorator buff = new AttackBuffDecorator();
+        buff.setRemainingRounds(5);
+        warrior.addDecorator(buff);
+        CompactGameState buffed = CompactGameState.capture(game);
+        assertEquals(plain.getStateHash(), buffed.getStateHash());
+        assertNotEquals(plain.getSearchKey(), buffed.getSearchKey());
+        assertEquals(buffed.getSearchKey(), buffed.copy().getSearchKey());
+
+        // Both factions end their turn: same board and active faction, buff ticked down, next round
+        CompactGameState later = buffed.copy();
+        later.endTurn();
+        later.endTurn();
+        assertEquals(buffed.getStateHash(), later.getStateHash());
+        assertEquals(buffed.getRoundNumber() + 1, later.getRoundNumber());
+        assertEquals(3, later.getDecoratorRounds(game.getUnits().indexOf(warrior), 0));
+        assertNotEquals(buffed.getSearchKey(), later.getSearchKey());
+
+        CompactGameState plainLater = plain.copy();
+        plainLater.endTurn();
+        plainLater.endTurn();
+        assertNotEquals(plain.getSearchKey(), plainLater.getSearchKey()); // round alone
+    }
+
+    /**
+     * Every unit of the active faction attacks the first enemy in reach, otherwise moves to its
+     * last reachable cell.
+     */
+    private static void playCompact(CompactGameState state, int turns) {
+        int[] cells = new int[state.getCellCount()];
+        for (int turn = 0; turn < turns && !state.isGameOver(); turn++) {
+            for (int unit = 0; unit < state.getUnitCount() && !state.isGameOver(); unit++) {
+                if (state.getFaction(unit) != state.getActiveFaction() || !state.canAct(unit)) {
+                    continue;
+                }
+                int target = firstTarget(state, unit);
+                if (target != CompactGameState.NO_UNIT) {
+                    state.attack(unit, target);
+                } else {
+                    int count = state.reachableCells(unit, cells);
+                    if (count > 0) {
+                        state.move(unit, cells[count - 1]);
+                    }
+                }
+            }
+            if (!state.isGameOver()) {
+                state.endTurn();
+            }
+        }
+    }
+
+    private static int firstTarget(CompactGameState state, int unit) {
+        for (int target = 0; target < state.getUnitCount(); target++) {
+            if (state.canAttack(unit, target)) {
+                return target;
+            }
+        }
+        return CompactGameState.NO_UNIT;
+    }
+
+    private static void assertSameRules(CompactGameState state, List<Unit> roster, Game game) {
+        int[] cells = new int[state.getCellCount()];
+        for (int u = 0; u < roster.size(); u++) {
+            Unit unit = roster.get(u);
+            if (state.getCell(u) == CompactGameState.NO_UNIT || unit.getFaction() != game.getActiveFaction()) {
+                continue;
+            }
+
+            Set<Integer> expected = new TreeSet<>();
+            game.getReachability().reachableArea(unit).positions()
+                    .forEach(position -> expected.add(game.getBattlefield().indexOf(position)));
+            Set<Integer> actual = new TreeSet<>();
+            int count = state.reachableCells(u, cells);
+            for (int i = 0; i < count; i++) {
+                actual.add(cells[i]);
+            }
+            assertEquals(expected, actual, unit.getId());
+
+            for (int t = 0; t < roster.size(); t++) {
+                Unit target = roster.get(t);
+                if (state.getCell(t) == CompactGameState.NO_UNIT) {
+                    continue;
+                }
+                assertEquals(game.canAttack(unit, target), state.canAttack(u, t), unit.getId() + "->" + target.getId());
+                assertEquals(game.getDamageCalculator().calculateTotalDamage(unit, target, game), state.damage(u, t));
+            }
+        }
+    }
+
+    private static void assertMatches(CompactGameState state, List<Unit> roster, Game game) {
+        assertEquals(game.getCurrentPhase() instanceof GameOverPhase, state.isGameOver());
+        assertEquals(game.getWinner(), state.getWinner());
+        assertEquals(game.getActiveFaction(), state.getActiveFaction());
+        assertEquals(game.getRoundNumber(), state.getRoundNumber());
+        assertEquals(game.getStateHash(), state.getStateHash());
+        for (int cell = 0; cell < state.getCellCount(); cell++) {
+            assertEquals(game.getBattlefield().getTerrainAt(cell), state.getTerrainAt(cell));
+        }
+
+        for (int u = 0; u < roster.size(); u++) {
+            Unit unit = roster.get(u);
+            if (state.getCell(u) == CompactGameState.NO_UNIT) {
+                assertFalse(game.containsUnit(unit), unit.getId());
+                continue;
+            }
+            assertTrue(game.containsUnit(unit), unit.getId());
+            assertEquals(game.getBattlefield().indexOf(unit.getPosition()), state.getCell(u));
+            assertEquals(unit.getCurrentHealth(), state.getHealth(u));
+            assertEquals(unit.getAttack(), state.getAttack(u), unit.getId());
+            assertEquals(unit.getDefense(), state.getDefense(u), unit.getId());
+            assertEquals(unit.getMovement(), state.getMovement(u), unit.getId());
+            assertEquals(unit.getActionsThisTurn(), state.getActionsUsed(u));
+            assertEquals(unit.getCurrentState().getStateName(), stateName(state, u), unit.getId());
+            assertEquals(unit.getResurrectionHealth(), state.getResurrectionHealth(u));
+        }
+    }
+
+    private static String stateName(CompactGameState state, int unit) {
+        return switch (state.getState(unit)) {
+            case CompactGameState.IDLE -> "Idle";
+            case CompactGameState.MOVING -> "Moving";
+            case CompactGameState.ATTACKING -> "Attacking";
+            case CompactGameState.STUNNED -> "Stunned (" + state.getStunRounds(unit) + " rounds)";
+            default -> "Dead";
+        };
+    }
+
+    private static String describe(CompactGameState state) {
+        StringBuilder text = new StringBuilder()
+                .append(state.getActiveFaction()).append(' ')
+                .append(state.getRoundNumber()).append(' ')
+                .append(state.isGameOver()).append('\n');
+        for (int u = 0; u < state.getUnitCount(); u++) {
+            if (state.getCell(u) == CompactGameState.NO_UNIT) {
+                continue; // Not part of a state captured afterwards
+            }
+            text.append(state.getId(u)).append(" cell=").append(state.getCell(u))
+                    .append(" hp=").append(state.getHealth(u))
+                    .append(" actions=").append(state.getActionsUsed(u))
+                    .append(" state=").append(stateName(state, u))
+                    .append(" decorators=");
+            for (int slot = 0; slot < state.getDecoratorCount(u); slot++) {
+                text.append(state.getDecoratorKind(u, slot)).append('/').append(state.getDecoratorRounds(u, slot)).append(' ');
+            }
+            text.append('\n');
+        }
+        for (int cell = 0; cell < state.getCellCount(); cell++) {
+            text.append(state.getTerrainAt(cell).ordinal());
+        }
+        return text.toString();
+    }
+}
@@ -162,4 +162,24 @@ class CompositePatternTest {
         assertNotSame(cells1, cells2);
         assertEquals(cells1.size(), cells2.size());
     }
+
+    @Test
+    void cellViewsWriteThroughToBattlefieldTerrain() {
+        battlefield.getCell(3, 7).setTerrain(Terrain.FOREST);
+        battlefield.setTerrainAt(new Position(4, 7), Terrain.ICE, null);
+
+        assertEquals(Terrain.FOREST, battlefield.getTerrainAt(new Position(3, 7)));
+        assertEquals(Terrain.ICE, battlefield.getCell(4, 7).getTerrain());
+        assertSame(battlefield.getCell(3, 7), battlefield.getCell(3, 7));
+    }
+
+    @Test
+    void positionAtReturnsCanonicalInstances() {
+        Position position = battlefield.positionAt(4, 6);
+
+        assertSame(position, battlefield.positionAt(4, 6));
+        assertSame(position, battlefield.positionAt(battlefield.indexOf(new Position(4, 6))));
+        assertSame(position, battlefield.getCell(4, 6).getPosition());
+        assertEquals(-1, battlefield.neighborIndex(battlefield.indexOf(position), 0, 4));
+    }
 }
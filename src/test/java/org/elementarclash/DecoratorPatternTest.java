@@ -0,0 +1,109 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitFactory;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.bonus.SynergyRule;
+import org.elementarclash.units.bonus.UnitDecorator;
+import org.elementarclash.units.bonus.temporary.AttackBuffDecorator;
+import org.elementarclash.units.types.earth.EarthUnitFactory;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecoratorPatternTest {
+
+    @Test
+    void cachedAttackFollowsNeighboursAndBuffs() {
+        UnitFactory fireFactory = new FireUnitFactory();
+        Unit warrior = fireFactory.createUnit(UnitType.INFERNO_WARRIOR);
+        Unit archer = fireFactory.createUnit(UnitType.FLAME_ARCHER);
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        builder.addUnit(warrior, Faction.FIRE);
+        builder.addUnit(archer, Faction.FIRE);
+        builder.addUnit(new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN), Faction.WATER);
+        Game game = builder.build();
+
+        game.moveUnitInternal(warrior, new Position(5, 5));
+        game.moveUnitInternal(archer, new Position(7, 7));
+        int alone = warrior.getAttack();
+
+        game.moveUnitInternal(archer, new Position(5, 6)); // neighbour arrives
+        assertEquals(alone + 1, warrior.getAttack());
+
+        warrior.addDecorator(new AttackBuffDecorator());
+        assertEquals(alone + 3, warrior.getAttack());
+
+        archer.takeDamage(1000); // neighbour dies
+        assertEquals(alone + 2, warrior.getAttack());
+
+        warrior.tickDecorators();
+        warrior.tickDecorators(); // buff expires after two rounds
+        assertEquals(alone, warrior.getAttack());
+    }
+
+    @Test
+    void cachedStatsMatchDecoratorSumsThroughoutSimulatedGames() {
+        SimulatedGames.forEachSimulatedGame(20,
+                game -> event -> game.getUnits().forEach(DecoratorPatternTest::assertStatsMatchDecorators));
+    }
+
+    @Test
+    void configuredSynergyRuleGrantsDefensePerAdjacentAlly() {
+        UnitFactory earthFactory = new EarthUnitFactory();
+        Unit first = earthFactory.createUnit(UnitType.STONE_GOLEM);
+        Unit second = earthFactory.createUnit(UnitType.STONE_GOLEM);
+        GameBuilder builder = SimulatedGames.desertGame(Faction.EARTH, Faction.WATER)
+                .withSynergyRule(Faction.EARTH, new SynergyRule(0, 2, 1));
+        builder.addUnit(first, Faction.EARTH);
+        builder.addUnit(second, Faction.EARTH);
+        builder.addUnit(new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN), Faction.WATER);
+        Game game = builder.build();
+
+        game.moveUnitInternal(first, new Position(5, 5));
+        game.moveUnitInternal(second, new Position(7, 7));
+        int alone = first.getDefense();
+        int attack = first.getAttack();
+        assertEquals(0, game.getSynergy().getAdjacentAllies(first));
+
+        game.moveUnitInternal(second, new Position(6, 5));
+        assertEquals(1, game.getSynergy().getAdjacentAllies(first));
+        assertEquals(1, game.getSynergy().getAdjacentAllies(second));
+        assertEquals(alone + 2, first.getDefense());
+        assertEquals(attack, first.getAttack());
+    }
+
+    @Test
+    void incrementalSynergyCountsMatchNeighbourScanThroughoutSimulatedGames() {
+        SimulatedGames.forEachSimulatedGame(20, game -> event -> {
+            for (Unit unit : game.getUnits()) {
+                if (unit.isAlive()) {
+                    int scanned = game.getSpatialIndex().countAdjacent(unit.getPosition(), unit.getFaction());
+                    assertEquals(scanned, game.getSynergy().getAdjacentAllies(unit), unit.getId());
+                }
+            }
+        });
+    }
+
+    private static void assertStatsMatchDecorators(Unit unit) {
+        int attack = unit.getBaseStats().attack();
+        int defense = unit.getBaseStats().defense();
+        int movement = unit.getBaseStats().movement();
+        for (UnitDecorator decorator : unit.getDecorators()) {
+            if (!decorator.isExpired()) {
+                attack += decorator.getAttackBonus(unit);
+                defense += decorator.getDefenseBonus(unit);
+                movement += decorator.getMovementBonus(unit);
+            }
+        }
+        assertEquals(attack, unit.getAttack(), unit.getId());
+        assertEquals(defense, unit.getDefense(), unit.getId());
+        assertEquals(Math.max(1, movement), unit.getMovement(), unit.getId());
+    }
+}
@@ -0,0 +1,71 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitFactory;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Alive counts of the FactionRegistry and the victory check built on them.
+ *
+ * @author mmukex
+ */
+class FactionRegistryTest {
+
+    private Game game;
+    private Unit fireUnit;
+    private Unit waterUnit;
+    private UnitFactory fireFactory;
+
+    @BeforeEach
+    void setUp() {
+        fireFactory = new FireUnitFactory();
+        fireUnit = fireFactory.createUnit(UnitType.INFERNO_WARRIOR);
+        waterUnit = new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN);
+
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        builder.addUnit(fireUnit, Faction.FIRE);
+        builder.addUnit(waterUnit, Faction.WATER);
+        game = builder.build();
+        game.startGame();
+    }
+
+    @Test
+    void factionRegistryFollowsDeathsOutsideCombatAndPhoenixResurrection() {
+        Unit phoenix = fireFactory.createUnit(UnitType.PHOENIX);
+        game.addUnit(phoenix, new Position(5, 5));
+        assertEquals(2, game.getFactionRegistry().getAliveCount(Faction.FIRE));
+        assertSame(fireUnit, game.getFactionRegistry().findById(fireUnit.getId()));
+
+        phoenix.takeDamage(1000); // resurrects once
+        assertEquals(2, game.getFactionRegistry().getAliveCount(Faction.FIRE));
+
+        waterUnit.takeDamage(1000); // e.g. lava or event damage: no handleUnitDeath
+        assertEquals(0, game.getFactionRegistry().getAliveCount(Faction.WATER));
+        assertEquals(1, game.getFactionRegistry().getAliveFactionCount());
+
+        game.endTurn();
+        assertInstanceOf(GameOverPhase.class, game.getCurrentPhase());
+        assertEquals(Faction.FIRE, game.getWinner());
+    }
+
+    @Test
+    void lastUnitsDyingInTheSameTurnEndTheGameAsDraw() {
+        fireUnit.takeDamage(1000);
+        waterUnit.takeDamage(1000);
+
+        game.endTurn();
+        assertInstanceOf(GameOverPhase.class, game.getCurrentPhase());
+        assertNull(game.getWinner());
+    }
+}
@@ -0,0 +1,66 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.SimulationPolicy;
+import org.elementarclash.units.Unit;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Game.fork() copies must be independent of the game they were forked from.
+ *
+ * @author mmukex
+ */
+class GameForkTest {
+
+    @Test
+    void forkedGameStartsEqualAndPlayingItLeavesTheOriginalUntouched() {
+        SimulationPolicy policy = new GreedyPolicy();
+        int[] forked = {0};
+
+        SimulatedGames.forEachRandomGame(10, original -> {
+            original.startGame();
+            SimulatedGames.playTurns(original, policy, 6);
+            if (original.getCurrentPhase() instanceof GameOverPhase) {
+                return;
+            }
+
+            String before = describe(original);
+            Game fork = original.fork();
+            assertEquals(before, describe(fork));
+
+            SimulatedGames.playTurns(fork, policy, 400);
+            assertInstanceOf(GameOverPhase.class, fork.getCurrentPhase());
+            assertEquals(before, describe(original));
+            forked[0]++;
+        });
+
+        assertTrue(forked[0] > 0);
+    }
+
+    private static String describe(Game game) {
+        StringBuilder state = new StringBuilder()
+                .append(game.getCurrentPhase()).append(' ')
+                .append(game.getActiveFaction()).append(' ')
+                .append(game.getRoundNumber()).append('\n');
+        for (Unit unit : game.getUnits()) {
+            state.append(unit.getId()).append(' ').append(unit.getPosition())
+                    .append(" hp=").append(unit.getCurrentHealth())
+                    .append(" atk=").append(unit.getAttack())
+                    .append(" def=").append(unit.getDefense())
+                    .append(" mov=").append(unit.getMovement())
+                    .append(" actions=").append(unit.getActionsThisTurn())
+                    .append(' ').append(unit.getCurrentState().getStateName()).append('\n');
+        }
+        for (int y = 0; y < game.getBattlefield().getHeight(); y++) {
+            for (int x = 0; x < game.getBattlefield().getWidth(); x++) {
+                state.append(game.getTerrainAt(new Position(x, y)).ordinal());
+            }
+        }
+        return state.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.command.*;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.SimulationPolicy;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LegalActionGenerator must produce exactly the moves and attacks command validation accepts.
+ *
+ * @author mmukex
+ */
+class LegalActionGeneratorTest {
+
+    private Game game;
+    private Unit fireUnit;
+    private Unit waterUnit;
+
+    @BeforeEach
+    void setUp() {
+        fireUnit = new FireUnitFactory().createUnit(UnitType.INFERNO_WARRIOR);
+        waterUnit = new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN);
+
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        builder.addUnit(fireUnit, Faction.FIRE);
+        builder.addUnit(waterUnit, Faction.WATER);
+        game = builder.build();
+        game.startGame();
+    }
+
+    @Test
+    void legalActionsAreExactlyTheCommandsValidationAcceptsForTheActiveFaction() {
+        SimulationPolicy policy = new GreedyPolicy();
+        ActionBuffer buffer = new ActionBuffer(1);
+
+        SimulatedGames.forEachRandomGame(5, played -> {
+            played.startGame();
+            LegalActionGenerator generator = new LegalActionGenerator(played);
+            SimulatedGames.playTurns(played, policy, 30,
+                    () -> assertEquals(validatedActions(played), generatedActions(generator, buffer)));
+        });
+    }
+
+    @Test
+    void generatedActionsExecuteAsCommands() {
+        ActionBuffer buffer = new ActionBuffer();
+        LegalActionGenerator generator = new LegalActionGenerator(game);
+        game.moveUnitInternal(fireUnit, new Position(4, 4));
+        game.moveUnitInternal(waterUnit, new Position(5, 4));
+
+        assertTrue(generator.generate(buffer) > 1);
+        long attack = buffer.get(0);
+        assertEquals(ActionBuffer.ATTACK, ActionBuffer.kind(attack));
+        assertTrue(game.executeCommand(generator.toCommand(attack)).isValid());
+        assertTrue(waterUnit.getCurrentHealth() < waterUnit.getBaseStats().maxHealth());
+
+        generator.generate(buffer);
+        long move = buffer.get(buffer.size() - 1);
+        assertEquals(ActionBuffer.MOVE, ActionBuffer.kind(move));
+        assertTrue(game.executeCommand(generator.toCommand(move)).isValid());
+        assertEquals(0, generator.generate(buffer)); // both actions used
+    }
+
+    private static Set<String> generatedActions(LegalActionGenerator generator, ActionBuffer buffer) {
+        Set<String> actions = new TreeSet<>();
+        int count = generator.generate(buffer);
+        for (int i = 0; i < count; i++) {
+            actions.add(describe(generator.toCommand(buffer.get(i))));
+        }
+        return actions;
+    }
+
+    private static Set<String> validatedActions(Game game) {
+        Set<String> actions = new TreeSet<>();
+        if (game.getCurrentPhase() instanceof GameOverPhase) {
+            return actions;
+        }
+        for (Unit unit : game.getUnitsOfFaction(game.getActiveFaction())) {
+            for (int cell = 0; cell < game.getBattlefield().getCellCount(); cell++) {
+                Command move = new MoveCommand(unit, game.getBattlefield().positionAt(cell));
+                if (move.validate(game).isValid()) {
+                    actions.add(describe(move));
+                }
+            }
+            for (Unit target : game.getUnits()) {
+                Command attack = new AttackCommand(unit, target);
+                if (attack.validate(game).isValid()) {
+                    actions.add(describe(attack));
+                }
+            }
+        }
+        return actions;
+    }
+
+    private static String describe(Command command) {
+        return command instanceof MoveCommand move
+                ? move.getActor().getId() + " -> " + move.getTargetPosition()
+                : ((AttackCommand) command).getActor().getId() + " x " + ((AttackCommand) command).getTarget().getId();
+    }
+}
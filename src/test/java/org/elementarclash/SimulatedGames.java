@@ -0,0 +1,93 @@
+package org.elementarclash;
+
+import org.elementarclash.battlefield.Terrain;
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.RandomGameConfigurer;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.event.GameObserver;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.SimulationPolicy;
+import org.elementarclash.simulation.SimulationRunner;
+import org.elementarclash.units.Faction;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared fixtures for tests: seeded random games, greedy self-play, turn-by-turn play and an
+ * all-desert board.
+ *
+ * @author mmukex
+ */
+final class SimulatedGames {
+
+    private SimulatedGames() {
+    }
+
+    /**
+     * Runs the test on a fresh random game for each seed 0..seeds-1.
+     */
+    static void forEachRandomGame(int seeds, Consumer<Game> test) {
+        for (long seed = 0; seed < seeds; seed++) {
+            test.accept(new RandomGameConfigurer(seed).createRandomGame());
+        }
+    }
+
+    /**
+     * Plays a greedy game to the end for each seed, with the observer created for that game
+     * attached to all of its events.
+     */
+    static void forEachSimulatedGame(int seeds, Function<Game, GameObserver> observer) {
+        forEachRandomGame(seeds, game -> {
+            game.addObserver(observer.apply(game));
+            new SimulationRunner(new GreedyPolicy()).run(game);
+        });
+    }
+
+    /**
+     * Plays up to the given number of turns with the policy; a turn ends when the policy returns
+     * null or an invalid command.
+     */
+    static void playTurns(Game game, SimulationPolicy policy, int turns) {
+        playTurns(game, policy, turns, () -> {
+        });
+    }
+
+    /**
+     * Plays up to the given number of turns, calling onPosition for the starting position and
+     * after every executed command and every turn change.
+     */
+    static void playTurns(Game game, SimulationPolicy policy, int turns, Runnable onPosition) {
+        onPosition.run();
+        for (int turn = 0; turn < turns && !(game.getCurrentPhase() instanceof GameOverPhase); turn++) {
+            Command command;
+            while (!(game.getCurrentPhase() instanceof GameOverPhase) && (command = policy.nextCommand(game)) != null) {
+                if (!game.executeCommand(command).isValid()) {
+                    break;
+                }
+                onPosition.run();
+            }
+            if (!(game.getCurrentPhase() instanceof GameOverPhase)) {
+                game.nextTurn();
+                onPosition.run();
+            }
+        }
+    }
+
+    /**
+     * Builder for a board of plain desert (no terrain effects) with seed 1; add units and build.
+     */
+    static GameBuilder desertGame(Faction... factions) {
+        return new GameBuilder()
+                .withFactions(factions)
+                .withRandomSeed(1L)
+                .withCustomTerrain(Map.of(
+                        Terrain.DESERT, 100,
+                        Terrain.LAVA, 0, Terrain.ICE, 0,
+                        Terrain.FOREST, 0, Terrain.STONE, 0
+                ));
+    }
+}
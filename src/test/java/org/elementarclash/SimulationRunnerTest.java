@@ -0,0 +1,153 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.RandomGameConfigurer;
+import org.elementarclash.game.command.AttackCommand;
+import org.elementarclash.game.command.Command;
+import org.elementarclash.game.phase.GameOverPhase;
+import org.elementarclash.simulation.*;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationRunnerTest {
+
+    @Test
+    void greedyPoliciesPlayGameToCompletion() {
+        Game game = buildDesertGame();
+
+        SimulationResult result = new SimulationRunner(new GreedyPolicy()).run(game);
+
+        assertFalse(result.isDraw());
+        assertInstanceOf(GameOverPhase.class, game.getCurrentPhase());
+        assertEquals(game.getWinner(), result.winner());
+        assertTrue(result.commandsExecuted() > 0);
+    }
+
+    @Test
+    void passivePoliciesEndInDrawAtRoundLimit() {
+        Game game = buildDesertGame();
+
+        SimulationResult result = new SimulationRunner(g -> null).withMaxRounds(3).run(game);
+
+        assertTrue(result.isDraw());
+        assertEquals(0, result.commandsExecuted());
+    }
+
+    @Test
+    void runBatchCountsEveryGame() {
+        SimulationReport report = new SimulationRunner(new GreedyPolicy())
+                .withPolicy(Faction.FIRE, new RandomPolicy(7L))
+                .runBatch(5, () -> new RandomGameConfigurer(3L).createRandomGame());
+
+        int wins = report.wins().values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(5, wins + report.draws());
+        assertTrue(report.gamesPerSecond() > 0);
+    }
+
+    @Test
+    void headlessGamesProduceNoConsoleOutput() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            new SimulationRunner(new RandomPolicy(1L))
+                    .runBatch(3, () -> new RandomGameConfigurer(5L).createRandomGame());
+        } finally {
+            System.setOut(original);
+        }
+
+        assertEquals(0, captured.size());
+    }
+
+    @Test
+    void matchFarmIsReproducibleAcrossThreadCounts() {
+        MatchFarmReport sequential = new MatchFarm(11L).withParallelism(1).run(40);
+        MatchFarmReport parallel = new MatchFarm(11L).withParallelism(4).run(40);
+
+        assertEquals(sequential.pairings(), parallel.pairings());
+        assertEquals(sequential.rosters(), parallel.rosters());
+
+        int counted = sequential.pairings().values().stream()
+                .mapToInt(stats -> stats.values().iterator().next().games())
+                .sum();
+        assertEquals(40, counted);
+    }
+
+    @Test
+    void sameSeedReplaysWholeMatch() {
+        Game first = new RandomGameConfigurer(21L).createRandomGame();
+        Game second = new RandomGameConfigurer(21L).createRandomGame();
+
+        SimulationResult r1 = new SimulationRunner(new RandomPolicy()).run(first);
+        SimulationResult r2 = new SimulationRunner(new RandomPolicy()).run(second);
+
+        assertEquals(r1, r2);
+        assertEquals(healthOf(first), healthOf(second));
+    }
+
+    @Test
+    void alphaBetaPolicyPlaysValidCommandsWithoutTouchingTheGameWhileSearching() {
+        SimulatedGames.forEachRandomGame(3, game -> {
+            AlphaBetaPolicy search = new AlphaBetaPolicy(Duration.ofMillis(20)).withMaxDepth(3);
+            SimulationPolicy checked = g -> {
+                long hash = g.getStateHash();
+                Command command = search.nextCommand(g);
+                assertEquals(hash, g.getStateHash()); // searched on a captured copy
+                return command;
+            };
+
+            SimulationResult result = new SimulationRunner(new GreedyPolicy())
+                    .withPolicy(game.getUnits().getFirst().getFaction(), checked)
+                    .run(game);
+
+            assertEquals(0, result.commandsRejected());
+            assertTrue(search.getStats().searches() > 0);
+            assertTrue(search.getStats().nodesPerSecond() > 0);
+            assertTrue(search.getStats().maxDepth() <= 3);
+        });
+    }
+
+    @Test
+    void alphaBetaPolicyTakesTheKillWithinReach() {
+        Game game = buildDesertGame();
+        game.startGame();
+        Unit attacker = game.getUnitsOfFaction(game.getActiveFaction()).getFirst();
+        Unit target = game.getUnits().stream().filter(unit -> unit.getFaction() != attacker.getFaction()).findFirst().orElseThrow();
+        Position from = attacker.getPosition();
+        Position adjacent = new Position(from.x() + (from.x() + 1 < game.getBattlefield().getWidth() ? 1 : -1), from.y());
+        if (!adjacent.equals(target.getPosition())) {
+            game.moveUnitInternal(target, adjacent);
+        }
+        target.setCurrentHealth(1);
+
+        Command command = new AlphaBetaPolicy(Duration.ofMillis(200)).withMaxDepth(2).nextCommand(game);
+
+        AttackCommand attack = assertInstanceOf(AttackCommand.class, command);
+        assertSame(attacker, attack.getActor());
+        assertSame(target, attack.getTarget());
+    }
+
+    private List<Integer> healthOf(Game game) {
+        return game.getUnits().stream().map(Unit::getCurrentHealth).toList();
+    }
+
+    private Game buildDesertGame() {
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        builder.addUnit(new FireUnitFactory().createUnit(UnitType.INFERNO_WARRIOR), Faction.FIRE);
+        builder.addUnit(new WaterUnitFactory().createUnit(UnitType.WAVE_RIDER), Faction.WATER);
+        return builder.build();
+    }
+}
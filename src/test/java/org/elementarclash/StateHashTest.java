@@ -0,0 +1,81 @@
+package org.elementarclash;
+
+import org.elementarclash.game.Game;
+import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.command.MoveCommand;
+import org.elementarclash.simulation.GreedyPolicy;
+import org.elementarclash.simulation.SimulationPolicy;
+import org.elementarclash.units.Faction;
+import org.elementarclash.units.Unit;
+import org.elementarclash.units.UnitType;
+import org.elementarclash.units.types.fire.FireUnitFactory;
+import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
+import org.elementarclash.util.ZobristKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The incrementally maintained Game.getStateHash() must always equal a hash recomputed from scratch.
+ *
+ * @author mmukex
+ */
+class StateHashTest {
+
+    private Game game;
+    private Unit fireUnit;
+    private Unit waterUnit;
+
+    @BeforeEach
+    void setUp() {
+        fireUnit = new FireUnitFactory().createUnit(UnitType.INFERNO_WARRIOR);
+        waterUnit = new WaterUnitFactory().createUnit(UnitType.TIDE_GUARDIAN);
+
+        GameBuilder builder = SimulatedGames.desertGame(Faction.FIRE, Faction.WATER);
+        builder.addUnit(fireUnit, Faction.FIRE);
+        builder.addUnit(waterUnit, Faction.WATER);
+        game = builder.build();
+        game.startGame();
+    }
+
+    @Test
+    void moveChangesTheStateHashAndUndoRestoresIt() {
+        game.moveUnitInternal(fireUnit, new Position(2, 2));
+        game.moveUnitInternal(waterUnit, new Position(7, 7));
+        long before = game.getStateHash();
+
+        assertTrue(game.executeCommand(new MoveCommand(fireUnit, new Position(3, 2))).isValid());
+        assertNotEquals(before, game.getStateHash());
+        game.undoLastCommand();
+        assertEquals(before, game.getStateHash());
+    }
+
+    @Test
+    void incrementalStateHashMatchesAFullRecomputeThroughoutSimulatedGames() {
+        SimulationPolicy policy = new GreedyPolicy();
+
+        SimulatedGames.forEachRandomGame(10, played -> {
+            played.startGame();
+            SimulatedGames.playTurns(played, policy, 400, () -> {
+                assertEquals(recomputeStateHash(played), played.getStateHash());
+                assertEquals(played.getStateHash(), played.fork().getStateHash());
+            });
+        });
+    }
+
+    private static long recomputeStateHash(Game game) {
+        long hash = ZobristKeys.activeFaction(game.getActiveFaction().ordinal());
+        for (int cell = 0; cell < game.getBattlefield().getCellCount(); cell++) {
+            hash ^= ZobristKeys.terrain(cell, game.getBattlefield().getTerrainAt(cell).ordinal());
+        }
+        for (Unit unit : game.getUnits()) {
+            Unit recomputed = unit.copy(); // keeps the cached key, any write recomputes it
+            recomputed.setActionsThisTurn(unit.getActionsThisTurn());
+            assertEquals(recomputed.getZobristKey(), unit.getZobristKey(), unit.getId());
+            hash ^= unit.getZobristKey();
+        }
+        return hash;
+    }
+}
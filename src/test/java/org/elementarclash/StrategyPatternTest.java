@@ -1,8 +1,14 @@
 package org.elementarclash;
 
+import org.elementarclash.battlefield.Battlefield;
 import org.elementarclash.battlefield.Terrain;
 import org.elementarclash.game.Game;
 import org.elementarclash.game.GameBuilder;
+import org.elementarclash.game.RandomGameConfigurer;
+import org.elementarclash.pathfinding.FlowField;
+import org.elementarclash.pathfinding.FlowFieldService;
+import org.elementarclash.pathfinding.MovementPath;
+import org.elementarclash.pathfinding.ReachableArea;
 import org.elementarclash.units.Faction;
 import org.elementarclash.units.Unit;
 import org.elementarclash.units.UnitFactory;
@@ -16,10 +22,13 @@ import org.elementarclash.units.strategy.movement.MovementStrategy;
 import org.elementarclash.units.types.air.AirUnitFactory;
 import org.elementarclash.units.types.fire.FireUnitFactory;
 import org.elementarclash.units.types.water.WaterUnitFactory;
+import org.elementarclash.util.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -187,6 +196,190 @@ class StrategyPatternTest {
         assertNotEquals(fireLava, waterLava);
     }
 
+    @Test
+    void groundMovementPaysTerrainAlongThePath() {
+        Game game = buildTwoFactionGame();
+        Unit warrior = game.getUnitsOfFaction(Faction.FIRE).getFirst();
+        Position origin = warrior.getPosition();
+        Battlefield battlefield = game.getBattlefield();
+        for (int y = 0; y < battlefield.getHeight(); y++) {
+            battlefield.setTerrainAt(new Position(origin.x() + 1, y), Terrain.STONE, null);
+        }
+
+        Position beyondWall = new Position(origin.x() + 2, origin.y());
+
+        assertTrue(game.isValidMove(warrior, new Position(origin.x() + 1, origin.y())));
+        assertFalse(game.isValidMove(warrior, beyondWall));
+        assertTrue(game.getReachability().reachableArea(warrior).costTo(beyondWall) > warrior.getMovement());
+    }
+
+    @Test
+    void groundUnitsAreBlockedByUnitsButFlyersPassOver() {
+        Game game = buildTwoFactionGame();
+        Unit warrior = game.getUnitsOfFaction(Faction.FIRE).getFirst();
+        Unit guardian = game.getUnitsOfFaction(Faction.WATER).getFirst();
+        game.moveUnitInternal(warrior, new Position(0, 0));
+        game.moveUnitInternal(guardian, new Position(1, 0));
+        game.getBattlefield().setTerrainAt(new Position(0, 1), Terrain.STONE, null);
+
+        Position target = new Position(2, 0);
+
+        assertFalse(game.isValidMove(warrior, target));
+        assertTrue(new FlyingMovementStrategy().canMoveTo(game, warrior.getPosition(), target, 2));
+    }
+
+    @Test
+    void pathQueryMatchesReachabilityCosts() {
+        Game game = new RandomGameConfigurer(8L).createRandomGame();
+        for (Unit unit : game.getUnits()) {
+            ReachableArea area = game.getReachability().reachableArea(unit);
+            for (Position target : area.positions()) {
+                MovementPath path = unit.getMovementStrategy()
+                        .findPath(game, unit.getPosition(), target, unit.getMovement());
+
+                assertNotNull(path);
+                assertEquals(area.costTo(target), path.cost(), 1e-9);
+                assertEquals(unit.getPosition(), path.start());
+                assertEquals(target, path.goal());
+            }
+        }
+    }
+
+    @Test
+    void incrementalFlowFieldMatchesFullRecompute() {
+        Game game = new RandomGameConfigurer(8L).createRandomGame();
+        Battlefield battlefield = game.getBattlefield();
+        Unit mover = game.getUnits().get(0);
+        Unit target = game.getUnits().stream()
+                .filter(unit -> unit.getFaction() != mover.getFaction())
+                .findFirst().orElseThrow();
+        FlowField field = game.getFlowFields().fieldFor(mover, target.getFaction());
+
+        Random random = new Random(3L);
+        Terrain[] terrains = Terrain.values();
+        for (int step = 0; step < 40; step++) {
+            if (step % 4 == 0) {
+                for (Position next : target.getPosition().getAdjacentPositions(battlefield.getWidth(), battlefield.getHeight())) {
+                    if (next != null && game.getUnitAt(next) == null) {
+                        game.moveUnitInternal(target, next);
+                        break;
+                    }
+                }
+            } else {
+                Position cell = battlefield.positionAt(random.nextInt(battlefield.getWidth()), random.nextInt(battlefield.getHeight()));
+                battlefield.setTerrainAt(cell, terrains[random.nextInt(terrains.length)], game);
+            }
+        }
+
+        assertSame(field, game.getFlowFields().fieldFor(mover, target.getFaction()));
+        FlowField fresh = new FlowFieldService(game).fieldFor(mover, target.getFaction());
+        for (int index = 0; index < battlefield.getCellCount(); index++) {
+            Position cell = battlefield.positionAt(index);
+            assertEquals(fresh.distanceAt(cell), field.distanceAt(cell), 1e-9);
+
+            Position next = field.nextStep(cell);
+            if (next != null) {
+                assertTrue(field.distanceAt(next) < field.distanceAt(cell));
+            }
+        }
+    }
+
+    @Test
+    void rangedLineOfSightMatchesSampledLineThroughForest() {
+        GameBuilder builder = new GameBuilder()
+                .withFactions(Faction.FIRE, Faction.WATER)
+                .withRandomSeed(5L)
+                .withCustomTerrain(Map.of(
+                        Terrain.DESERT, 60, Terrain.FOREST, 40,
+                        Terrain.LAVA, 0, Terrain.ICE, 0, Terrain.STONE, 0
+                ));
+        builder.addUnit(waterFactory.createUnit(UnitType.FROST_MAGE), Faction.WATER);
+        builder.addUnit(fireFactory.createUnit(UnitType.INFERNO_WARRIOR), Faction.FIRE);
+        Game game = builder.build();
+        Battlefield battlefield = game.getBattlefield();
+        Unit mage = game.getUnitsOfFaction(Faction.WATER).get(0);
+        Unit target = game.getUnitsOfFaction(Faction.FIRE).get(0);
+        game.moveUnitInternal(mage, new Position(5, 5));
+        battlefield.setTerrainAt(new Position(5, 3), Terrain.FOREST, game);
+
+        int checked = 0;
+        for (int y = 0; y < battlefield.getHeight(); y++) {
+            for (int x = 0; x < battlefield.getWidth(); x++) {
+                Position cell = new Position(x, y);
+                if (!mage.getPosition().isInRange(cell, mage.getBaseStats().range()) || game.getUnitAt(cell) != null) {
+                    continue;
+                }
+                game.moveUnitInternal(target, cell);
+                assertEquals(sampledLineIsClear(battlefield, mage.getPosition(), target.getPosition()),
+                        mage.getAttackStrategy().canAttack(game, mage, target), "target at " + cell);
+                checked++;
+            }
+        }
+        assertTrue(checked > 20);
+
+        game.moveUnitInternal(target, new Position(5, 2));
+        assertFalse(mage.getAttackStrategy().canAttack(game, mage, target));
+        battlefield.setTerrainAt(new Position(5, 3), Terrain.DESERT, game);
+        battlefield.setTerrainAt(new Position(5, 4), Terrain.DESERT, game);
+        assertTrue(mage.getAttackStrategy().canAttack(game, mage, target));
+    }
+
+    @Test
+    void visibilityStaysInSyncWithCanAttackAcrossForestFiresAndMoves() {
+        Game game = new RandomGameConfigurer(21L).createRandomGame();
+        Battlefield battlefield = game.getBattlefield();
+        Random random = new Random(4L);
+        assertVisibilityMatchesCanAttack(game);
+
+        for (int step = 0; step < 30; step++) {
+            Position cell = battlefield.positionAt(random.nextInt(battlefield.getWidth()), random.nextInt(battlefield.getHeight()));
+            Terrain terrain = battlefield.getTerrainAt(cell) == Terrain.FOREST ? Terrain.LAVA : Terrain.FOREST;
+            battlefield.setTerrainAt(cell, terrain, game);
+
+            Unit unit = game.getUnits().get(random.nextInt(game.getUnits().size()));
+            List<Position> destinations = game.getReachability().reachableArea(unit).positions();
+            if (!destinations.isEmpty()) {
+                game.moveUnitInternal(unit, destinations.get(random.nextInt(destinations.size())));
+            }
+            assertVisibilityMatchesCanAttack(game);
+        }
+    }
+
+    private static void assertVisibilityMatchesCanAttack(Game game) {
+        for (Unit attacker : game.getUnits()) {
+            List<Unit> expected = game.getUnits().stream()
+                    .filter(target -> game.canAttack(attacker, target))
+                    .toList();
+            List<Unit> actual = game.getVisibility().attackableEnemies(attacker);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+
+        Battlefield battlefield = game.getBattlefield();
+        for (Faction faction : Faction.values()) {
+            for (int index = 0; index < battlefield.getCellCount(); index += 7) {
+                Position cell = battlefield.positionAt(index);
+                long expected = game.getUnitsOfFaction(faction).stream()
+                        .filter(unit -> unit.isAlive() && !unit.getPosition().equals(cell)
+                                && unit.getAttackStrategy().isWithinReach(game, unit, cell.x(), cell.y()))
+                        .count();
+                assertEquals(expected, game.getVisibility().coverageAt(faction, cell));
+            }
+        }
+    }
+
+    private static boolean sampledLineIsClear(Battlefield battlefield, Position from, Position to) {
+        int dx = to.x() - from.x();
+        int dy = to.y() - from.y();
+        int steps = Math.max(Math.abs(dx), Math.abs(dy));
+        for (int i = 1; i < steps; i++) {
+            if (battlefield.getTerrainAt(from.x() + dx * i / steps, from.y() + dy * i / steps) == Terrain.FOREST) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Game buildTwoFactionGame() {
         GameBuilder builder = new GameBuilder()
                 .withFactions(Faction.FIRE, Faction.WATER)
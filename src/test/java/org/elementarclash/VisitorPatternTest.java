@@ -198,4 +198,21 @@ class VisitorPatternTest {
             }
         }
     }
+
+    @Test
+    void terrainEffectTableMatchesVisitorsForEveryTerrainAndFaction() {
+        Unit[] units = {fireUnit, waterUnit, earthUnit, airUnit};
+
+        for (Terrain terrain : Terrain.values()) {
+            TerrainVisitor visitor = TerrainVisitorFactory.getVisitor(terrain);
+            for (Unit unit : units) {
+                TerrainEffectResult result = unit.accept(visitor);
+                Faction faction = unit.getFaction();
+                assertEquals(result.attackBonus(), TerrainEffectTable.attackBonus(terrain, faction));
+                assertEquals(result.defenseBonus(), TerrainEffectTable.defenseBonus(terrain, faction));
+                assertEquals(result.hpPerTurn(), TerrainEffectTable.hpPerTurn(terrain, faction));
+                assertEquals(result.terrainChange(), TerrainEffectTable.terrainChange(terrain, faction));
+            }
+        }
+    }
 }